@@ -0,0 +1,76 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.tools.StringTools;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Access to the texts the benchmarks are run on. There's one text per language, e.g.
+ * {@code /org/languagetool/benchmarks/en.txt}. The texts have been written for these
+ * benchmarks and contain some typical errors, so that the rules have something to find.
+ */
+final class BenchmarkTexts {
+
+  private BenchmarkTexts() {
+  }
+
+  static String getText(Language language) throws IOException {
+    final String path = "/org/languagetool/benchmarks/" + language.getShortName() + ".txt";
+    final InputStream stream = BenchmarkTexts.class.getResourceAsStream(path);
+    if (stream == null) {
+      throw new IOException("No benchmark text for " + language + " found at " + path);
+    }
+    return StringTools.readStream(stream, "utf-8");
+  }
+
+  static List<String> getSentences(Language language) throws IOException {
+    return language.getSentenceTokenizer().tokenize(getText(language));
+  }
+
+  /**
+   * The sentences of the text, tokenized and tagged, but not yet disambiguated.
+   */
+  static List<AnalyzedSentence> getRawAnalyzedSentences(JLanguageTool langTool) throws IOException {
+    final List<AnalyzedSentence> result = new ArrayList<>();
+    for (String sentence : getSentences(langTool.getLanguage())) {
+      result.add(langTool.getRawAnalyzedSentence(sentence));
+    }
+    return result;
+  }
+
+  /**
+   * The sentences of the text, analyzed like before the rules get applied.
+   */
+  static List<AnalyzedSentence> getAnalyzedSentences(JLanguageTool langTool) throws IOException {
+    final List<AnalyzedSentence> result = new ArrayList<>();
+    for (String sentence : getSentences(langTool.getLanguage())) {
+      result.add(langTool.getAnalyzedSentence(sentence));
+    }
+    return result;
+  }
+
+}
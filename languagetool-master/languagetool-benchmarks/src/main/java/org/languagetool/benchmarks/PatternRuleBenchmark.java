@@ -0,0 +1,84 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.patterns.PatternRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matching all active XML pattern rules against all sentences of a text. This is what
+ * {@link org.languagetool.rules.patterns.PatternRuleMatcher} spends its time on.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PatternRuleBenchmark {
+
+  @Param({"en-US", "de-DE", "pl-PL"})
+  public String language;
+
+  private List<PatternRule> rules;
+  private List<AnalyzedSentence> sentences;
+
+  @Setup
+  public void setup() throws IOException {
+    final JLanguageTool langTool = new JLanguageTool(Language.getLanguageForShortName(language));
+    langTool.activateDefaultPatternRules();
+    rules = new ArrayList<>();
+    for (Rule rule : langTool.getAllActiveRules()) {
+      if (rule instanceof PatternRule) {
+        rules.add((PatternRule) rule);
+      }
+    }
+    sentences = BenchmarkTexts.getAnalyzedSentences(langTool);
+  }
+
+  @Benchmark
+  public void match(Blackhole blackhole) throws IOException {
+    for (AnalyzedSentence sentence : sentences) {
+      for (PatternRule rule : rules) {
+        blackhole.consume(rule.match(sentence));
+      }
+    }
+  }
+
+}
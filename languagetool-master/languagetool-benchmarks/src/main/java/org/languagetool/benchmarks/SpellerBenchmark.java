@@ -0,0 +1,113 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.spelling.SpellingCheckRule;
+import org.languagetool.tokenizers.de.GermanCompoundTokenizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Running the spell checker rules on all sentences of a text and getting the suggestions
+ * for all matches. English and Polish use Morfologik based spellers, German uses Hunspell.
+ * As the same text is checked again and again, the suggestions and Hunspell's results are
+ * mostly found in their caches. Use {@code cache=cold} to clear the caches before each call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SpellerBenchmark {
+
+  @Param({"en-US", "de-DE", "pl-PL"})
+  public String language;
+
+  /**
+   * {@code warm}: the caches are kept, {@code cold}: the caches are cleared before each call.
+   */
+  @Param({"warm", "cold"})
+  public String cache;
+
+  private List<Rule> rules;
+  private List<AnalyzedSentence> sentences;
+
+  @Setup
+  public void setup() throws IOException {
+    final JLanguageTool langTool = new JLanguageTool(Language.getLanguageForShortName(language));
+    rules = new ArrayList<>();
+    for (Rule rule : langTool.getAllActiveRules()) {
+      if (rule.isSpellingRule()) {
+        rules.add(rule);
+      }
+    }
+    if (rules.isEmpty()) {
+      throw new IllegalStateException("No spelling rule active for " + language);
+    }
+    sentences = BenchmarkTexts.getAnalyzedSentences(langTool);
+  }
+
+  @Setup(Level.Invocation)
+  public void clearCaches() {
+    if ("cold".equals(cache)) {
+      for (Rule rule : rules) {
+        if (rule instanceof SpellingCheckRule) {
+          ((SpellingCheckRule) rule).clearCaches();
+        }
+      }
+      // the German speller splits compounds in non-strict mode:
+      GermanCompoundTokenizer.getCache(false).clear();
+    }
+  }
+
+  @Benchmark
+  public void match(Blackhole blackhole) throws IOException {
+    for (AnalyzedSentence sentence : sentences) {
+      for (Rule rule : rules) {
+        for (RuleMatch match : rule.match(sentence)) {
+          // the suggestions are only computed when they are asked for:
+          blackhole.consume(match.getSuggestedReplacements());
+        }
+      }
+    }
+  }
+
+}
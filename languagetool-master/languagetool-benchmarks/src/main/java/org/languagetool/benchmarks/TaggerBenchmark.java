@@ -0,0 +1,98 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.Language;
+import org.languagetool.tagging.BaseTagger;
+import org.languagetool.tagging.Tagger;
+import org.languagetool.tokenizers.de.GermanCompoundTokenizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tagging the tokens of all sentences of a text. English and Polish use a
+ * {@link BaseTagger}, German uses the {@code GermanTagger}.
+ * As the same text is tagged again and again, the taggers find most words in their
+ * caches. Use {@code cache=cold} to clear the caches before each call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaggerBenchmark {
+
+  @Param({"en-US", "de-DE", "pl-PL"})
+  public String language;
+
+  /**
+   * {@code warm}: the caches are kept, {@code cold}: the caches are cleared before each call.
+   */
+  @Param({"warm", "cold"})
+  public String cache;
+
+  private Tagger tagger;
+  private List<List<String>> tokenizedSentences;
+
+  @Setup
+  public void setup() throws IOException {
+    final Language lang = Language.getLanguageForShortName(language);
+    tagger = lang.getTagger();
+    tokenizedSentences = new ArrayList<>();
+    for (String sentence : BenchmarkTexts.getSentences(lang)) {
+      tokenizedSentences.add(lang.getWordTokenizer().tokenize(sentence));
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void clearCaches() {
+    if ("cold".equals(cache)) {
+      if (tagger instanceof BaseTagger) {
+        ((BaseTagger) tagger).clearCache();
+      }
+      // the GermanTagger splits compounds in strict mode:
+      GermanCompoundTokenizer.getCache(true).clear();
+    }
+  }
+
+  @Benchmark
+  public void tag(Blackhole blackhole) throws IOException {
+    for (List<String> tokens : tokenizedSentences) {
+      blackhole.consume(tagger.tag(tokens));
+    }
+  }
+
+}
@@ -36,6 +36,7 @@ public class CommandLineOptions {
   private boolean listUnknown = false;
   private boolean applySuggestions = false;
   private boolean profile = false;
+  private CommandLineTools.ProfileFormat profileFormat = CommandLineTools.ProfileFormat.CSV;
   private boolean bitext = false;
   private boolean autoDetect = false;
   private boolean xmlFiltering = false;
@@ -126,6 +127,14 @@ public class CommandLineOptions {
     this.profile = profile;
   }
 
+  public CommandLineTools.ProfileFormat getProfileFormat() {
+    return profileFormat;
+  }
+
+  public void setProfileFormat(CommandLineTools.ProfileFormat profileFormat) {
+    this.profileFormat = profileFormat;
+  }
+
   public boolean isBitext() {
     return bitext;
   }
@@ -22,6 +22,7 @@ import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 
 import org.languagetool.Language;
 import org.languagetool.tools.LanguageIdentifierTools;
@@ -105,16 +106,11 @@ public class CommandLineParser {
           throw new IllegalArgumentException("API format makes no sense for automatic application of suggestions");
         }
       } else if (args[i].equals("-p") || args[i].equals("--profile")) {
-        options.setProfile(true);
-        if (options.isApiFormat()) {
-          throw new IllegalArgumentException("API format makes no sense for profiling");
-        }
-        if (options.isApplySuggestions()) {
-          throw new IllegalArgumentException("Applying suggestions makes no sense for profiling");
-        }
-        if (options.isTaggerOnly()) {
-          throw new IllegalArgumentException("Tagging makes no sense for profiling");
-        }
+        enableProfiling(options);
+      } else if (args[i].equals("--profile-format")) {
+        checkArguments("--profile-format", i, args);
+        enableProfiling(options);
+        options.setProfileFormat(getProfileFormat(args[++i]));
       } else if (args[i].equals("--xmlfilter")) {
         options.setXmlFiltering(true);
       } else if (i == args.length - 1) {
@@ -152,13 +148,35 @@ public class CommandLineParser {
             + "  -b2, --bitext            check bilingual texts with a tab-separated input file,\n"
             + "                           see http://languagetool.wikidot.com/checking-translations-bilingual-texts\n"
             + "  --api                    print results as XML\n"
-            + "  -p, --profile            print performance measurements\n"
+            + "  -p, --profile            print performance measurements of the analysis and of each rule as CSV\n"
+            + "  --profile-format FORMAT  like --profile, but with output format 'csv' or 'json'\n"
             + "  -v, --verbose            print text analysis (sentences, part-of-speech tags) to STDERR\n"
             + "  --version                print LanguageTool version number and exit\n"
             + "  -a, --apply              automatically apply suggestions if available, printing result to STDOUT\n"
             + "  --xmlfilter              remove XML/HTML elements from input before checking (this is deprecated)");
   }
 
+  private void enableProfiling(CommandLineOptions options) {
+    options.setProfile(true);
+    if (options.isApiFormat()) {
+      throw new IllegalArgumentException("API format makes no sense for profiling");
+    }
+    if (options.isApplySuggestions()) {
+      throw new IllegalArgumentException("Applying suggestions makes no sense for profiling");
+    }
+    if (options.isTaggerOnly()) {
+      throw new IllegalArgumentException("Tagging makes no sense for profiling");
+    }
+  }
+
+  private CommandLineTools.ProfileFormat getProfileFormat(String format) {
+    try {
+      return CommandLineTools.ProfileFormat.valueOf(format.toUpperCase(Locale.ENGLISH));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown profile format '" + format + "', use 'csv' or 'json'");
+    }
+  }
+
   private void checkArguments(String option, int argParsingPos, String[] args) {
     if (argParsingPos + 1 >= args.length) {
       throw new IllegalArgumentException("Missing argument to " + option + " command line option.");
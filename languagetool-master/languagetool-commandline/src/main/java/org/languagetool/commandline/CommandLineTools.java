@@ -19,11 +19,12 @@
 package org.languagetool.commandline;
 
 import org.languagetool.AnalyzedSentence;
+import org.languagetool.CheckProfile;
 import org.languagetool.JLanguageTool;
 import org.languagetool.bitext.BitextReader;
 import org.languagetool.bitext.StringPair;
-import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.RuleMatchListener;
 import org.languagetool.rules.bitext.BitextRule;
 import org.languagetool.rules.patterns.PatternRule;
 import org.languagetool.tools.ContextTools;
@@ -32,8 +33,9 @@ import org.languagetool.tools.Tools;
 
 import java.io.IOException;
 import java.io.PrintStream;
+import java.io.Reader;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
@@ -42,6 +44,14 @@ import java.util.Locale;
  */
 public final class CommandLineTools {
 
+  /**
+   * Output formats of {@link #printProfile(CheckProfile, ProfileFormat)}.
+   * @since 2.4
+   */
+  public enum ProfileFormat {
+    CSV, JSON
+  }
+
   private static final int DEFAULT_CONTEXT_SIZE = 45;
 
   private CommandLineTools() {
@@ -114,21 +124,56 @@ public final class CommandLineTools {
     return ruleMatches.size();
   }
 
+  /**
+   * Check the text from the given reader and print results to System.out. The text
+   * is checked part by part, so it can be of any size.
+   *
+   * @param reader the text to check
+   * @param lt Initialized LanguageTool
+   * @param apiFormat whether to print the result in XML format
+   * @param contextSize error text context size: -1 for default
+   * @return Number of rule matches to the input text.
+   * @since 2.4
+   */
+  public static int checkText(final Reader reader, final JLanguageTool lt,
+                              final boolean apiFormat, int contextSize) throws IOException {
+    if (contextSize == -1) {
+      contextSize = DEFAULT_CONTEXT_SIZE;
+    }
+    final long startTime = System.currentTimeMillis();
+    final PrintStream out = new PrintStream(System.out, true, "UTF-8");
+    final MatchPrinter matchPrinter = new MatchPrinter(out, apiFormat, contextSize);
+    if (apiFormat) {
+      out.print(StringTools.ruleMatchesToXML(Collections.<RuleMatch>emptyList(), "", contextSize, StringTools.XmlPrintMode.START_XML));
+    }
+    lt.check(reader, matchPrinter);
+    if (apiFormat) {
+      out.print(StringTools.ruleMatchesToXML(Collections.<RuleMatch>emptyList(), "", contextSize, StringTools.XmlPrintMode.END_XML));
+    }
+    displayTimeStats(out, startTime, lt.getSentenceCount(), apiFormat);
+    return matchPrinter.matchCount;
+  }
+
   private static void displayTimeStats(final long startTime,
                                        final long sentCount, final boolean apiFormat) {
+    displayTimeStats(System.out, startTime, sentCount, apiFormat);
+  }
+
+  private static void displayTimeStats(final PrintStream out, final long startTime,
+                                       final long sentCount, final boolean apiFormat) {
     final long endTime = System.currentTimeMillis();
     final long time = endTime - startTime;
     final float timeInSeconds = time / 1000.0f;
     final float sentencesPerSecond = sentCount / timeInSeconds;
     if (apiFormat) {
-      System.out.println("<!--");
+      out.println("<!--");
     }
-    System.out.printf(Locale.ENGLISH,
+    out.printf(Locale.ENGLISH,
             "Time: %dms for %d sentences (%.1f sentences/sec)", time,
             sentCount, sentencesPerSecond);
-    System.out.println();
+    out.println();
     if (apiFormat) {
-      System.out.println("-->");
+      out.println("-->");
     }
   }
 
@@ -142,6 +187,14 @@ public final class CommandLineTools {
    */
   private static void printMatches(final List<RuleMatch> ruleMatches,
                                    final int prevMatches, final String contents, final int contextSize) {
+    printMatches(System.out, ruleMatches, prevMatches, contents, 0, contextSize);
+  }
+
+  /**
+   * @param contentsOffset the position of {@code contents} in the text that the match positions refer to
+   */
+  private static void printMatches(final PrintStream out, final List<RuleMatch> ruleMatches,
+                                   final int prevMatches, final String contents, final int contentsOffset, final int contextSize) {
     int i = 1;
     final ContextTools contextTools = new ContextTools();
     contextTools.setContextSize(contextSize);
@@ -152,23 +205,23 @@ public final class CommandLineTools {
         final PatternRule pRule = (PatternRule) match.getRule();
         output += "[" + pRule.getSubId() + "]";
       }
-      System.out.println(output);
+      out.println(output);
       String msg = match.getMessage();
       msg = msg.replaceAll("<suggestion>", "'");
       msg = msg.replaceAll("</suggestion>", "'");
-      System.out.println("Message: " + msg);
+      out.println("Message: " + msg);
       final List<String> replacements = match.getSuggestedReplacements();
       if (!replacements.isEmpty()) {
-        System.out.println("Suggestion: "
+        out.println("Suggestion: "
                 + StringTools.listToString(replacements, "; "));
       }
-      System.out.println(contextTools.getPlainTextContext(match.getFromPos(), match.getToPos(), contents));
+      out.println(contextTools.getPlainTextContext(match.getFromPos() - contentsOffset, match.getToPos() - contentsOffset, contents));
       if (match.getRule().getUrl() != null) {
-        System.out.println("More info: " +
+        out.println("More info: " +
                 match.getRule().getUrl().toString());
       }
       if (i < ruleMatches.size()) {
-        System.out.println();
+        out.println();
       }
       i++;
     }
@@ -288,8 +341,8 @@ public final class CommandLineTools {
   }
 
   /**
-   * Simple rule profiler - used to run LT on a corpus to see which
-   * rule takes most time. Prints results to System.out.
+   * Rule profiler - used to run LT on a corpus to see which
+   * rule or analysis step takes most time. Prints results to System.out as CSV.
    *
    * @param contents text to check
    * @param lt instance of LanguageTool
@@ -297,41 +350,90 @@ public final class CommandLineTools {
    */
   public static void profileRulesOnText(final String contents,
                                         final JLanguageTool lt) throws IOException {
-    final long[] workTime = new long[10];
-    final List<Rule> rules = lt.getAllActiveRules();
-    final int ruleCount = rules.size();
-    System.out.printf("Testing %d rules%n", ruleCount);
-    System.out.println("Rule ID\tTime\tSentences\tMatches\tSentences per sec.");
-    final List<String> sentences = lt.sentenceTokenize(contents);
-    for (Rule rule : rules) {
-      int matchCount = 0;
-      for (int k = 0; k < 10; k++) {
-        final long startTime = System.currentTimeMillis();
-        for (String sentence : sentences) {
-          matchCount += rule.match
-                  (lt.getAnalyzedSentence(sentence)).length;
-        }
-        final long endTime = System.currentTimeMillis();
-        workTime[k] = endTime - startTime;
+    printProfile(lt.profile(contents), ProfileFormat.CSV);
+  }
+
+  /**
+   * Prints the measurements of a profile to System.out: first the analysis stages
+   * in the order they are run, then the rules, the slowest rule first.
+   * Times are CPU times in nanoseconds.
+   * @since 2.4
+   */
+  public static void printProfile(final CheckProfile profile, final ProfileFormat format) {
+    final List<CheckProfile.Entry> rules = profile.getEntriesByCpuTime(CheckProfile.Kind.RULE);
+    final List<CheckProfile.Entry> stages = new ArrayList<>();
+    for (CheckProfile.Entry entry : profile.getEntries()) {
+      if (entry.getKind() == CheckProfile.Kind.STAGE) {
+        stages.add(entry);
       }
-      final long time = median(workTime);
-      final float timeInSeconds = time / 1000.0f;
-      final float sentencesPerSecond = sentences.size() / timeInSeconds;
-      System.out.printf(Locale.ENGLISH,
-              "%s\t%d\t%d\t%d\t%.1f", rule.getId(),
-              time, sentences.size(), matchCount, sentencesPerSecond);
-      System.out.println();
+    }
+    if (format == ProfileFormat.JSON) {
+      printProfileAsJson(profile, stages, rules);
+    } else {
+      printProfileAsCsv(stages, rules);
+    }
+  }
+
+  private static void printProfileAsCsv(List<CheckProfile.Entry> stages, List<CheckProfile.Entry> rules) {
+    System.out.println("type,name,cpuNanos,allocatedBytes,matches");
+    for (CheckProfile.Entry entry : stages) {
+      printCsvLine("stage", entry);
+    }
+    for (CheckProfile.Entry entry : rules) {
+      printCsvLine("rule", entry);
     }
   }
 
-  private static long median(long[] m) {
-    Arrays.sort(m);
-    final int middle = m.length / 2;  // subscript of middle element
-    if (m.length % 2 == 1) {
-      // Odd number of elements -- return the middle one.
-      return m[middle];
+  private static void printCsvLine(String type, CheckProfile.Entry entry) {
+    String name = entry.getName();
+    if (name.contains(",") || name.contains("\"")) {
+      name = "\"" + name.replace("\"", "\"\"") + "\"";
     }
-    return (m[middle-1] + m[middle]) / 2;
+    System.out.println(type + "," + name + "," + entry.getCpuNanos() + "," + entry.getAllocatedBytes() + "," + entry.getMatchCount());
+  }
+
+  private static void printProfileAsJson(CheckProfile profile, List<CheckProfile.Entry> stages, List<CheckProfile.Entry> rules) {
+    final StringBuilder sb = new StringBuilder();
+    sb.append("{\n");
+    sb.append("  \"sentences\": ").append(profile.getSentenceCount()).append(",\n");
+    sb.append("  \"cpuTimeMeasured\": ").append(profile.isCpuTimeMeasured()).append(",\n");
+    sb.append("  \"allocationMeasured\": ").append(profile.isAllocationMeasured()).append(",\n");
+    sb.append("  \"stages\": [");
+    for (int i = 0; i < stages.size(); i++) {
+      final CheckProfile.Entry entry = stages.get(i);
+      sb.append(i == 0 ? "\n" : ",\n");
+      sb.append("    {\"name\": ").append(jsonString(entry.getName()));
+      sb.append(", \"cpuNanos\": ").append(entry.getCpuNanos());
+      sb.append(", \"allocatedBytes\": ").append(entry.getAllocatedBytes()).append('}');
+    }
+    sb.append("\n  ],\n");
+    sb.append("  \"rules\": [");
+    for (int i = 0; i < rules.size(); i++) {
+      final CheckProfile.Entry entry = rules.get(i);
+      sb.append(i == 0 ? "\n" : ",\n");
+      sb.append("    {\"id\": ").append(jsonString(entry.getName()));
+      sb.append(", \"cpuNanos\": ").append(entry.getCpuNanos());
+      sb.append(", \"allocatedBytes\": ").append(entry.getAllocatedBytes());
+      sb.append(", \"matches\": ").append(entry.getMatchCount()).append('}');
+    }
+    sb.append("\n  ]\n");
+    sb.append('}');
+    System.out.println(sb);
+  }
+
+  private static String jsonString(String s) {
+    final StringBuilder sb = new StringBuilder("\"");
+    for (int i = 0; i < s.length(); i++) {
+      final char c = s.charAt(i);
+      if (c == '"' || c == '\\') {
+        sb.append('\\').append(c);
+      } else if (c < 0x20) {
+        sb.append(String.format("\\u%04x", (int) c));
+      } else {
+        sb.append(c);
+      }
+    }
+    return sb.append('"').toString();
   }
 
   /**
@@ -396,4 +498,40 @@ public final class CommandLineTools {
     return sb.toString();
   }
 
+  /**
+   * Prints the matches of a text that is checked part by part.
+   */
+  private static class MatchPrinter implements RuleMatchListener {
+
+    private final PrintStream out;
+    private final boolean apiFormat;
+    private final int contextSize;
+
+    private int matchCount;
+
+    MatchPrinter(PrintStream out, boolean apiFormat, int contextSize) {
+      this.out = out;
+      this.apiFormat = apiFormat;
+      this.contextSize = contextSize;
+    }
+
+    @Override
+    public void matchesFound(String text, long longTextOffset, List<RuleMatch> ruleMatches) {
+      if (ruleMatches.isEmpty()) {
+        return;
+      }
+      // JLanguageTool.check(Reader, ...) makes sure the positions of matches fit into an int:
+      final int textOffset = (int) longTextOffset;
+      if (apiFormat) {
+        out.print(StringTools.ruleMatchesToXML(ruleMatches, text, contextSize, StringTools.XmlPrintMode.CONTINUE_XML, textOffset));
+      } else {
+        if (matchCount > 0) {
+          out.println();
+        }
+        printMatches(out, ruleMatches, matchCount, text, textOffset, contextSize);
+      }
+      matchCount += ruleMatches.size();
+    }
+  }
+
 }
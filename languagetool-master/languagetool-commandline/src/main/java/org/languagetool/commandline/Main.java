@@ -19,12 +19,12 @@
 package org.languagetool.commandline;
 
 import org.apache.tika.language.LanguageIdentifier;
+import org.languagetool.CheckProfile;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Language;
 import org.languagetool.MultiThreadedJLanguageTool;
 import org.languagetool.bitext.TabBitextReader;
 import org.languagetool.language.English;
-import org.languagetool.rules.Rule;
 import org.languagetool.rules.bitext.BitextRule;
 import org.languagetool.tools.JnaTools;
 import org.languagetool.tools.StringTools;
@@ -60,10 +60,11 @@ class Main {
   
   private JLanguageTool lt;
   private boolean profileRules;
+  private CommandLineTools.ProfileFormat profileFormat;
+  private CheckProfile profile;
   private boolean bitextMode;
   private JLanguageTool srcLt;
   private List<BitextRule> bRules;
-  private Rule currentRule;
 
   Main(final boolean verbose, final boolean taggerOnly,
       final Language language, final Language motherTongue,
@@ -103,8 +104,9 @@ class Main {
   }
   
 
-  private void setProfilingMode() {
+  private void setProfilingMode(CommandLineTools.ProfileFormat format) {
     profileRules = true;
+    profileFormat = format;
   }
 
   private void setBitextMode(final Language sourceLang,
@@ -151,7 +153,7 @@ class Main {
           language = new English();
         }
         changeLanguage(language, motherTongue, disabledRules, enabledRules);
-        System.out.println("Using " + language.getName() + " for file " + filename);
+        getInfoOutput().println("Using " + language.getName() + " for file " + filename);
       }
       final File file = new File(filename);
       // run once on file if the file size < MAX_FILE_SIZE or
@@ -161,6 +163,8 @@ class Main {
     }
     if (oneTime) {
       runOnFileInOneGo(filename, encoding, listUnknownWords, xmlFiltering);
+    } else if (isStreamingPossible(filename, xmlFiltering)) {
+      runOnFileStreaming(filename, encoding, listUnknownWords);
     } else {
       runOnFileLineByLine(filename, encoding, listUnknownWords);
     }
@@ -180,38 +184,58 @@ class Main {
       if (applySuggestions) {
         System.out.print(Tools.correctText(text, lt));
       } else if (profileRules) {
-        CommandLineTools.profileRulesOnText(text, lt);
+        CommandLineTools.printProfile(lt.profile(text), profileFormat);
       } else if (!taggerOnly) {
         CommandLineTools.checkText(text, lt, apiFormat, 0);
       } else {
         CommandLineTools.tagText(text, lt);
       }
       if (listUnknownWords) {
-        System.out.println("Unknown words: " + lt.getUnknownWords());
+        getInfoOutput().println("Unknown words: " + lt.getUnknownWords());
       }
     }
   }
 
-  private void runOnFileLineByLine(String filename, String encoding, boolean listUnknownWords) throws IOException {
+  // the other modes need the text line by line:
+  private boolean isStreamingPossible(String filename, boolean xmlFiltering) {
+    return !applySuggestions && !profileRules && !taggerOnly && !bitextMode && !xmlFiltering
+            && !(autoDetect && isStdIn(filename));
+  }
+
+  // checks larger files and STDIN without loading the complete text into memory:
+  private void runOnFileStreaming(String filename, String encoding, boolean listUnknownWords) throws IOException {
     if (verbose) {
       lt.setOutput(System.err);
     }
-    if (!apiFormat && !applySuggestions) {
+    if (!apiFormat) {
       if (isStdIn(filename)) {
         System.out.println("Working on STDIN...");
       } else {
         System.out.println("Working on " + filename + "...");
       }
     }
-    if (profileRules && isStdIn(filename)) {
-      throw new IllegalArgumentException("Profiling mode cannot be used with input from STDIN");
+    try (InputStreamReader isr = getInputStreamReader(filename, encoding)) {
+      CommandLineTools.checkText(isr, lt, apiFormat, -1);
+    }
+    if (listUnknownWords) {
+      System.out.println("Unknown words: " + lt.getUnknownWords());
+    }
+  }
+
+  private void runOnFileLineByLine(String filename, String encoding, boolean listUnknownWords) throws IOException {
+    if (verbose) {
+      lt.setOutput(System.err);
+    }
+    if (!apiFormat && !applySuggestions) {
+      if (isStdIn(filename)) {
+        getInfoOutput().println("Working on STDIN...");
+      } else {
+        getInfoOutput().println("Working on " + filename + "...");
+      }
     }
-    int runCount = 1;
-    final List<Rule> rules = lt.getAllActiveRules();
     if (profileRules) {
-      System.out.printf("Testing %d rules\n", rules.size());
-      System.out.println("Rule ID\tTime\tSentences\tMatches\tSentences per sec.");
-      runCount = rules.size();
+      // the profile is collected part by part and printed at the end:
+      profile = new CheckProfile();
     }
     InputStreamReader isr = null;
     BufferedReader br = null;
@@ -219,39 +243,47 @@ class Main {
     int tmpLineOffset = 0;
     final List<String> unknownWords = new ArrayList<>();
     StringBuilder sb = new StringBuilder();
-    for (int ruleIndex = 0; !rules.isEmpty() && ruleIndex < runCount; ruleIndex++) {
-      currentRule = rules.get(ruleIndex);
-      int matches = 0;
-      long sentences = 0;
-      final long startTime = System.currentTimeMillis();
-      try {
-        isr = getInputStreamReader(filename, encoding);
-        br = new BufferedReader(isr);
-        String line;
-        int lineCount = 0;
-        while ((line = br.readLine()) != null) {
-          sb.append(line);
-          lineCount++;
-          // to detect language from the first input line
-          if (lineCount == 1 && autoDetect) {
-            Language language = detectLanguageOfString(line);
-            if (language == null) {
-              System.err.println("Could not detect language well enough, using English");
-              language = new English();
+    int matches = 0;
+    long sentences = 0;
+    final long startTime = System.currentTimeMillis();
+    try {
+      isr = getInputStreamReader(filename, encoding);
+      br = new BufferedReader(isr);
+      String line;
+      int lineCount = 0;
+      while ((line = br.readLine()) != null) {
+        sb.append(line);
+        lineCount++;
+        // to detect language from the first input line
+        if (lineCount == 1 && autoDetect) {
+          Language language = detectLanguageOfString(line);
+          if (language == null) {
+            System.err.println("Could not detect language well enough, using English");
+            language = new English();
+          }
+          getInfoOutput().println("Language used is: " + language.getName());
+          language.getSentenceTokenizer().setSingleLineBreaksMarksParagraph(
+                  singleLineBreakMarksParagraph);
+          changeLanguage(language, motherTongue, disabledRules, enabledRules);
+        }
+        sb.append('\n');
+        tmpLineOffset++;
+        if (lt.getLanguage().getSentenceTokenizer().singleLineBreaksMarksPara()) {
+          matches = handleLine(matches, lineOffset, sb);
+          sentences += lt.getSentenceCount();
+          if (listUnknownWords && !taggerOnly) {
+            for (String word : lt.getUnknownWords()) {
+              if (!unknownWords.contains(word)) {
+                unknownWords.add(word);
+              }
             }
-            System.out.println("Language used is: " + language.getName());
-            language.getSentenceTokenizer().setSingleLineBreaksMarksParagraph(
-                    singleLineBreakMarksParagraph);
-            changeLanguage(language, motherTongue, disabledRules, enabledRules);
           }
-          sb.append('\n');
-          tmpLineOffset++;
-          if (lt.getLanguage().getSentenceTokenizer().singleLineBreaksMarksPara()) {
+          sb = new StringBuilder();
+          lineOffset = tmpLineOffset;
+        } else {
+          if ("".equals(line) || sb.length() >= MAX_FILE_SIZE) {
             matches = handleLine(matches, lineOffset, sb);
             sentences += lt.getSentenceCount();
-            if (profileRules) {
-              sentences += lt.sentenceTokenize(sb.toString()).size();
-            }
             if (listUnknownWords && !taggerOnly) {
               for (String word : lt.getUnknownWords()) {
                 if (!unknownWords.contains(word)) {
@@ -261,52 +293,43 @@ class Main {
             }
             sb = new StringBuilder();
             lineOffset = tmpLineOffset;
-          } else {
-            if ("".equals(line) || sb.length() >= MAX_FILE_SIZE) {
-              matches = handleLine(matches, lineOffset, sb);
-              sentences += lt.getSentenceCount();
-              if (profileRules) {
-                sentences += lt.sentenceTokenize(sb.toString()).size();
-              }
-              if (listUnknownWords && !taggerOnly) {
-                for (String word : lt.getUnknownWords()) {
-                  if (!unknownWords.contains(word)) {
-                    unknownWords.add(word);
-                  }
-                }
-              }
-              sb = new StringBuilder();
-              lineOffset = tmpLineOffset;
-            }
           }
         }
-      } finally {
-        if (sb.length() > 0) {
-          matches = handleLine(matches, tmpLineOffset - 1, sb);
-          sentences += lt.getSentenceCount();
-          if (profileRules) {
-            sentences += lt.sentenceTokenize(sb.toString()).size();
-          }
-          if (apiFormat && !taggerOnly && !applySuggestions) {
-              System.out.println("</matches>");
-          }
-          if (listUnknownWords && !taggerOnly) {
-            for (String word : lt.getUnknownWords()) {
-              if (!unknownWords.contains(word)) {
-                unknownWords.add(word);
-              }
+      }
+    } finally {
+      if (sb.length() > 0) {
+        matches = handleLine(matches, tmpLineOffset - 1, sb);
+        sentences += lt.getSentenceCount();
+        if (apiFormat && !taggerOnly && !applySuggestions) {
+            System.out.println("</matches>");
+        }
+        if (listUnknownWords && !taggerOnly) {
+          for (String word : lt.getUnknownWords()) {
+            if (!unknownWords.contains(word)) {
+              unknownWords.add(word);
             }
           }
         }
-        printTimingInformation(listUnknownWords, rules, unknownWords, ruleIndex, matches, sentences, startTime);
-        if (br != null) {
-          br.close();
-        }
-        if (isr != null) {
-          isr.close();
-        }
+      }
+      if (!profileRules) {
+        printTimingInformation(listUnknownWords, unknownWords, matches, sentences, startTime);
+      }
+      if (br != null) {
+        br.close();
+      }
+      if (isr != null) {
+        isr.close();
       }
     }
+    // not in the finally block, as the profile is incomplete if the check failed:
+    if (profileRules) {
+      CommandLineTools.printProfile(profile, profileFormat);
+    }
+  }
+
+  // the profile is printed to STDOUT, so other messages must not get mixed into it:
+  private PrintStream getInfoOutput() {
+    return profileRules ? System.err : System.out;
   }
 
   private InputStreamReader getInputStreamReader(String filename, String encoding)
@@ -335,8 +358,8 @@ class Main {
     return "-".equals(filename);
   }
 
-  private void printTimingInformation(final boolean listUnknownWords, final List<Rule> rules,
-      final List<String> unknownWords, final int ruleIndex, final int matches, final long sentences, final long startTime) {
+  private void printTimingInformation(final boolean listUnknownWords, final List<String> unknownWords,
+      final int matches, final long sentences, final long startTime) {
     if (!applySuggestions) {
       final long endTime = System.currentTimeMillis();
       final long time = endTime - startTime;
@@ -345,18 +368,10 @@ class Main {
       if (apiFormat) {
         System.out.println("<!--");
       }
-      if (profileRules) {
-        //TODO: run 10 times, line in runOnce mode, and use median
-        System.out.printf(Locale.ENGLISH,
-            "%s\t%d\t%d\t%d\t%.1f", rules.get(ruleIndex).getId(),
-            time, sentences, matches, sentencesPerSecond);
-        System.out.println();
-      } else {
-        System.out.printf(Locale.ENGLISH,
-            "Time: %dms for %d sentences (%.1f sentences/sec)", time,
-            sentences, sentencesPerSecond);
-        System.out.println();
-      }
+      System.out.printf(Locale.ENGLISH,
+          "Time: %dms for %d sentences (%.1f sentences/sec)", time,
+          sentences, sentencesPerSecond);
+      System.out.println();
       if (listUnknownWords) {
         Collections.sort(unknownWords);
         System.out.println("Unknown words: " + unknownWords);
@@ -374,8 +389,7 @@ class Main {
       System.out.print(Tools.correctText(StringTools.filterXML(sb.toString()),
           lt));
     } else if (profileRules) {
-      matches += Tools.profileRulesOnLine(StringTools.filterXML(sb.toString()), 
-          lt, currentRule);
+      lt.profile(StringTools.filterXML(sb.toString()), profile);
     } else if (!taggerOnly) {
       if (matches == 0) {
         matches += CommandLineTools.checkText(StringTools.filterXML(sb.toString()), lt,
@@ -421,7 +435,7 @@ class Main {
       lt.setOutput(System.err);
     }
     if (!apiFormat && !applySuggestions) {
-      System.out.println("Working on " + filename + "...");
+      getInfoOutput().println("Working on " + filename + "...");
     }
     final String fileContents = StringTools.readStream(new FileInputStream(filename), encoding);
     if (xmlFiltering) {
@@ -493,7 +507,9 @@ class Main {
       }
       options.setLanguage(new English());
     } else if (!options.isApiFormat() && !options.isApplySuggestions()) {
-      System.out.println("Expected text language: " + options.getLanguage().getName());
+      // the profile is printed to STDOUT, so other messages must not get mixed into it:
+      final PrintStream infoOutput = options.isProfile() ? System.err : System.out;
+      infoOutput.println("Expected text language: " + options.getLanguage().getName());
     }
 
     options.getLanguage().getSentenceTokenizer().setSingleLineBreaksMarksParagraph(
@@ -503,7 +519,7 @@ class Main {
             options.isAutoDetect(), options.isSingleLineBreakMarksParagraph());
     prg.setListUnknownWords(options.isListUnknown());
     if (options.isProfile()) {
-      prg.setProfilingMode();
+      prg.setProfilingMode(options.getProfileFormat());
     }
     if (options.isBitext()) {
       if (options.getMotherTongue() == null) {
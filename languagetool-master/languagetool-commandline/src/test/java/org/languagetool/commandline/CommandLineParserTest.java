@@ -72,4 +72,22 @@ public class CommandLineParserTest extends TestCase {
     assertTrue(options.isPrintLanguages());
   }
 
+  public void testProfileFormat() throws Exception {
+    final CommandLineParser parser = new CommandLineParser();
+    CommandLineOptions options;
+
+    options = parser.parseOptions(new String[]{"--profile", "filename.txt"});
+    assertTrue(options.isProfile());
+    assertEquals(CommandLineTools.ProfileFormat.CSV, options.getProfileFormat());
+
+    options = parser.parseOptions(new String[]{"--profile-format", "json", "filename.txt"});
+    assertTrue(options.isProfile());
+    assertEquals(CommandLineTools.ProfileFormat.JSON, options.getProfileFormat());
+
+    try {
+      parser.parseOptions(new String[]{"--profile-format", "xml", "filename.txt"});
+      fail();
+    } catch (IllegalArgumentException expected) {}
+  }
+
 }
@@ -102,6 +102,16 @@ public class MainTest extends AbstractSecurityTestCase {
     assertTrue(output.contains("1.) Line 1, column 9, Rule ID: EN_A_VS_AN"));
   }
 
+  public void testProfileOutputIsJson() throws Exception {
+    final String[] args = {"-l", "en", "--profile-format", "json", getTestFilePath()};
+
+    Main.main(args);
+    final String output = new String(this.out.toByteArray()).trim();
+    assertTrue(output, output.startsWith("{"));
+    assertTrue(output, output.endsWith("}"));
+    assertTrue(new String(this.err.toByteArray()).contains("Expected text language: English"));
+  }
+
   public void testEnglishFileAutoDetect() throws Exception {
     final String[] args = {"-adl", getTestFilePath()};
 
@@ -188,10 +198,8 @@ public class MainTest extends AbstractSecurityTestCase {
     final String output = new String(this.out.toByteArray());
     assertTrue("Got: " + output, output.contains("<error fromy=\"4\" fromx=\"5\" toy=\"4\" tox=\"10\" " +
             "ruleId=\"ENGLISH_WORD_REPEAT_RULE\" msg=\"Possible typo: you repeated a word\" replacements=\"is\" " +
-            "context=\"This is is a test of language tool. \" contextoffset=\"5\" offset=\"5\" errorlength=\"5\" " +
-            "category=\"Miscellaneous\" locqualityissuetype=\"duplication\"/>"));
-    // note: the offset is relative to the sentence... this seems wrong - it happens because of the way
-    // the command line client feeds the data into the check() methods.
+            "context=\"....  This is a test of of language tool.  This is is a test of language tool.\" contextoffset=\"48\" " +
+            "offset=\"60\" errorlength=\"5\" category=\"Miscellaneous\" locqualityissuetype=\"duplication\"/>"));
   }
 
   //test line mode vs. para mode
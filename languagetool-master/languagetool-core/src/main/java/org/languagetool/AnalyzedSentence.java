@@ -19,11 +19,15 @@
 package org.languagetool;
 
 import org.apache.commons.lang.StringUtils;
+import org.languagetool.tools.StringTools;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 /**
  * A sentence that has been tokenized and analyzed.
@@ -34,13 +38,16 @@ public class AnalyzedSentence {
 
   private final AnalyzedTokenReadings[] tokens;
 
-  private AnalyzedTokenReadings[] nonBlankTokens;
+  private volatile AnalyzedTokenReadings[] nonBlankTokens;
 
   /**
    * Array mapping positions of tokens as returned with
    * getTokensWithoutWhitespace() to the internal tokens array.
    */
-  private int[] whPositions;
+  private volatile int[] whPositions;
+
+  private volatile Set<String> tokenSet;
+  private volatile Set<String> lemmaSet;
 
   /**
    * Sets {@link AnalyzedTokenReadings}. Whitespace is also a token.
@@ -58,7 +65,7 @@ public class AnalyzedSentence {
 
   /**
    * Returns the {@link AnalyzedTokenReadings} of the analyzed text. Whitespace
-   * is also a token.
+   * is also a token. The array is not a copy, so it must not be modified.
    */
   public final AnalyzedTokenReadings[] getTokens() {
     return tokens;
@@ -67,10 +74,13 @@ public class AnalyzedSentence {
   /**
    * Returns the {@link AnalyzedTokenReadings} of the analyzed text, with
    * whitespace tokens removed but with the artificial <code>SENT_START</code>
-   * token included.
+   * token included. Like {@link #getTokens()}, this returns the array used
+   * internally and not a copy, as it's called by every rule for every sentence.
+   * The array must not be modified, use {@code clone()} to get a copy that can be modified.
    */
   public final AnalyzedTokenReadings[] getTokensWithoutWhitespace() {
-    if (nonBlankTokens == null) {
+    AnalyzedTokenReadings[] result = nonBlankTokens;
+    if (result == null) {
       int whCounter = 0;
       int nonWhCounter = 0;
       final int[] mapping = new int[tokens.length + 1];
@@ -84,10 +94,53 @@ public class AnalyzedSentence {
         }
         whCounter++;
       }
-      setNonBlankTokens(l.toArray(new AnalyzedTokenReadings[l.size()]));
-      setWhPositions(mapping.clone());
+      result = l.toArray(new AnalyzedTokenReadings[l.size()]);
+      // set the positions first, other threads use them as soon as nonBlankTokens is set:
+      setWhPositions(mapping);
+      setNonBlankTokens(result);
+    }
+    return result;
+  }
+
+  /**
+   * The tokens of all readings of the non-whitespace tokens, converted with {@link StringTools#foldCase(String)}.
+   * Used to quickly find out whether a rule can match this sentence at all.
+   * @since 2.4
+   */
+  public final Set<String> getTokenSet() {
+    if (tokenSet == null) {
+      initTokenSets();
+    }
+    return tokenSet;
+  }
+
+  /**
+   * Like {@link #getTokenSet()}, but with the lemmas of all readings, or the
+   * tokens for readings without lemma (see {@link AnalyzedToken#getTokenInflected()}).
+   * @since 2.4
+   */
+  public final Set<String> getLemmaSet() {
+    if (lemmaSet == null) {
+      initTokenSets();
+    }
+    return lemmaSet;
+  }
+
+  private void initTokenSets() {
+    final Set<String> tokens = new HashSet<>();
+    final Set<String> lemmas = new HashSet<>();
+    for (AnalyzedTokenReadings tokenReadings : getTokensWithoutWhitespace()) {
+      for (AnalyzedToken reading : tokenReadings) {
+        if (reading.getToken() != null) {
+          tokens.add(StringTools.foldCase(reading.getToken()));
+        }
+        if (reading.getTokenInflected() != null) {
+          lemmas.add(StringTools.foldCase(reading.getTokenInflected()));
+        }
+      }
     }
-    return nonBlankTokens.clone();
+    tokenSet = Collections.unmodifiableSet(tokens);
+    lemmaSet = Collections.unmodifiableSet(lemmas);
   }
 
   /**
@@ -0,0 +1,240 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CPU time and memory allocation of the steps of a check, as measured by
+ * {@link JLanguageTool#profile(String)}: the analysis stages (tokenizers, tagger,
+ * chunker, disambiguator) and each rule. Not thread-safe.
+ *
+ * <p>CPU time is measured in nanoseconds for the current thread. If the JVM cannot
+ * measure CPU time, the elapsed time is used instead. Allocated bytes are only available
+ * on JVMs that support {@code com.sun.management.ThreadMXBean}, otherwise they are 0,
+ * see {@link #isAllocationMeasured()}.
+ *
+ * @since 2.4
+ */
+public class CheckProfile {
+
+  public enum Kind {
+    /** A step of the text analysis, see the constants in {@link CheckProfile}. */
+    STAGE,
+    /** A rule, named by its id. */
+    RULE
+  }
+
+  public static final String SENTENCE_TOKENIZER = "sentenceTokenizer";
+  public static final String WORD_TOKENIZER = "wordTokenizer";
+  public static final String TAGGER = "tagger";
+  public static final String CHUNKER = "chunker";
+  public static final String DISAMBIGUATOR = "disambiguator";
+
+  private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+  private static final boolean cpuTimeSupported = enableCpuTime();
+  private static final boolean allocationSupported = enableAllocatedBytes();
+
+  private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+  private int sentenceCount;
+  private long startCpuTime;
+  private long startAllocatedBytes;
+
+  /**
+   * All stages and rules measured so far, the stages in the order they are run,
+   * then the rules in the order they have been checked.
+   */
+  public List<Entry> getEntries() {
+    return Collections.unmodifiableList(new ArrayList<>(entries.values()));
+  }
+
+  /**
+   * The entries of the given kind, the ones that took most CPU time first.
+   */
+  public List<Entry> getEntriesByCpuTime(Kind kind) {
+    final List<Entry> result = new ArrayList<>();
+    for (Entry entry : entries.values()) {
+      if (entry.kind == kind) {
+        result.add(entry);
+      }
+    }
+    Collections.sort(result, new Comparator<Entry>() {
+      @Override
+      public int compare(Entry e1, Entry e2) {
+        return Long.compare(e2.cpuNanos, e1.cpuNanos);
+      }
+    });
+    return result;
+  }
+
+  /**
+   * @return the entry for the given stage or rule id, or {@code null}
+   */
+  public Entry getEntry(Kind kind, String name) {
+    return entries.get(kind + ":" + name);
+  }
+
+  /**
+   * The number of sentences that have been analyzed and checked.
+   */
+  public int getSentenceCount() {
+    return sentenceCount;
+  }
+
+  /**
+   * Whether the JVM measures CPU time per thread. If not, elapsed time is used.
+   */
+  public boolean isCpuTimeMeasured() {
+    return cpuTimeSupported;
+  }
+
+  /**
+   * Whether the JVM measures the memory allocated per thread. If not, all allocated bytes are 0.
+   */
+  public boolean isAllocationMeasured() {
+    return allocationSupported;
+  }
+
+  void addSentences(int count) {
+    sentenceCount += count;
+  }
+
+  void start() {
+    startCpuTime = getCpuTime();
+    startAllocatedBytes = getAllocatedBytes();
+  }
+
+  /**
+   * Adds the time and memory used since the last call of {@link #start()} to the stage or rule.
+   */
+  void stop(Kind kind, String name, int matchCount) {
+    final long cpuTime = getCpuTime() - startCpuTime;
+    final long allocatedBytes = getAllocatedBytes() - startAllocatedBytes;
+    final String key = kind + ":" + name;
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      entry = new Entry(kind, name);
+      entries.put(key, entry);
+    }
+    entry.cpuNanos += cpuTime;
+    entry.allocatedBytes += allocatedBytes;
+    entry.matchCount += matchCount;
+  }
+
+  private static long getCpuTime() {
+    return cpuTimeSupported ? threadBean.getCurrentThreadCpuTime() : System.nanoTime();
+  }
+
+  private static long getAllocatedBytes() {
+    if (allocationSupported) {
+      return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return 0;
+  }
+
+  private static boolean enableCpuTime() {
+    try {
+      if (threadBean.isCurrentThreadCpuTimeSupported()) {
+        if (!threadBean.isThreadCpuTimeEnabled()) {
+          threadBean.setThreadCpuTimeEnabled(true);
+        }
+        return true;
+      }
+    } catch (UnsupportedOperationException | SecurityException ignored) {
+      // fall back to elapsed time
+    }
+    return false;
+  }
+
+  private static boolean enableAllocatedBytes() {
+    try {
+      if (threadBean instanceof com.sun.management.ThreadMXBean) {
+        final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadBean;
+        if (bean.isThreadAllocatedMemorySupported()) {
+          if (!bean.isThreadAllocatedMemoryEnabled()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+          }
+          return true;
+        }
+      }
+    } catch (NoClassDefFoundError | UnsupportedOperationException | SecurityException ignored) {
+      // not a HotSpot based JVM
+    }
+    return false;
+  }
+
+  /**
+   * The measurements of one stage or rule, summed up over all sentences.
+   * For rules that consist of several sub rules with the same id, the sub rules are summed up, too.
+   */
+  public static class Entry {
+
+    private final Kind kind;
+    private final String name;
+
+    private long cpuNanos;
+    private long allocatedBytes;
+    private int matchCount;
+
+    Entry(Kind kind, String name) {
+      this.kind = kind;
+      this.name = name;
+    }
+
+    public Kind getKind() {
+      return kind;
+    }
+
+    /**
+     * The name of the stage or the id of the rule.
+     */
+    public String getName() {
+      return name;
+    }
+
+    public long getCpuNanos() {
+      return cpuNanos;
+    }
+
+    public long getAllocatedBytes() {
+      return allocatedBytes;
+    }
+
+    /**
+     * The number of matches found by the rule, always 0 for stages.
+     */
+    public int getMatchCount() {
+      return matchCount;
+    }
+
+    @Override
+    public String toString() {
+      return kind + ":" + name + "/" + cpuNanos + "ns/" + allocatedBytes + "B/" + matchCount;
+    }
+  }
+
+}
@@ -0,0 +1,255 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.languagetool.JLanguageTool.ParagraphHandling;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.RuleMatchFilter;
+import org.languagetool.rules.SameRuleGroupFilter;
+import org.languagetool.rules.patterns.PatternRule;
+import org.languagetool.rules.spelling.SpellingCheckRule;
+
+/**
+ * Checks a text that changes a little between checks, like a text being edited, by re-using
+ * the results for the sentences that have been checked before. The results are the same as
+ * with {@link JLanguageTool#check(String, boolean, ParagraphHandling)}.
+ *
+ * <p>The analysis of recently checked sentences and the matches that pattern rules and spelling
+ * rules found in them are cached, so after an edit only the changed sentences need to be analyzed
+ * and matched against these rules, and the matches of the other sentences only get moved to their
+ * new position. All other rules may depend on the sentences before, so they still check all sentences.
+ *
+ * <p>The cache is cleared when the active rules change. Call {@link #clear()} if rules change
+ * in other ways, e.g. if words are added to a spelling rule's ignore list.
+ *
+ * <p><b>Thread-safety:</b> like {@link JLanguageTool}, this class must not be used by
+ * several threads at the same time.
+ * @since 2.4
+ */
+public class IncrementalChecker {
+
+  private static final int DEFAULT_MAX_CACHED_SENTENCES = 5000;
+
+  private final JLanguageTool languageTool;
+  private final Map<String, CachedSentence> cache;
+
+  private List<Rule> cachedRules = Collections.emptyList();
+  private int analyzedSentenceCount;
+
+  /**
+   * Create a checker that caches up to 5000 sentences.
+   */
+  public IncrementalChecker(JLanguageTool languageTool) {
+    this(languageTool, DEFAULT_MAX_CACHED_SENTENCES);
+  }
+
+  /**
+   * @param languageTool the instance used for checking, its rules can still be enabled or disabled
+   * @param maxCachedSentences the maximum number of sentences to keep, least recently checked sentences are removed first
+   */
+  public IncrementalChecker(JLanguageTool languageTool, final int maxCachedSentences) {
+    this.languageTool = languageTool;
+    this.cache = new LinkedHashMap<String, CachedSentence>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, CachedSentence> eldest) {
+        return size() > maxCachedSentences;
+      }
+    };
+  }
+
+  public JLanguageTool getLanguageTool() {
+    return languageTool;
+  }
+
+  /**
+   * Like {@link JLanguageTool#check(String)}.
+   */
+  public List<RuleMatch> check(String text) throws IOException {
+    return check(text, true, ParagraphHandling.NORMAL);
+  }
+
+  /**
+   * Like {@link JLanguageTool#check(String, boolean, ParagraphHandling)}. Use different instances
+   * of this class for checks with different {@code paraMode}, as changing the mode clears the cache.
+   */
+  public List<RuleMatch> check(String text, boolean tokenizeText, ParagraphHandling paraMode) throws IOException {
+    final List<String> sentences = tokenizeText ? languageTool.sentenceTokenize(text) : Collections.singletonList(text);
+    final List<Rule> allRules = languageTool.getAllRules();
+    final Map<Rule, Integer> ruleIndexes = new IdentityHashMap<>();
+    final List<Rule> cacheableRules = new ArrayList<>();
+    final List<Rule> otherRules = new ArrayList<>();
+    for (Rule rule : allRules) {
+      if (languageTool.isRuleActive(rule, paraMode)) {
+        ruleIndexes.put(rule, ruleIndexes.size());
+        if (isSentenceIndependent(rule)) {
+          cacheableRules.add(rule);
+        } else {
+          otherRules.add(rule);
+        }
+      }
+    }
+    if (!cacheableRules.equals(cachedRules)) {
+      cache.clear();
+      cachedRules = cacheableRules;
+    }
+    languageTool.initCheckState(sentences.size());
+    analyzedSentenceCount = 0;
+    final List<CachedSentence> checkedSentences = getCachedSentences(sentences, paraMode, cacheableRules);
+
+    final List<RuleMatch> ruleMatches = new ArrayList<>();
+    final RuleMatchFilter filter = new SameRuleGroupFilter();
+    final Comparator<RuleMatch> ruleOrder = new RuleOrderComparator(ruleIndexes);
+    int charCount = 0;
+    int lineCount = 0;
+    int columnCount = 1;
+    for (int i = 0; i < sentences.size(); i++) {
+      final String sentence = sentences.get(i);
+      final CachedSentence checkedSentence = checkedSentences.get(i);
+      final List<RuleMatch> sentenceMatches = new ArrayList<>();
+      for (RuleMatch match : checkedSentence.ruleMatches) {
+        sentenceMatches.add(languageTool.shiftRuleMatch(match, charCount, lineCount, columnCount));
+      }
+      sentenceMatches.addAll(languageTool.getUnfilteredSentenceMatches(paraMode, otherRules,
+              charCount, lineCount, columnCount, sentence, checkedSentence.analyzedSentence, null));
+      // same order as in JLanguageTool, where all rules check a sentence one after the other:
+      Collections.sort(sentenceMatches, ruleOrder);
+      ruleMatches.addAll(filter.filter(sentenceMatches));
+      charCount += sentence.length();
+      lineCount += JLanguageTool.countLineBreaks(sentence);
+      columnCount = languageTool.getNextColumnCount(sentence, columnCount);
+    }
+    languageTool.removeParagraphLevelFalsePositives(allRules, ruleMatches, paraMode);
+    return ruleMatches;
+  }
+
+  /**
+   * Remove all cached sentences.
+   */
+  public void clear() {
+    cache.clear();
+  }
+
+  /**
+   * The number of sentences that are cached.
+   */
+  public int getCachedSentenceCount() {
+    return cache.size();
+  }
+
+  /**
+   * The number of sentences that needed to be analyzed in the latest check, because
+   * they were not cached.
+   */
+  public int getAnalyzedSentenceCount() {
+    return analyzedSentenceCount;
+  }
+
+  /**
+   * Whether the matches of the rule only depend on the sentence being checked,
+   * so they can be cached.
+   */
+  protected boolean isSentenceIndependent(Rule rule) {
+    return rule instanceof PatternRule && !rule.isParagraphBackTrack() || rule instanceof SpellingCheckRule;
+  }
+
+  private List<CachedSentence> getCachedSentences(List<String> sentences, ParagraphHandling paraMode,
+                                                  List<Rule> cacheableRules) throws IOException {
+    final List<CachedSentence> result = new ArrayList<>(sentences.size());
+    final List<String> missingSentences = new ArrayList<>();
+    final List<Integer> missingIndexes = new ArrayList<>();
+    for (int i = 0; i < sentences.size(); i++) {
+      final CachedSentence cachedSentence = cache.get(sentences.get(i));
+      // the last sentence's last token is marked as the end of a paragraph:
+      if (cachedSentence != null && cachedSentence.isLastSentence == (i == sentences.size() - 1)) {
+        languageTool.rememberUnknownWords(cachedSentence.analyzedSentence);
+        result.add(cachedSentence);
+      } else {
+        missingSentences.add(sentences.get(i));
+        missingIndexes.add(i);
+        result.add(null);
+      }
+    }
+    if (missingSentences.isEmpty()) {
+      return result;
+    }
+    final boolean lastSentenceMissing = missingIndexes.get(missingIndexes.size() - 1) == sentences.size() - 1;
+    final List<AnalyzedSentence> analyzedSentences;
+    if (lastSentenceMissing) {
+      // this lets a MultiThreadedJLanguageTool analyze the sentences in parallel:
+      analyzedSentences = languageTool.analyzeSentences(missingSentences);
+    } else {
+      // analyzeSentences() would mark the end of the paragraph in the last missing sentence,
+      // but the text's last sentence is cached, so none of the missing ones is the last:
+      analyzedSentences = new ArrayList<>(missingSentences.size());
+      for (String sentence : missingSentences) {
+        analyzedSentences.add(languageTool.analyzeSentence(sentence, false));
+      }
+    }
+    for (int i = 0; i < missingSentences.size(); i++) {
+      final String sentence = missingSentences.get(i);
+      final AnalyzedSentence analyzedSentence = analyzedSentences.get(i);
+      final boolean isLastSentence = lastSentenceMissing && i == missingSentences.size() - 1;
+      final List<RuleMatch> matches = languageTool.getUnfilteredSentenceMatches(paraMode, cacheableRules,
+              0, 0, 1, sentence, analyzedSentence, null);
+      final CachedSentence cachedSentence = new CachedSentence(analyzedSentence, matches, isLastSentence);
+      cache.put(sentence, cachedSentence);
+      result.set(missingIndexes.get(i), cachedSentence);
+    }
+    analyzedSentenceCount = missingSentences.size();
+    return result;
+  }
+
+  private static class CachedSentence {
+
+    private final AnalyzedSentence analyzedSentence;
+    private final List<RuleMatch> ruleMatches;
+    private final boolean isLastSentence;
+
+    CachedSentence(AnalyzedSentence analyzedSentence, List<RuleMatch> ruleMatches, boolean isLastSentence) {
+      this.analyzedSentence = analyzedSentence;
+      this.ruleMatches = ruleMatches;
+      this.isLastSentence = isLastSentence;
+    }
+  }
+
+  private static class RuleOrderComparator implements Comparator<RuleMatch> {
+
+    private final Map<Rule, Integer> ruleIndexes;
+
+    RuleOrderComparator(Map<Rule, Integer> ruleIndexes) {
+      this.ruleIndexes = ruleIndexes;
+    }
+
+    @Override
+    public int compare(RuleMatch match1, RuleMatch match2) {
+      return ruleIndexes.get(match1.getRule()) - ruleIndexes.get(match2.getRule());
+    }
+  }
+
+}
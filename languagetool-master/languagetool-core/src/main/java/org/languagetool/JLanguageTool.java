@@ -22,6 +22,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.io.Reader;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.net.JarURLConnection;
@@ -36,6 +37,8 @@ import java.util.Objects;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.Manifest;
 
 import javax.xml.parsers.ParserConfigurationException;
@@ -49,7 +52,9 @@ import org.languagetool.rules.Category;
 import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleMatch;
 import org.languagetool.rules.RuleMatchFilter;
+import org.languagetool.rules.RuleMatchListener;
 import org.languagetool.rules.SameRuleGroupFilter;
+import org.languagetool.rules.patterns.CompiledRuleSet;
 import org.languagetool.rules.patterns.FalseFriendRuleLoader;
 import org.languagetool.rules.patterns.PatternRule;
 import org.languagetool.rules.patterns.PatternRuleLoader;
@@ -78,7 +83,8 @@ import org.xml.sax.SAXException;
  * 
  * <p><b>Thread-safety:</b> this class is not thread safe. Create one instance per thread,
  * but create the language only once (e.g. {@code new English()}) and use it for all
- * instances of JLanguageTool.</p>
+ * instances of JLanguageTool. The pattern rules activated with {@link #activateDefaultPatternRules()}
+ * are not copied per instance but shared, so creating many instances is cheap.</p>
  * 
  * @see MultiThreadedJLanguageTool
  */
@@ -102,6 +108,11 @@ public class JLanguageTool {
   /** Name of the message bundle for translations. */
   public static final String MESSAGE_BUNDLE = "org.languagetool.MessagesBundle";
 
+  // check(Reader, RuleMatchListener) checks at least this many characters at once, if the text is long enough:
+  private static final int MIN_STREAM_CHUNK_SIZE = 10000;
+  // ... and cuts paragraphs that are longer than this:
+  private static final int MAX_STREAM_CHUNK_SIZE = 64000;
+
   /**
    * Returns the build date or {@code null} if not run from JAR.
    */
@@ -143,6 +154,7 @@ public class JLanguageTool {
 
   private boolean listUnknownWords;
   private Set<String> unknownWords;  
+  private volatile CheckCancelledCallback checkCancelledCallback;
 
   /**
    * Constants for correct paragraph-rule handling:
@@ -166,6 +178,19 @@ public class JLanguageTool {
     ONLYNONPARA
   }
   
+  /**
+   * Asked regularly during a check whether the check should be stopped,
+   * e.g. because it's taking too long.
+   * @see #setCheckCancelledCallback(CheckCancelledCallback)
+   * @since 2.4
+   */
+  public interface CheckCancelledCallback {
+    /**
+     * @return true if the check should be stopped. May be called by several threads at the same time.
+     */
+    boolean checkCancelled();
+  }
+
   private static List<File> temporaryFiles = new ArrayList<>();
   
   /**
@@ -304,6 +329,23 @@ public class JLanguageTool {
     return false;
   }
 
+  /**
+   * Set a callback that is asked before each sentence is analyzed or checked whether
+   * the check should be stopped. If it returns true, the {@code check} methods throw a
+   * {@link CancellationException}. Set to {@code null} (the default) to never stop a check.
+   * @since 2.4
+   */
+  public void setCheckCancelledCallback(final CheckCancelledCallback callback) {
+    this.checkCancelledCallback = callback;
+  }
+
+  private void stopIfCancelled() {
+    final CheckCancelledCallback callback = checkCancelledCallback;
+    if (callback != null && callback.checkCancelled()) {
+      throw new CancellationException("Check cancelled");
+    }
+  }
+
   /**
    * Set a PrintStream that will receive verbose output. Set to
    * {@code null} (which is the default) to disable verbose output.
@@ -355,37 +397,21 @@ public class JLanguageTool {
 
   /**
    * Loads and activates the pattern rules from
-   * {@code org/languagetool/rules/<languageCode>/grammar.xml}.
+   * {@code org/languagetool/rules/<languageCode>/grammar.xml}. The rules are loaded
+   * only once per language and are then shared by all instances, see {@link CompiledRuleSet}.
    */
   public void activateDefaultPatternRules() throws IOException {
-    final List<PatternRule> patternRules = new ArrayList<>();
-    final List<String> enabledRules = language.getDefaultEnabledRulesForVariant();
-    final List<String> disabledRules = language.getDefaultDisabledRulesForVariant();
-    for (String patternRuleFileName : language.getRuleFileNames()) {
-      patternRules.addAll(loadPatternRules(patternRuleFileName));
-    }
-    if (!enabledRules.isEmpty() || !disabledRules.isEmpty()) {
-      for (PatternRule patternRule : patternRules) {
-        if (enabledRules.contains(patternRule.getId())) {
-          patternRule.setDefaultOn();
-        }
-        if (disabledRules.contains(patternRule.getId())) {
-          patternRule.setDefaultOff();
-        }
-      }
-    }
-    userRules.addAll(patternRules);
+    userRules.addAll(CompiledRuleSet.getInstance(language).getPatternRules());
   }
 
   /**
    * Loads and activates the false friend rules from
-   * <code>rules/false-friends.xml</code>.
+   * <code>rules/false-friends.xml</code>. The rules are loaded only once per
+   * language and mother tongue and are then shared by all instances, see {@link CompiledRuleSet}.
    */
   public void activateDefaultFalseFriendRules()
       throws ParserConfigurationException, SAXException, IOException {
-    final String falseFriendRulesFilename = JLanguageTool.getDataBroker().getRulesDir() + "/" + FALSE_FRIEND_FILE;
-    final List<PatternRule> patternRules = loadFalseFriendRules(falseFriendRulesFilename);
-    userRules.addAll(patternRules);
+    userRules.addAll(CompiledRuleSet.getInstance(language).getFalseFriendRules(motherTongue));
   }
 
   /**
@@ -552,13 +578,29 @@ public class JLanguageTool {
     }
     final List<Rule> allRules = getAllRules();
     printIfVerbose(allRules.size() + " rules activated for language " + language);
+    return checkSentences(allRules, sentences, annotatedText, paraMode);
+  }
 
-    sentenceCount = sentences.size();
-    unknownWords = new HashSet<>();
+  private List<RuleMatch> checkSentences(final List<Rule> allRules, final List<String> sentences,
+                                         final AnnotatedText annotatedText, final ParagraphHandling paraMode) throws IOException {
+    initCheckState(sentences.size());
     final List<AnalyzedSentence> analyzedSentences = analyzeSentences(sentences);    
     
     final List<RuleMatch> ruleMatches = performCheck(analyzedSentences, sentences, allRules, paraMode, annotatedText);
-    
+    removeParagraphLevelFalsePositives(allRules, ruleMatches, paraMode);
+    return ruleMatches;
+  }
+
+  /**
+   * Prepare {@link #getSentenceCount()} and {@link #getUnknownWords()} for a new check.
+   */
+  void initCheckState(int sentenceCount) {
+    this.sentenceCount = sentenceCount;
+    // sentences may be analyzed by several threads:
+    unknownWords = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+  }
+
+  void removeParagraphLevelFalsePositives(List<Rule> allRules, List<RuleMatch> ruleMatches, ParagraphHandling paraMode) {
     if (!ruleMatches.isEmpty() && !paraMode.equals(ParagraphHandling.ONLYNONPARA)) {
       // removing false positives in paragraph-level rules
       for (final Rule rule : allRules) {
@@ -572,23 +614,96 @@ public class JLanguageTool {
         }
       }
     }
-
-    Collections.sort(ruleMatches);
-    return ruleMatches;
   }
   
-  private List<AnalyzedSentence> analyzeSentences(final List<String> sentences) throws IOException {
+  /**
+   * Check a text of any size, e.g. a large file, without keeping the complete text in memory.
+   * The text is read and checked in chunks of one or more paragraphs, and the matches of each chunk are
+   * passed to the listener before the next chunk is read. The results are the same as with
+   * {@link #check(String)} as long as a paragraph isn't longer than 64,000 characters. Longer
+   * paragraphs are cut at a sentence boundary, rules that work on paragraphs will then see parts of it only.
+   * The rules are reset only once, so rules that keep a state across sentences work across chunks, too.
+   * Match positions are {@code int}s, so a match after the first {@link Integer#MAX_VALUE} characters
+   * causes an {@link IllegalStateException}. After this method returns, {@link #getSentenceCount()} and {@link #getUnknownWords()} refer
+   * to the complete text.
+   *
+   * @param reader the text to be checked, will not be closed by this method
+   * @param listener gets the matches, with positions relative to the complete text
+   * @since 2.4
+   */
+  public void check(final Reader reader, final RuleMatchListener listener) throws IOException {
+    final TextChunkReader chunkReader = new TextChunkReader(reader,
+            language.getSentenceTokenizer().singleLineBreaksMarksPara(), MIN_STREAM_CHUNK_SIZE, MAX_STREAM_CHUNK_SIZE);
+    final Set<String> allUnknownWords = new HashSet<>();
+    int allSentenceCount = 0;
+    long charCount = 0;
+    int lineCount = 0;
+    int columnCount = 1;
+    // the start of an incomplete sentence from the end of the previous chunk:
+    String sentenceStart = "";
+    // reset the rules only once, like check(String) does for the complete text:
+    final List<Rule> allRules = getAllRules();
+    printIfVerbose(allRules.size() + " rules activated for language " + language);
+    String chunk;
+    while ((chunk = chunkReader.readChunk()) != null || !sentenceStart.isEmpty()) {
+      String text = chunk != null ? sentenceStart + chunk : sentenceStart;
+      sentenceStart = "";
+      List<String> sentences = sentenceTokenize(text);
+      if (chunk != null && !chunkReader.isAtParagraphEnd() && sentences.size() > 1) {
+        sentenceStart = sentences.get(sentences.size() - 1);
+        sentences = sentences.subList(0, sentences.size() - 1);
+        text = text.substring(0, text.length() - sentenceStart.length());
+      }
+      final List<RuleMatch> ruleMatches = checkSentences(allRules, sentences,
+              new AnnotatedTextBuilder().addText(text).build(), ParagraphHandling.NORMAL);
+      if (!ruleMatches.isEmpty() && charCount + text.length() > Integer.MAX_VALUE) {
+        throw new IllegalStateException("Match positions after " + Integer.MAX_VALUE
+                + " characters are not supported, found a match in the text starting at position " + charCount);
+      }
+      final List<RuleMatch> shiftedMatches = new ArrayList<>(ruleMatches.size());
+      for (RuleMatch ruleMatch : ruleMatches) {
+        shiftedMatches.add(shiftRuleMatch(ruleMatch, (int) charCount, lineCount, columnCount));
+      }
+      listener.matchesFound(text, charCount, shiftedMatches);
+      allSentenceCount += sentenceCount;
+      allUnknownWords.addAll(unknownWords);
+      charCount += text.length();
+      // the same positions as check(String) would use for the complete text:
+      for (String sentence : sentences) {
+        lineCount += countLineBreaks(sentence);
+        columnCount = getNextColumnCount(sentence, columnCount);
+      }
+    }
+    sentenceCount = allSentenceCount;
+    unknownWords = allUnknownWords;
+  }
+
+  /**
+   * Move a match found in a text to a position after {@code charCount} characters,
+   * {@code lineCount} lines, and at column {@code columnCount} of another text.
+   */
+  RuleMatch shiftRuleMatch(final RuleMatch match, int charCount, int lineCount, int columnCount) {
+    final RuleMatch shiftedMatch = new RuleMatch(match.getRule(), match.getFromPos() + charCount,
+            match.getToPos() + charCount, match.getMessage(), match.getShortMessage());
+    shiftedMatch.setSuggestedReplacementsFrom(match);
+    shiftedMatch.setOffset(match.getOffset() + charCount);
+    shiftedMatch.setLine(match.getLine() + lineCount);
+    shiftedMatch.setEndLine(match.getEndLine() + lineCount);
+    // only the first line of a text may start in the middle of a line:
+    shiftedMatch.setColumn(match.getLine() == 0 ? match.getColumn() + columnCount - 1 : match.getColumn());
+    shiftedMatch.setEndColumn(match.getEndLine() == 0 ? match.getEndColumn() + columnCount - 1 : match.getEndColumn());
+    return shiftedMatch;
+  }
+
+  /**
+   * Tokenize, tag, and disambiguate the sentences of the text being checked.
+   */
+  protected List<AnalyzedSentence> analyzeSentences(final List<String> sentences) throws IOException {
     final List<AnalyzedSentence> analyzedSentences = new ArrayList<>();
     
     int j = 0;
     for (final String sentence : sentences) {
-      AnalyzedSentence analyzedSentence = getAnalyzedSentence(sentence);
-      rememberUnknownWords(analyzedSentence);
-      if (++j == sentences.size()) {
-        final AnalyzedTokenReadings[] anTokens = analyzedSentence.getTokens();
-        anTokens[anTokens.length - 1].setParagraphEnd();
-        analyzedSentence = new AnalyzedSentence(anTokens);
-      }
+      final AnalyzedSentence analyzedSentence = analyzeSentence(sentence, ++j == sentences.size());
       analyzedSentences.add(analyzedSentence);
       printIfVerbose(analyzedSentence.toString());
       printIfVerbose(analyzedSentence.getAnnotations());
@@ -596,13 +711,42 @@ public class JLanguageTool {
     
     return analyzedSentences;
   }
+
+  /**
+   * Analyze one sentence of the text being checked and remember its unknown words.
+   * Can be called by several threads at the same time during a check.
+   * @param isLastSentence if true, the sentence's last token is marked as the end of a paragraph
+   */
+  AnalyzedSentence analyzeSentence(final String sentence, boolean isLastSentence) throws IOException {
+    stopIfCancelled();
+    AnalyzedSentence analyzedSentence = getAnalyzedSentence(sentence);
+    rememberUnknownWords(analyzedSentence);
+    if (isLastSentence) {
+      analyzedSentence = markParagraphEnd(analyzedSentence);
+    }
+    return analyzedSentence;
+  }
+
+  private static AnalyzedSentence markParagraphEnd(final AnalyzedSentence analyzedSentence) {
+    final AnalyzedTokenReadings[] anTokens = analyzedSentence.getTokens();
+    anTokens[anTokens.length - 1].setParagraphEnd();
+    return new AnalyzedSentence(anTokens);
+  }
+
+  boolean isVerbose() {
+    return printStream != null;
+  }
   
+  /**
+   * Match the sentences against the rules. Implementations must return the matches sorted
+   * by position, as they are not sorted again afterwards.
+   */
   protected List<RuleMatch> performCheck(final List<AnalyzedSentence> analyzedSentences, final List<String> sentences,
                                          final List<Rule> allRules, ParagraphHandling paraMode, final AnnotatedText annotatedText) throws IOException {
     final Callable<List<RuleMatch>> matcher = new TextCheckCallable(allRules, sentences, analyzedSentences, paraMode, annotatedText, 0, 0, 1);
     try {
       return matcher.call();
-    } catch (IOException e) {
+    } catch (IOException | RuntimeException e) {
       throw e;
     } catch (Exception e) {
       throw new RuntimeException(e);
@@ -622,35 +766,26 @@ public class JLanguageTool {
       final List<Rule> allRules, int charCount, int lineCount,
       int columnCount, final String sentence, final AnalyzedSentence analyzedSentence, final AnnotatedText annotatedText)
         throws IOException {
+    final List<RuleMatch> sentenceMatches = getUnfilteredSentenceMatches(paraMode, allRules, charCount,
+            lineCount, columnCount, sentence, analyzedSentence, annotatedText);
+    final RuleMatchFilter filter = new SameRuleGroupFilter();
+    return filter.filter(sentenceMatches);
+  }
+
+  /**
+   * Like {@link #checkAnalyzedSentence(ParagraphHandling, List, int, int, int, String, AnalyzedSentence, AnnotatedText)},
+   * but the matches are neither sorted nor filtered with {@link SameRuleGroupFilter}.
+   */
+  List<RuleMatch> getUnfilteredSentenceMatches(final ParagraphHandling paraMode,
+      final List<Rule> allRules, int charCount, int lineCount,
+      int columnCount, final String sentence, final AnalyzedSentence analyzedSentence, final AnnotatedText annotatedText)
+        throws IOException {
+    stopIfCancelled();
     final List<RuleMatch> sentenceMatches = new ArrayList<>();
     for (final Rule rule : allRules) {
-      if (disabledRules.contains(rule.getId())
-          || (rule.isDefaultOff() && !enabledRules.contains(rule.getId()))) {
+      if (!isRuleActive(rule, paraMode)) {
         continue;
       }
-
-      final Category category = rule.getCategory();
-      if (category != null && disabledCategories.contains(category.getName())) {
-        continue;
-      }
-      
-      switch (paraMode) {
-        case ONLYNONPARA: {
-          if (rule.isParagraphBackTrack()) {
-            continue;
-          }
-          break;
-        }
-        case ONLYPARA: {
-          if (!rule.isParagraphBackTrack()) {
-            continue;
-          }
-         break;
-        }
-        case NORMAL:
-        default:
-      }
-
       final RuleMatch[] thisMatches = rule.match(analyzedSentence);
       for (final RuleMatch element1 : thisMatches) {
         final RuleMatch thisMatch = adjustRuleMatchPos(element1,
@@ -661,8 +796,30 @@ public class JLanguageTool {
         }
       }
     }
-    final RuleMatchFilter filter = new SameRuleGroupFilter();
-    return filter.filter(sentenceMatches);
+    return sentenceMatches;
+  }
+
+  /**
+   * Whether the rule is neither disabled nor excluded by {@code paraMode}.
+   */
+  boolean isRuleActive(final Rule rule, final ParagraphHandling paraMode) {
+    if (disabledRules.contains(rule.getId())
+        || (rule.isDefaultOff() && !enabledRules.contains(rule.getId()))) {
+      return false;
+    }
+    final Category category = rule.getCategory();
+    if (category != null && disabledCategories.contains(category.getName())) {
+      return false;
+    }
+    switch (paraMode) {
+      case ONLYNONPARA:
+        return !rule.isParagraphBackTrack();
+      case ONLYPARA:
+        return rule.isParagraphBackTrack();
+      case NORMAL:
+      default:
+        return true;
+    }
   }
 
   /**
@@ -684,7 +841,7 @@ public class JLanguageTool {
     }
     final RuleMatch thisMatch = new RuleMatch(match.getRule(),
         fromPos, toPos, match.getMessage(), match.getShortMessage());
-    thisMatch.setSuggestedReplacements(match.getSuggestedReplacements());
+    thisMatch.setSuggestedReplacementsFrom(match);
     final String sentencePartToError = sentence.substring(0, match.getFromPos());
     final String sentencePartToEndOfError = sentence.substring(0,match.getToPos());
     final int lastLineBreakPos = sentencePartToError.lastIndexOf('\n');
@@ -711,7 +868,7 @@ public class JLanguageTool {
     return thisMatch;
   }
 
-  private void rememberUnknownWords(final AnalyzedSentence analyzedText) {
+  void rememberUnknownWords(final AnalyzedSentence analyzedText) {
     if (listUnknownWords) {
       final AnalyzedTokenReadings[] atr = analyzedText
           .getTokensWithoutWhitespace();
@@ -752,6 +909,68 @@ public class JLanguageTool {
     return count;
   }
 
+  /**
+   * Measures which part of checking the given text takes how much time. Unlike {@link #check(String)},
+   * the text is analyzed only once, and then each active rule is run on all sentences, so
+   * that the time and memory used can be attributed to the analysis stages and to single rules.
+   * Everything runs in the current thread, also for a {@link MultiThreadedJLanguageTool}.
+   * The matches of a rule are counted after the paragraph-level false positives have been removed,
+   * but before the rule match filters. The time of a rule includes computing the suggestions of its matches.
+   *
+   * @param text the text to check
+   * @since 2.4
+   */
+  public CheckProfile profile(final String text) throws IOException {
+    final CheckProfile profile = new CheckProfile();
+    profile(text, profile);
+    return profile;
+  }
+
+  /**
+   * Like {@link #profile(String)}, but adds the measurements to an existing profile,
+   * e.g. to profile a large text part by part.
+   *
+   * @since 2.4
+   */
+  public void profile(final String text, final CheckProfile profile) throws IOException {
+    profile.start();
+    final List<String> sentences = sentenceTokenize(text);
+    profile.stop(CheckProfile.Kind.STAGE, CheckProfile.SENTENCE_TOKENIZER, 0);
+    final List<AnalyzedSentence> analyzedSentences = new ArrayList<>(sentences.size());
+    for (final String sentence : sentences) {
+      final AnalyzedSentence rawSentence = getRawAnalyzedSentence(sentence, profile);
+      profile.start();
+      analyzedSentences.add(disambiguator.disambiguate(rawSentence));
+      profile.stop(CheckProfile.Kind.STAGE, CheckProfile.DISAMBIGUATOR, 0);
+    }
+    if (!analyzedSentences.isEmpty()) {
+      // like analyzeSentences() does for check(String):
+      final int last = analyzedSentences.size() - 1;
+      analyzedSentences.set(last, markParagraphEnd(analyzedSentences.get(last)));
+    }
+    profile.addSentences(sentences.size());
+    // getAllRules() resets the rules, so rules with state start from scratch:
+    for (final Rule rule : getAllRules()) {
+      if (!isRuleActive(rule, ParagraphHandling.NORMAL)) {
+        continue;
+      }
+      final List<RuleMatch> ruleMatches = new ArrayList<>();
+      profile.start();
+      for (final AnalyzedSentence analyzedSentence : analyzedSentences) {
+        for (final RuleMatch match : rule.match(analyzedSentence)) {
+          // suggestions may be computed lazily, but they are part of the rule's cost:
+          match.getSuggestedReplacements();
+          ruleMatches.add(match);
+          if (rule.isParagraphBackTrack()) {
+            rule.addRuleMatch(match);
+          }
+        }
+      }
+      removeParagraphLevelFalsePositives(Collections.singletonList(rule), ruleMatches, ParagraphHandling.NORMAL);
+      profile.stop(CheckProfile.Kind.RULE, rule.getId(), ruleMatches.size());
+    }
+  }
+
   /**
    * Tokenizes the given {@code sentence} into words and analyzes it,
    * and then disambiguates POS tags.
@@ -771,12 +990,35 @@ public class JLanguageTool {
    * @since 0.9.8
    */
   public AnalyzedSentence getRawAnalyzedSentence(final String sentence) throws IOException {
+    return getRawAnalyzedSentence(sentence, null);
+  }
+
+  /**
+   * @param profile if not {@code null}, the time used by the tokenizer, tagger, and chunker is added to it
+   */
+  private AnalyzedSentence getRawAnalyzedSentence(final String sentence, final CheckProfile profile) throws IOException {
+    if (profile != null) {
+      profile.start();
+    }
     final List<String> tokens = wordTokenizer.tokenize(sentence);
     final Map<Integer, String> softHyphenTokens = replaceSoftHyphens(tokens);
+    if (profile != null) {
+      profile.stop(CheckProfile.Kind.STAGE, CheckProfile.WORD_TOKENIZER, 0);
+      profile.start();
+    }
 
     final List<AnalyzedTokenReadings> aTokens = tagger.tag(tokens);
+    if (profile != null) {
+      profile.stop(CheckProfile.Kind.STAGE, CheckProfile.TAGGER, 0);
+    }
     if (chunker != null) {
+      if (profile != null) {
+        profile.start();
+      }
       chunker.addChunkTags(aTokens);
+      if (profile != null) {
+        profile.stop(CheckProfile.Kind.STAGE, CheckProfile.CHUNKER, 0);
+      }
     }
     final int numTokens = aTokens.size();
     int posFix = 0; 
@@ -967,24 +1209,28 @@ public class JLanguageTool {
         ruleMatches.addAll(sentenceMatches);
         charCount += sentence.length();
         lineCount += countLineBreaks(sentence);
-
-        // calculate matching column:
-        final int lineBreakPos = sentence.lastIndexOf('\n');
-        if (lineBreakPos == -1) {
-          columnCount += sentence.length();
-        } else {
-          if (lineBreakPos == 0) {
-            columnCount = sentence.length();
-            if (!language.getSentenceTokenizer().singleLineBreaksMarksPara()) {
-              columnCount--;
-            }
-          } else {
-            columnCount = sentence.length() - lineBreakPos;
-          }
-        }
+        columnCount = getNextColumnCount(sentence, columnCount);
       }
       return ruleMatches;
     }
   }
 
+  /**
+   * Calculate the column at which the text following the given sentence starts.
+   * @param columnCount the column at which the sentence starts
+   */
+  int getNextColumnCount(final String sentence, final int columnCount) {
+    final int lineBreakPos = sentence.lastIndexOf('\n');
+    if (lineBreakPos == -1) {
+      return columnCount + sentence.length();
+    } else if (lineBreakPos == 0) {
+      if (!language.getSentenceTokenizer().singleLineBreaksMarksPara()) {
+        return sentence.length() - 1;
+      }
+      return sentence.length();
+    } else {
+      return sentence.length() - lineBreakPos;
+    }
+  }
+
 }
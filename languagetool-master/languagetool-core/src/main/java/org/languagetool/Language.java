@@ -26,6 +26,7 @@ import org.languagetool.rules.Rule;
 import org.languagetool.rules.patterns.Unifier;
 import org.languagetool.rules.patterns.UnifierConfiguration;
 import org.languagetool.synthesis.Synthesizer;
+import org.languagetool.tagging.PosTagTable;
 import org.languagetool.tagging.Tagger;
 import org.languagetool.tagging.disambiguation.Disambiguator;
 import org.languagetool.tagging.disambiguation.xx.DemoDisambiguator;
@@ -138,6 +139,7 @@ public abstract class Language {
   
   private UnifierConfiguration unifierConfiguration = new UnifierConfiguration();
   private UnifierConfiguration disambiguationUnifierConfiguration = new UnifierConfiguration();
+  private final PosTagTable posTagTable = new PosTagTable();
 
   // -------------------------------------------------------------------------
 
@@ -339,6 +341,14 @@ public abstract class Language {
   public UnifierConfiguration getDisambiguationUnifierConfiguration() {
     return disambiguationUnifierConfiguration;
   }
+
+  /**
+   * The ids of this language's POS tags, used by the pattern elements of its rules.
+   * @since 2.4
+   */
+  public PosTagTable getPosTagTable() {
+    return posTagTable;
+  }
   
   /**
    * Get the name of the language translated to the current locale,
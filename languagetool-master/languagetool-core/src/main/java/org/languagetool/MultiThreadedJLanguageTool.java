@@ -19,28 +19,50 @@
 package org.languagetool;
 
 import java.io.IOException;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 
 import org.languagetool.markup.AnnotatedText;
 import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.RuleMatchFilter;
+import org.languagetool.rules.SameRuleGroupFilter;
+import org.languagetool.rules.patterns.PatternRule;
+import org.languagetool.rules.spelling.SpellingCheckRule;
 
 /**
  * A variant of {@link JLanguageTool} that uses several threads for rule matching.
  * Use this if you want text checking to be fast and do not care about the 
  * high load that this might cause.
+ *
+ * <p>The work is split into tasks that each check a block of sentences against a block
+ * of rules. Pattern rules and spelling rules don't keep state between sentences, so the text is
+ * split for them. All other rules may depend on the sentences before, so each of them checks the whole text
+ * in one task. The tasks run on an executor that is created on first use and then re-used for
+ * all checks, or on the executor given to the constructor. The default executor is a
+ * {@link ForkJoinPool}, so idle threads steal work from busy ones.
+ *
+ * <p>Sentence analysis (tokenizing, tagging, chunking, and disambiguation) runs on the same executor,
+ * in blocks of sentences. Rule matching doesn't wait for the whole text to be analyzed, it starts
+ * with the sentences that are ready while later ones are still being analyzed.
  * 
  * <p><b>Thread-safety:</b> See the remarks at {@link JLanguageTool}.
  */
 public class MultiThreadedJLanguageTool extends JLanguageTool {
+
+  // more blocks than threads, so rule matching can start early:
+  private static final int ANALYSIS_BLOCKS_PER_THREAD = 4;
   
   private int threadPoolSize = -1;
+  private ExecutorService executorService;
+  private boolean isOwnExecutorService;
 
   public MultiThreadedJLanguageTool(Language language) throws IOException {
     super(language);
@@ -50,6 +72,16 @@ public class MultiThreadedJLanguageTool extends JLanguageTool {
     super(language, motherTongue);
   }
 
+  /**
+   * @param executorService the executor to run the checks on, e.g. shared by several instances. It
+   *                        will not be shut down by this class.
+   * @since 2.4
+   */
+  public MultiThreadedJLanguageTool(Language language, Language motherTongue, ExecutorService executorService) throws IOException {
+    super(language, motherTongue);
+    this.executorService = executorService;
+  }
+
   /**
    * When no thread pool size is {@link #setThreadPoolSize(int) configured}, the number of available processors is returned. 
    * 
@@ -69,64 +101,321 @@ public class MultiThreadedJLanguageTool extends JLanguageTool {
    */
   public void setThreadPoolSize(int threadPoolSize) {
     this.threadPoolSize = threadPoolSize;
+    if (isOwnExecutorService) {
+      // will be re-created with the new size on next use:
+      shutdown();
+    }
   }
 
   /**
-   * @return a fixed size executor with the given number of threads
+   * Stop the threads of the executor created by this class. Not needed for the
+   * executor's threads to end, as they are daemon threads that end when idle.
+   * An executor given to the constructor is not shut down.
+   * @since 2.4
+   */
+  public synchronized void shutdown() {
+    if (isOwnExecutorService && executorService != null) {
+      executorService.shutdownNow();
+      executorService = null;
+      isOwnExecutorService = false;
+    }
+  }
+
+  /**
+   * Called once to create the executor that is then used for all checks.
+   * @return an executor with the given number of threads
    */
   protected ExecutorService getExecutorService(int threads) {
-    return Executors.newFixedThreadPool(threads);
+    return new ForkJoinPool(threads);
+  }
+
+  private synchronized ExecutorService getExecutorService() {
+    if (executorService == null) {
+      executorService = getExecutorService(getThreadPoolSize());
+      isOwnExecutorService = true;
+    }
+    return executorService;
   }
   
+  @Override
+  protected List<AnalyzedSentence> analyzeSentences(final List<String> sentences) throws IOException {
+    if (sentences.size() < 2 || isVerbose()) {
+      // also keeps the verbose output in order
+      return super.analyzeSentences(sentences);
+    }
+    // the first sentence is analyzed here so that the tagger, chunker, and
+    // disambiguator get initialized before they are used by several threads:
+    final AnalyzedSentence firstSentence = analyzeSentence(sentences.get(0), false);
+    final int blockCount = getThreadPoolSize() * ANALYSIS_BLOCKS_PER_THREAD;
+    final int blockSize = Math.max(1, (sentences.size() - 1 + blockCount - 1) / blockCount);
+    final List<Future<List<AnalyzedSentence>>> blocks = new ArrayList<>();
+    for (int i = 1; i < sentences.size(); i += blockSize) {
+      final int toSentence = Math.min(i + blockSize, sentences.size());
+      blocks.add(getExecutorService().submit(new SentenceAnalysisCallable(sentences, i, toSentence)));
+    }
+    return new AnalyzedSentenceList(firstSentence, blocks, blockSize, sentences.size());
+  }
+
   @Override
   protected List<RuleMatch> performCheck(final List<AnalyzedSentence> analyzedSentences, final List<String> sentences,
        final List<Rule> allRules, final ParagraphHandling paraMode, 
        final AnnotatedText annotatedText) throws IOException {
-    int charCount = 0;
-    int lineCount = 0;
-    int columnCount = 1;
-
     final List<RuleMatch> ruleMatches = new ArrayList<>();
-    final int threads = getThreadPoolSize();
-    
-    final ExecutorService executorService = getExecutorService(threads);
+    if (sentences.isEmpty()) {
+      return ruleMatches;
+    }
+    final List<SentenceRangeCheckCallable> callables =
+            createTextCheckCallables(paraMode, annotatedText, analyzedSentences, sentences, allRules, getThreadPoolSize());
+    final List<List<RuleMatch>> matchesBySentence = new ArrayList<>(sentences.size());
+    for (int i = 0; i < sentences.size(); i++) {
+      matchesBySentence.add(new ArrayList<RuleMatch>());
+    }
+    List<Future<List<List<RuleMatch>>>> futures = null;
+    boolean completed = false;
     try {
-      final List<Callable<List<RuleMatch>>> callables =
-              createTextCheckCallables(paraMode, annotatedText, analyzedSentences, sentences, allRules, charCount, lineCount, columnCount, threads);
-      final List<Future<List<RuleMatch>>> futures = executorService.invokeAll(callables);
-      for (Future<List<RuleMatch>> future : futures) {
-        ruleMatches.addAll(future.get());
+      futures = getExecutorService().invokeAll(callables);
+      if (analyzedSentences instanceof AnalyzedSentenceList) {
+        // not all sentences are needed by the rules, but the unknown words of all sentences need to be known:
+        ((AnalyzedSentenceList) analyzedSentences).awaitAll();
+      }
+      // callables are ordered by rules, so for each sentence the matches get
+      // collected in the same order as in the single-threaded check:
+      for (int i = 0; i < futures.size(); i++) {
+        final int fromSentence = callables.get(i).fromSentence;
+        final List<List<RuleMatch>> result = futures.get(i).get();
+        for (int j = 0; j < result.size(); j++) {
+          matchesBySentence.get(fromSentence + j).addAll(result.get(j));
+        }
+      }
+      completed = true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof CancellationException) {
+        throw (CancellationException) e.getCause();
       }
-    } catch (InterruptedException | ExecutionException e) {
       throw new RuntimeException(e);
     } finally {
-      executorService.shutdownNow();
+      if (!completed) {
+        // don't keep the shared executor busy with work whose result isn't needed anymore:
+        if (futures != null) {
+          cancelAll(futures);
+        }
+        if (analyzedSentences instanceof AnalyzedSentenceList) {
+          ((AnalyzedSentenceList) analyzedSentences).cancel();
+        }
+      }
+    }
+    // sentences are in order and the filter sorts the matches of each sentence, so there's no need to sort all matches:
+    final RuleMatchFilter filter = new SameRuleGroupFilter();
+    for (List<RuleMatch> sentenceMatches : matchesBySentence) {
+      ruleMatches.addAll(filter.filter(sentenceMatches));
     }
-    
     return ruleMatches;
   }
 
-  private List<Callable<List<RuleMatch>>> createTextCheckCallables(ParagraphHandling paraMode,
-       AnnotatedText annotatedText, List<AnalyzedSentence> analyzedSentences, List<String> sentences, 
-       List<Rule> allRules, int charCount, int lineCount, int columnCount, int threads) {
-    final int totalRules = allRules.size();
-    final int chunkSize = totalRules / threads;
-    int firstItem = 0;
-    final List<Callable<List<RuleMatch>>> callables = new ArrayList<>();
-    
-    // split the rules - all rules are independent, so it makes more sense to split
-    // the rules than to split the text:
-    for (int i = 0; i < threads; i++) {
-      final List<Rule> subRules;
-      if (i == threads - 1) {
-        // make sure the last rules are not lost due to rounding issues:
-        subRules = allRules.subList(firstItem, totalRules);
+  private List<SentenceRangeCheckCallable> createTextCheckCallables(ParagraphHandling paraMode,
+       AnnotatedText annotatedText, List<AnalyzedSentence> analyzedSentences, List<String> sentences,
+       List<Rule> allRules, int threads) {
+    final SentencePositions positions = new SentencePositions(sentences);
+    final int sentenceBlockSize = (sentences.size() + threads - 1) / threads;
+    final List<SentenceRangeCheckCallable> callables = new ArrayList<>();
+    int firstRule = 0;
+    while (firstRule < allRules.size()) {
+      final boolean splittable = isSentenceIndependent(allRules.get(firstRule));
+      int lastRule = firstRule + 1;
+      while (lastRule < allRules.size() && isSentenceIndependent(allRules.get(lastRule)) == splittable) {
+        lastRule++;
+      }
+      if (splittable) {
+        final int ruleBlockSize = (lastRule - firstRule + threads - 1) / threads;
+        for (int i = firstRule; i < lastRule; i += ruleBlockSize) {
+          final List<Rule> ruleBlock = allRules.subList(i, Math.min(i + ruleBlockSize, lastRule));
+          for (int j = 0; j < sentences.size(); j += sentenceBlockSize) {
+            callables.add(new SentenceRangeCheckCallable(ruleBlock, sentences, analyzedSentences, positions,
+                    j, Math.min(j + sentenceBlockSize, sentences.size()), paraMode, annotatedText));
+          }
+        }
       } else {
-        subRules = allRules.subList(firstItem, firstItem + chunkSize);
+        // these rules may keep state between sentences, so each one needs to see the sentences in order:
+        for (int i = firstRule; i < lastRule; i++) {
+          callables.add(new SentenceRangeCheckCallable(allRules.subList(i, i + 1), sentences, analyzedSentences, positions,
+                  0, sentences.size(), paraMode, annotatedText));
+        }
       }
-      callables.add(new TextCheckCallable(subRules, sentences, analyzedSentences, paraMode, annotatedText, charCount, lineCount, columnCount));
-      firstItem = firstItem + chunkSize;
+      firstRule = lastRule;
     }
     return callables;
   }
+
+  // tasks that are already running are not interrupted, as they may be loading shared resources:
+  private static void cancelAll(List<? extends Future<?>> futures) {
+    for (Future<?> future : futures) {
+      future.cancel(false);
+    }
+  }
+
+  private boolean isSentenceIndependent(Rule rule) {
+    return rule instanceof PatternRule && !rule.isParagraphBackTrack() || rule instanceof SpellingCheckRule;
+  }
+
+  /**
+   * Analyzes the sentences {@code fromSentence} (inclusive) to {@code toSentence} (exclusive).
+   */
+  private class SentenceAnalysisCallable implements Callable<List<AnalyzedSentence>> {
+
+    private final List<String> sentences;
+    private final int fromSentence;
+    private final int toSentence;
+
+    SentenceAnalysisCallable(List<String> sentences, int fromSentence, int toSentence) {
+      this.sentences = sentences;
+      this.fromSentence = fromSentence;
+      this.toSentence = toSentence;
+    }
+
+    @Override
+    public List<AnalyzedSentence> call() throws Exception {
+      final List<AnalyzedSentence> result = new ArrayList<>(toSentence - fromSentence);
+      for (int i = fromSentence; i < toSentence; i++) {
+        result.add(analyzeSentence(sentences.get(i), i == sentences.size() - 1));
+      }
+      return result;
+    }
+  }
+
+  /**
+   * The analyzed sentences of a text while they are still being analyzed. Getting
+   * a sentence waits until the block that contains it has been analyzed.
+   */
+  private static class AnalyzedSentenceList extends AbstractList<AnalyzedSentence> {
+
+    private final AnalyzedSentence firstSentence;
+    private final List<Future<List<AnalyzedSentence>>> blocks;
+    private final int blockSize;
+    private final int size;
+
+    AnalyzedSentenceList(AnalyzedSentence firstSentence, List<Future<List<AnalyzedSentence>>> blocks, int blockSize, int size) {
+      this.firstSentence = firstSentence;
+      this.blocks = blocks;
+      this.blockSize = blockSize;
+      this.size = size;
+    }
+
+    @Override
+    public AnalyzedSentence get(int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+      }
+      if (index == 0) {
+        return firstSentence;
+      }
+      try {
+        return getBlock((index - 1) / blockSize).get((index - 1) % blockSize);
+      } catch (IOException e) {
+        throw new RuntimeException("Could not analyze sentence " + index, e);
+      }
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    void cancel() {
+      cancelAll(blocks);
+    }
+
+    void awaitAll() throws IOException {
+      for (int i = 0; i < blocks.size(); i++) {
+        getBlock(i);
+      }
+    }
+
+    private List<AnalyzedSentence> getBlock(int blockIndex) throws IOException {
+      try {
+        return blocks.get(blockIndex).get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
+        }
+        if (e.getCause() instanceof CancellationException) {
+          throw (CancellationException) e.getCause();
+        }
+        throw new RuntimeException(e.getCause());
+      }
+    }
+  }
+
+  /**
+   * The character, line, and column position at which each sentence starts.
+   */
+  private class SentencePositions {
+
+    private final int[] charCounts;
+    private final int[] lineCounts;
+    private final int[] columnCounts;
+
+    SentencePositions(List<String> sentences) {
+      charCounts = new int[sentences.size()];
+      lineCounts = new int[sentences.size()];
+      columnCounts = new int[sentences.size()];
+      int charCount = 0;
+      int lineCount = 0;
+      int columnCount = 1;
+      for (int i = 0; i < sentences.size(); i++) {
+        final String sentence = sentences.get(i);
+        charCounts[i] = charCount;
+        lineCounts[i] = lineCount;
+        columnCounts[i] = columnCount;
+        charCount += sentence.length();
+        lineCount += countLineBreaks(sentence);
+        columnCount = getNextColumnCount(sentence, columnCount);
+      }
+    }
+  }
+
+  /**
+   * Checks the sentences {@code fromSentence} (inclusive) to {@code toSentence} (exclusive)
+   * and returns the unfiltered matches per sentence.
+   */
+  private class SentenceRangeCheckCallable implements Callable<List<List<RuleMatch>>> {
+
+    private final List<Rule> rules;
+    private final List<String> sentences;
+    private final List<AnalyzedSentence> analyzedSentences;
+    private final SentencePositions positions;
+    private final int fromSentence;
+    private final int toSentence;
+    private final ParagraphHandling paraMode;
+    private final AnnotatedText annotatedText;
+
+    SentenceRangeCheckCallable(List<Rule> rules, List<String> sentences, List<AnalyzedSentence> analyzedSentences,
+                               SentencePositions positions, int fromSentence, int toSentence,
+                               ParagraphHandling paraMode, AnnotatedText annotatedText) {
+      this.rules = rules;
+      this.sentences = sentences;
+      this.analyzedSentences = analyzedSentences;
+      this.positions = positions;
+      this.fromSentence = fromSentence;
+      this.toSentence = toSentence;
+      this.paraMode = paraMode;
+      this.annotatedText = annotatedText;
+    }
+
+    @Override
+    public List<List<RuleMatch>> call() throws Exception {
+      final List<List<RuleMatch>> result = new ArrayList<>(toSentence - fromSentence);
+      for (int i = fromSentence; i < toSentence; i++) {
+        result.add(getUnfilteredSentenceMatches(paraMode, rules, positions.charCounts[i], positions.lineCounts[i],
+                positions.columnCounts[i], sentences.get(i), analyzedSentences.get(i), annotatedText));
+      }
+      return result;
+    }
+  }
+
 }
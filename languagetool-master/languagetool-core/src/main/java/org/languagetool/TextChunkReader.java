@@ -0,0 +1,97 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads a text in chunks that end at a paragraph boundary, so that
+ * each chunk can be checked on its own.
+ *
+ * @since 2.4
+ */
+class TextChunkReader {
+
+  private final Reader reader;
+  private final boolean singleLineBreakMarksParagraph;
+  private final int minChunkSize;
+  private final int maxChunkSize;
+
+  private boolean atParagraphEnd = true;
+
+  /**
+   * @param singleLineBreakMarksParagraph if false, two line breaks are needed to end a paragraph
+   * @param minChunkSize chunks contain paragraphs until they are at least this long
+   * @param maxChunkSize chunks are cut at this length, even if the paragraph continues
+   */
+  TextChunkReader(Reader reader, boolean singleLineBreakMarksParagraph, int minChunkSize, int maxChunkSize) {
+    if (minChunkSize <= 0 || maxChunkSize < minChunkSize) {
+      throw new IllegalArgumentException("Invalid chunk sizes: " + minChunkSize + ", " + maxChunkSize);
+    }
+    // we read one character at a time:
+    this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+    this.singleLineBreakMarksParagraph = singleLineBreakMarksParagraph;
+    this.minChunkSize = minChunkSize;
+    this.maxChunkSize = maxChunkSize;
+  }
+
+  /**
+   * @return the next chunk of the text, or {@code null} at the end of the text
+   */
+  String readChunk() throws IOException {
+    final StringBuilder sb = new StringBuilder();
+    int c;
+    while ((c = reader.read()) != -1) {
+      sb.append((char) c);
+      if (c == '\n' && sb.length() >= minChunkSize && isParagraphEnd(sb)) {
+        atParagraphEnd = true;
+        return sb.toString();
+      }
+      if (sb.length() >= maxChunkSize) {
+        atParagraphEnd = false;
+        return sb.toString();
+      }
+    }
+    atParagraphEnd = true;
+    return sb.length() > 0 ? sb.toString() : null;
+  }
+
+  /**
+   * Whether the chunk returned by the last call of {@link #readChunk()} ends at a
+   * paragraph boundary or at the end of the text. If not, its last sentence may be incomplete.
+   */
+  boolean isAtParagraphEnd() {
+    return atParagraphEnd;
+  }
+
+  // sb is known to end with '\n'
+  private boolean isParagraphEnd(StringBuilder sb) {
+    if (singleLineBreakMarksParagraph) {
+      return true;
+    }
+    int i = sb.length() - 2;
+    if (i >= 0 && sb.charAt(i) == '\r') {
+      i--;
+    }
+    return i >= 0 && sb.charAt(i) == '\n';
+  }
+
+}
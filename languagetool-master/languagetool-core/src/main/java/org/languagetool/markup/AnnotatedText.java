@@ -20,8 +20,8 @@ package org.languagetool.markup;
 
 import org.apache.commons.lang.StringUtils;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -33,21 +33,25 @@ import java.util.Objects;
 public class AnnotatedText {
 
   private final List<TextPart> parts;
-  private final Map<Integer,Integer> mapping;  // plain text position to original text (with markup) position
+  private final String plainText;
+  // plain text position to original text (with markup) position: the plain text positions
+  // are sorted, a position between two of them is mapped relative to the lower one:
+  private final int[] plainTextPositions;
+  private final int[] originalTextPositions;
 
-  AnnotatedText(List<TextPart> parts, Map<Integer,Integer> mapping) {
+  AnnotatedText(List<TextPart> parts, String plainText, int[] plainTextPositions, int[] originalTextPositions) {
     this.parts = Objects.requireNonNull(parts);
-    this.mapping = Objects.requireNonNull(mapping);
+    this.plainText = Objects.requireNonNull(plainText);
+    this.plainTextPositions = Objects.requireNonNull(plainTextPositions);
+    this.originalTextPositions = Objects.requireNonNull(originalTextPositions);
+    if (plainTextPositions.length != originalTextPositions.length) {
+      throw new IllegalArgumentException("Position arrays must have the same length: "
+              + plainTextPositions.length + " != " + originalTextPositions.length);
+    }
   }
 
   public String getPlainText() {
-    StringBuilder sb = new StringBuilder();
-    for (TextPart part : parts) {
-      if (part.getType() == TextPart.Type.TEXT) {
-        sb.append(part.getPart());
-      }
-    }
-    return sb.toString();
+    return plainText;
   }
 
   /**
@@ -60,29 +64,18 @@ public class AnnotatedText {
     if (plainTextPosition < 0) {
       throw new RuntimeException("plainTextPosition must be >= 0: " + plainTextPosition);
     }
-    final Integer origPosition = mapping.get(plainTextPosition);
-    if (origPosition != null) {
-      return origPosition;
+    final int index = Arrays.binarySearch(plainTextPositions, plainTextPosition);
+    if (index >= 0) {
+      return originalTextPositions[index];
     }
-    int minDiff = Integer.MAX_VALUE;
-    Integer bestMatch = null;
     // algorithm: find the closest lower position
-    for (Map.Entry<Integer, Integer> entry : mapping.entrySet()) {
-      int maybeClosePosition = entry.getKey();
-      if (plainTextPosition > maybeClosePosition) {
-        int diff = plainTextPosition - maybeClosePosition;
-        if (diff >= 0 && diff < minDiff) {
-          bestMatch = entry.getValue();
-          minDiff = diff;
-        }
-      }
-    }
-    if (bestMatch == null) {
+    final int lowerIndex = -index - 2;
+    if (lowerIndex < 0) {
       throw new RuntimeException("Could not map " + plainTextPosition + " to original position");
     }
     // we assume that when we have found the closest match there's a one-to-one mapping
-    // in this region, thus we can add 'minDiff' to get the exact position:
-    return bestMatch + minDiff;
+    // in this region, thus we can add the difference to get the exact position:
+    return originalTextPositions[lowerIndex] + plainTextPosition - plainTextPositions[lowerIndex];
   }
 
   @Override
@@ -19,9 +19,8 @@
 package org.languagetool.markup;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Use this builder to create input of text with markup for LanguageTool, so that it
@@ -78,18 +77,35 @@ public class AnnotatedTextBuilder {
   public AnnotatedText build() {
     int plainTextPosition = 0;
     int totalPosition = 0;
-    Map<Integer,Integer> mapping = new HashMap<>();
-    mapping.put(0, 0);
+    final StringBuilder plainText = new StringBuilder();
+    // there's at most one mapping per part, plus the one for the start of the text:
+    final int[] plainTextPositions = new int[parts.size() + 1];
+    final int[] originalTextPositions = new int[parts.size() + 1];
+    int size = 1;
     for (TextPart part : parts) {
       if (part.getType().equals(TextPart.Type.TEXT)) {
+        plainText.append(part.getPart());
         plainTextPosition += part.getPart().length();
         totalPosition += part.getPart().length();
       } else if (part.getType().equals(TextPart.Type.MARKUP)) {
         totalPosition += part.getPart().length();
       }
-      mapping.put(plainTextPosition, totalPosition);
+      final int last = size - 1;
+      if (totalPosition - plainTextPosition == originalTextPositions[last] - plainTextPositions[last]) {
+        // the position can be computed from the previous mapping, no need to store it
+        continue;
+      }
+      if (plainTextPosition == plainTextPositions[last]) {
+        // markup directly after markup - the position after the last markup is the one we need
+        originalTextPositions[last] = totalPosition;
+      } else {
+        plainTextPositions[size] = plainTextPosition;
+        originalTextPositions[size] = totalPosition;
+        size++;
+      }
     }
-    return new AnnotatedText(parts, mapping);
+    return new AnnotatedText(new ArrayList<>(parts), plainText.toString(),
+            Arrays.copyOf(plainTextPositions, size), Arrays.copyOf(originalTextPositions, size));
   }
   
 }
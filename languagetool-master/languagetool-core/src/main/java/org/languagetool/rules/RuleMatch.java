@@ -34,6 +34,17 @@ import org.languagetool.tools.StringTools;
  */
 public class RuleMatch implements Comparable<RuleMatch> {
 
+  /**
+   * Computes the suggested replacements of a match, see {@link #setLazySuggestedReplacements(SuggestionsProvider)}.
+   * @since 2.4
+   */
+  public interface SuggestionsProvider {
+    /**
+     * @return the suggested replacements, may be empty but not null
+     */
+    List<String> getSuggestions();
+  }
+
   private static final Pattern SUGGESTION_PATTERN = Pattern.compile("<suggestion>(.*?)</suggestion>");
 
   private int fromLine = -1;
@@ -49,6 +60,7 @@ public class RuleMatch implements Comparable<RuleMatch> {
   private final String shortMessage;   // for OOo/LO context menu
 
   private List<String> suggestedReplacements = new ArrayList<>();
+  private SuggestionsProvider suggestionsProvider;
 
   /**
    * Creates a RuleMatch object, taking the rule that triggered
@@ -223,6 +235,37 @@ public class RuleMatch implements Comparable<RuleMatch> {
    */
   public void setSuggestedReplacements(final List<String> replacements) {
     this.suggestedReplacements = Objects.requireNonNull(replacements, "replacements may be empty but not null");
+    this.suggestionsProvider = null;
+  }
+
+  /**
+   * Set a provider that computes the suggested replacements only when {@link #getSuggestedReplacements()}
+   * is called for the first time. Use this if computing the suggestions is expensive, as many
+   * users of LanguageTool don't need the suggestions of all matches. The provider is called
+   * in the thread that asks for the suggestions.
+   * @since 2.4
+   */
+  public void setLazySuggestedReplacements(final SuggestionsProvider provider) {
+    this.suggestionsProvider = Objects.requireNonNull(provider, "provider must not be null");
+  }
+
+  /**
+   * Use the suggested replacements of another match, e.g. a copy of this match at another position.
+   * If the other match's suggestions are computed lazily, they are computed only when they are
+   * needed by one of the two matches.
+   * @since 2.4
+   */
+  public void setSuggestedReplacementsFrom(final RuleMatch match) {
+    if (match.suggestionsProvider == null) {
+      setSuggestedReplacements(match.suggestedReplacements);
+    } else {
+      setLazySuggestedReplacements(new SuggestionsProvider() {
+        @Override
+        public List<String> getSuggestions() {
+          return match.getSuggestedReplacements();
+        }
+      });
+    }
   }
 
   /**
@@ -232,6 +275,11 @@ public class RuleMatch implements Comparable<RuleMatch> {
    * @return List of String objects or an empty List
    */
   public List<String> getSuggestedReplacements() {
+    if (suggestionsProvider != null) {
+      final List<String> suggestions = suggestionsProvider.getSuggestions();
+      suggestedReplacements = suggestions != null ? new ArrayList<>(suggestions) : new ArrayList<String>();
+      suggestionsProvider = null;
+    }
     return suggestedReplacements;
   }
 
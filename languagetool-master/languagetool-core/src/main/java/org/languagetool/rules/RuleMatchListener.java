@@ -0,0 +1,41 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Gets the matches of a text that is checked part by part, see
+ * {@link org.languagetool.JLanguageTool#check(java.io.Reader, RuleMatchListener)}.
+ *
+ * @since 2.4
+ */
+public interface RuleMatchListener {
+
+  /**
+   * Called for each checked part of the text, in the order of the text.
+   * @param text the part of the text that has been checked
+   * @param textOffset the position of {@code text} in the complete text
+   * @param ruleMatches the matches found in {@code text}, sorted by position. All their positions
+   *                    refer to the complete text, i.e. {@code textOffset} has already been added.
+   */
+  void matchesFound(String text, long textOffset, List<RuleMatch> ruleMatches) throws IOException;
+
+}
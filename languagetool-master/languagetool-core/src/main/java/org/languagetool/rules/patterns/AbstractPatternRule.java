@@ -54,6 +54,9 @@ public abstract class AbstractPatternRule extends Rule {
 
   private boolean groupsOrUnification;
 
+  /** Created on first use, as the elements may still be modified after the constructor has run. */
+  private volatile RequiredTokenSet requiredTokens;
+
   public AbstractPatternRule(final String id, 
       final String description,
       final Language language,
@@ -176,4 +179,18 @@ public abstract class AbstractPatternRule extends Rule {
   public List<Element> getPatternElements() {
     return patternElements;
   }
+
+  /**
+   * Whether this rule might match the sentence. Returns false if the sentence lacks a
+   * token that every match of the rule needs, which is much faster to find out than
+   * running the rule.
+   * @since 2.4
+   */
+  public final boolean canMatch(final AnalyzedSentence sentence) {
+    if (requiredTokens == null) {
+      requiredTokens = RequiredTokenSet.create(patternElements);
+    }
+    return requiredTokens.canMatch(sentence);
+  }
+
 }
@@ -0,0 +1,188 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.patterns;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.xml.sax.SAXException;
+
+/**
+ * The pattern rules and false friend rules of a language, loaded from XML only once
+ * and then shared by all {@link JLanguageTool} instances of that language.
+ *
+ * <p><b>Thread-safety:</b> this class is thread-safe. The rules it returns must be considered
+ * immutable: they are used by several threads at the same time, so don't call any of their
+ * setters. {@link PatternRule#match(org.languagetool.AnalyzedSentence)} keeps all its state,
+ * including the {@link Unifier}, local to the call. Rules that keep state between
+ * sentences (see {@link org.languagetool.rules.Rule#isParagraphBackTrack()}) cannot be shared.</p>
+ *
+ * @since 2.4
+ */
+public final class CompiledRuleSet {
+
+  private static final ConcurrentMap<String, CompiledRuleSet> ruleSets = new ConcurrentHashMap<>();
+
+  private final ConcurrentMap<String, List<PatternRule>> falseFriendRules = new ConcurrentHashMap<>();
+  private final Language language;
+  private final List<PatternRule> patternRules;
+
+  private CompiledRuleSet(Language language, List<PatternRule> patternRules) {
+    this.language = language;
+    this.patternRules = Collections.unmodifiableList(patternRules);
+  }
+
+  /**
+   * Get the rule set for the given language, loading its rules
+   * from {@link Language#getRuleFileNames()} on first use.
+   */
+  public static CompiledRuleSet getInstance(Language language) throws IOException {
+    final String key = getKey(language);
+    final CompiledRuleSet ruleSet = ruleSets.get(key);
+    if (ruleSet != null) {
+      return ruleSet;
+    }
+    synchronized (ruleSets) {
+      CompiledRuleSet newRuleSet = ruleSets.get(key);
+      if (newRuleSet == null) {
+        newRuleSet = new CompiledRuleSet(language, loadPatternRules(language));
+        ruleSets.put(key, newRuleSet);
+      }
+      return newRuleSet;
+    }
+  }
+
+  /**
+   * Remove all loaded rule sets, so that rules get loaded again on next use.
+   * Useful if the rule files have been modified.
+   */
+  public static void clearCache() {
+    ruleSets.clear();
+  }
+
+  // the rule files depend on the data broker, so they are part of the key:
+  private static String getKey(Language language) {
+    return language.getClass().getName() + language.getRuleFileNames();
+  }
+
+  private static List<PatternRule> loadPatternRules(Language language) throws IOException {
+    final List<PatternRule> patternRules = new ArrayList<>();
+    for (String patternRuleFileName : language.getRuleFileNames()) {
+      final PatternRuleLoader ruleLoader = new PatternRuleLoader();
+      final InputStream is = JLanguageTool.class.getResourceAsStream(patternRuleFileName);
+      if (is == null) {
+        // happens for external rules plugged in as an XML file:
+        patternRules.addAll(ruleLoader.getRules(new File(patternRuleFileName)));
+      } else {
+        try {
+          patternRules.addAll(ruleLoader.getRules(is, patternRuleFileName));
+        } finally {
+          is.close();
+        }
+      }
+    }
+    final List<String> enabledRules = language.getDefaultEnabledRulesForVariant();
+    final List<String> disabledRules = language.getDefaultDisabledRulesForVariant();
+    for (PatternRule patternRule : patternRules) {
+      if (enabledRules.contains(patternRule.getId())) {
+        patternRule.setDefaultOn();
+      }
+      if (disabledRules.contains(patternRule.getId())) {
+        patternRule.setDefaultOff();
+      }
+      ensureShareable(patternRule);
+    }
+    return patternRules;
+  }
+
+  private static void ensureShareable(PatternRule rule) {
+    if (rule.isParagraphBackTrack()) {
+      throw new IllegalStateException("Rule " + rule.getId() + " keeps state between sentences and cannot be shared");
+    }
+  }
+
+  public Language getLanguage() {
+    return language;
+  }
+
+  /**
+   * The rules from {@code grammar.xml} of this language and its variant,
+   * with the variant's default on/off settings applied. The list cannot be modified.
+   */
+  public List<PatternRule> getPatternRules() {
+    return patternRules;
+  }
+
+  /**
+   * The false friend rules for speakers of the given mother tongue, loaded
+   * from {@link JLanguageTool#FALSE_FRIEND_FILE} on first use. The list cannot be modified.
+   * @param motherTongue the user's mother tongue or {@code null}, which returns an empty list
+   */
+  public List<PatternRule> getFalseFriendRules(Language motherTongue) throws IOException {
+    if (motherTongue == null) {
+      return Collections.emptyList();
+    }
+    final String key = motherTongue.getClass().getName();
+    final List<PatternRule> rules = falseFriendRules.get(key);
+    if (rules != null) {
+      return rules;
+    }
+    synchronized (falseFriendRules) {
+      List<PatternRule> newRules = falseFriendRules.get(key);
+      if (newRules == null) {
+        newRules = Collections.unmodifiableList(loadFalseFriendRules(motherTongue));
+        falseFriendRules.put(key, newRules);
+      }
+      return newRules;
+    }
+  }
+
+  private List<PatternRule> loadFalseFriendRules(Language motherTongue) throws IOException {
+    final String filename = JLanguageTool.getDataBroker().getRulesDir() + "/" + JLanguageTool.FALSE_FRIEND_FILE;
+    final FalseFriendRuleLoader ruleLoader = new FalseFriendRuleLoader();
+    final List<PatternRule> rules;
+    final InputStream is = JLanguageTool.class.getResourceAsStream(filename);
+    if (is == null) {
+      rules = ruleLoader.getRules(new File(filename), language, motherTongue);
+    } else {
+      try {
+        rules = ruleLoader.getRules(is, language, motherTongue);
+      } catch (ParserConfigurationException | SAXException e) {
+        throw new IOException("Could not load false friend rules from " + filename, e);
+      } finally {
+        is.close();
+      }
+    }
+    for (PatternRule rule : rules) {
+      ensureShareable(rule);
+    }
+    return rules;
+  }
+
+}
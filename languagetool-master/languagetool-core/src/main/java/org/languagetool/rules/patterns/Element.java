@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -30,6 +31,8 @@ import org.languagetool.AnalyzedTokenReadings;
 import org.languagetool.JLanguageTool;
 import org.languagetool.chunking.ChunkTag;
 import org.languagetool.synthesis.Synthesizer;
+import org.languagetool.tagging.PosTagTable;
+import org.languagetool.tools.RegexTools;
 import org.languagetool.tools.StringTools;
 
 /**
@@ -43,7 +46,7 @@ public class Element implements Cloneable {
   public static final String UNKNOWN_TAG = "UNKNOWN";
 
   /** Parameter passed to regular expression matcher to enable case insensitive Unicode matching. */
-  private static final String CASE_INSENSITIVE = "(?iu)";
+  private static final int CASE_INSENSITIVE = Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
 
   private final boolean caseSensitive;
   private final boolean stringRegExp;
@@ -84,6 +87,12 @@ public class Element implements Cloneable {
 
   private Pattern p;
   private Pattern pPos;
+  // used instead of p and pPos if the regular expressions are just lists of strings:
+  private Set<String> stringAlternatives;
+  private Set<String> posAlternatives;
+  // the result of matching pPos, by the id of the POS tag in posTagTable:
+  private PosTagMatches posTagMatches;
+  private PosTagTable posTagTable;
 
   /** The reference to another element in the pattern. **/
   private Match tokenReference;
@@ -331,14 +340,27 @@ public class Element implements Cloneable {
     this.posNegation = negation;
     posRegExp = regExp;
     if (posRegExp) {
-      pPos = Pattern.compile(posToken);
+      pPos = RegexTools.compile(posToken);
+      posAlternatives = RegexTools.getCachedLiteralAlternatives(posToken, 0);
+      posTagMatches = posAlternatives == null ? new PosTagMatches() : null;
       final Matcher mPos = pPos.matcher(UNKNOWN_TAG);
       posUnknown = mPos.matches();        
     } else {
+      posTagMatches = null;
       posUnknown = UNKNOWN_TAG.equals(posToken); 
     }
   }
 
+  /**
+   * Set the table of the POS tags of the rule's language. Without a table, a POS regular
+   * expression is matched against each token's tag, with a table the result is remembered
+   * for each tag.
+   * @since 2.4
+   */
+  public final void setPosTagTable(final PosTagTable posTagTable) {
+    this.posTagTable = posTagTable;
+  }
+
   /**
    * @since 2.3
    */
@@ -353,13 +375,13 @@ public class Element implements Cloneable {
   public final void setStringElement(final String token) {
     stringToken = token;
     testString = !StringTools.isEmpty(stringToken);
+    stringAlternatives = null;
     if (testString && stringRegExp) {
-      String regToken = stringToken;
-      if (!caseSensitive) {
-        regToken = CASE_INSENSITIVE + stringToken;
-      }
       if (!"\\0".equals(token)) {
-        p = Pattern.compile(regToken);
+        // this is called for each match of an element that refers to another token, so use the cache:
+        final int flags = caseSensitive ? 0 : CASE_INSENSITIVE;
+        p = RegexTools.compile(stringToken, flags);
+        stringAlternatives = RegexTools.getCachedLiteralAlternatives(stringToken, flags);
       }
     }
   }
@@ -383,6 +405,7 @@ public class Element implements Cloneable {
       final String posToken, final boolean posRegExp, final boolean posNegation) {
 
     final Element exception = new Element(token, caseSensitive, regExp, inflected);
+    exception.setPosTagTable(posTagTable);
     exception.setNegation(negation);
     exception.setPosElement(posToken, posRegExp, posNegation);
     exception.exceptionValidNext = scopeNext;
@@ -427,8 +450,11 @@ public class Element implements Cloneable {
     }
     boolean match;
     if (posRegExp) {
-      final Matcher mPos = pPos.matcher(token.getPOSTag());
-      match = mPos.matches();
+      if (posAlternatives != null) {
+        match = posAlternatives.contains(token.getPOSTag());
+      } else {
+        match = isPosRegExpMatched(token);
+      }
     } else {
       match = posToken.equals(token.getPOSTag());
     }
@@ -438,6 +464,24 @@ public class Element implements Cloneable {
     return match;
   }
 
+  // the tagset is small, so each tag needs to be matched against the regex only once:
+  private boolean isPosRegExpMatched(final AnalyzedToken token) {
+    if (posTagTable == null) {
+      return pPos.matcher(token.getPOSTag()).matches();
+    }
+    final int tagId = posTagTable.getId(token.getPOSTag());
+    if (tagId == PosTagTable.NO_ID) {
+      return pPos.matcher(token.getPOSTag()).matches();
+    }
+    final int cachedMatch = posTagMatches.get(tagId);
+    if (cachedMatch != PosTagMatches.UNKNOWN) {
+      return cachedMatch == PosTagMatches.MATCH;
+    }
+    final boolean match = pPos.matcher(token.getPOSTag()).matches();
+    posTagMatches.add(tagId, match);
+    return match;
+  }
+
   /**
    * Tests whether the string token element matches a given token.
    * @param token {@link AnalyzedToken} to match against.
@@ -446,6 +490,9 @@ public class Element implements Cloneable {
   boolean isStringTokenMatched(final AnalyzedToken token) {
     final String testToken = getTestToken(token);
     if (stringRegExp) {
+      if (stringAlternatives != null) {
+        return stringAlternatives.contains(caseSensitive ? testToken : StringTools.foldCase(testToken));
+      }
       final Matcher m = p.matcher(testToken);
       return m.matches();
     }
@@ -22,6 +22,7 @@ import java.util.regex.Pattern;
 
 import org.languagetool.AnalyzedTokenReadings;
 import org.languagetool.synthesis.Synthesizer;
+import org.languagetool.tools.RegexTools;
 import org.languagetool.tools.StringTools;
 
 /**
@@ -90,10 +91,10 @@ public class Match {
     this.caseConversionType = caseConversionType;
 
     if (regexMatch != null) {
-      pRegexMatch = Pattern.compile(regexMatch);
+      pRegexMatch = RegexTools.compile(regexMatch);
     }
     if (postagRegexp && posTag != null) {
-      pPosRegexMatch = Pattern.compile(posTag);
+      pPosRegexMatch = RegexTools.compile(posTag);
     }
 
     this.regexReplace = regexReplace;
@@ -153,7 +154,7 @@ public class Match {
       staticLemma = true;
       postagRegexp = true;
       if (posTag != null) {
-        pPosRegexMatch = Pattern.compile(posTag);
+        pPosRegexMatch = RegexTools.compile(posTag);
       }
     }
   }
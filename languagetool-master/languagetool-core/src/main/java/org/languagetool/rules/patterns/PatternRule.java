@@ -188,6 +188,9 @@ public class PatternRule extends AbstractPatternRule {
 
   @Override
   public final RuleMatch[] match(final AnalyzedSentence text) throws IOException {
+    if (!canMatch(text)) {
+      return new RuleMatch[0];
+    }
     try {
       final PatternRuleMatcher matcher = new PatternRuleMatcher(this, useList);
       return matcher.match(text);
@@ -0,0 +1,75 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.patterns;
+
+/**
+ * Remembers which POS tags, identified by their {@link org.languagetool.tagging.PosTagTable} id,
+ * match a POS regular expression. Reading is lock-free, as the bits are replaced, not modified,
+ * when a result is added. Only few results get added, as the number of tags is small.
+ * @since 2.4
+ */
+final class PosTagMatches {
+
+  static final int UNKNOWN = -1;
+  static final int NO_MATCH = 0;
+  static final int MATCH = 1;
+
+  private volatile Bits bits = new Bits(new long[0], new long[0]);
+
+  /**
+   * @return {@link #MATCH}, {@link #NO_MATCH}, or {@link #UNKNOWN} if no result was added for the id
+   */
+  int get(final int tagId) {
+    final Bits current = bits;
+    final int index = tagId >> 6;
+    if (index >= current.known.length) {
+      return UNKNOWN;
+    }
+    final long mask = 1L << tagId;
+    if ((current.known[index] & mask) == 0) {
+      return UNKNOWN;
+    }
+    return (current.matched[index] & mask) != 0 ? MATCH : NO_MATCH;
+  }
+
+  synchronized void add(final int tagId, final boolean match) {
+    final int index = tagId >> 6;
+    final int length = Math.max(bits.known.length, index + 1);
+    final long[] known = new long[length];
+    final long[] matched = new long[length];
+    System.arraycopy(bits.known, 0, known, 0, bits.known.length);
+    System.arraycopy(bits.matched, 0, matched, 0, bits.matched.length);
+    final long mask = 1L << tagId;
+    known[index] |= mask;
+    if (match) {
+      matched[index] |= mask;
+    }
+    bits = new Bits(known, matched);
+  }
+
+  private static final class Bits {
+    private final long[] known;
+    private final long[] matched;
+    private Bits(final long[] known, final long[] matched) {
+      this.known = known;
+      this.matched = matched;
+    }
+  }
+
+}
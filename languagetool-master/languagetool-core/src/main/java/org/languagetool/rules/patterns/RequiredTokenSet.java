@@ -0,0 +1,104 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.patterns;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.tools.RegexTools;
+import org.languagetool.tools.StringTools;
+
+/**
+ * The tokens of which a sentence must contain at least one so that a pattern rule
+ * can match it. They are taken from an element that every match of the rule needs to
+ * match, if the element's token is a plain string or a regular expression that is just a list
+ * of alternative strings like {@code foo|bar}. Checking these tokens is much faster than running the
+ * rule, which for most rules and sentences would not find a match anyway.
+ * @since 2.4
+ */
+final class RequiredTokenSet {
+
+  /** Used for rules without a suitable element: such rules can match any sentence. */
+  static final RequiredTokenSet ANY = new RequiredTokenSet(Collections.<String>emptyList(), false);
+
+  private final List<String> tokens;
+  private final boolean inflected;
+
+  private RequiredTokenSet(List<String> tokens, boolean inflected) {
+    this.tokens = tokens;
+    this.inflected = inflected;
+  }
+
+  /**
+   * Find the required element with the fewest alternatives and use its tokens.
+   */
+  static RequiredTokenSet create(List<Element> elements) {
+    RequiredTokenSet best = ANY;
+    for (Element element : elements) {
+      final List<String> tokens = getRequiredTokens(element);
+      if (tokens != null && (best == ANY || tokens.size() < best.tokens.size())) {
+        best = new RequiredTokenSet(tokens, element.isInflected());
+      }
+    }
+    return best;
+  }
+
+  /**
+   * @return the case-folded strings of which one must match, or {@code null}
+   */
+  private static List<String> getRequiredTokens(Element element) {
+    final String string = element.getString();
+    if (element.getMinOccurrence() < 1 || element.getNegation() || element.isReferenceElement()
+            || element.hasOrGroup() || StringTools.isEmpty(string)) {
+      return null;
+    }
+    if (element.isRegularExpression()) {
+      // always folded, as the sentence's tokens are:
+      final Set<String> alternatives = RegexTools.getLiteralAlternatives(string, false);
+      return alternatives != null ? new ArrayList<>(alternatives) : null;
+    }
+    for (int i = 0; i < string.length(); i++) {
+      if (Character.isSurrogate(string.charAt(i))) {
+        // case-insensitive comparison may work on code points, not on chars like foldCase()
+        return null;
+      }
+    }
+    return Collections.singletonList(StringTools.foldCase(string));
+  }
+
+  /**
+   * @return false if the rule cannot match the sentence, true if it might match
+   */
+  boolean canMatch(AnalyzedSentence sentence) {
+    if (this == ANY) {
+      return true;
+    }
+    final Set<String> sentenceTokens = inflected ? sentence.getLemmaSet() : sentence.getTokenSet();
+    for (String token : tokens) {
+      if (sentenceTokens.contains(token)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
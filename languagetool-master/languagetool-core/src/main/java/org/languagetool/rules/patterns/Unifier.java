@@ -186,9 +186,10 @@ public class Unifier {
                 && equivalencesMatched.get(i).containsKey(feat.getKey())
                 && equivalencesMatched.get(i).get(feat.getKey()).contains(typeName)) {
               final Element testElem = equivalenceTypes.get(new EquivalenceTypeLocator(feat.getKey(), typeName));
-              featUnified = featUnified || testElem.isMatched(aToken);
+              final boolean typeMatched = testElem.isMatched(aToken);
+              featUnified = featUnified || typeMatched;
               //Stores equivalences to be removed and kept
-              if (!testElem.isMatched(aToken)) {
+              if (!typeMatched) {
                 if (!equivalencesToBeRemoved.containsKey(feat.getKey())) {
                   final Set<String> typeSet = new HashSet<>();
                   typeSet.add(typeName);
@@ -404,11 +404,21 @@ public class XMLRuleHandler extends DefaultHandler {
     }
   }
 
+  /**
+   * Create the element for the current token, using the POS tag table of the language if it's known.
+   */
+  protected Element createTokenElement(final String token) {
+    final Element element = new Element(token, caseSensitive, regExpression, tokenInflected);
+    if (language != null) {
+      element.setPosTagTable(language.getPosTagTable());
+    }
+    return element;
+  }
+
   protected void finalizeExceptions() {
     inException = false;
     if (!exceptionSet) {
-      tokenElement = new Element(StringTools.trimWhitespace(elements
-          .toString()), caseSensitive, regExpression, tokenInflected);
+      tokenElement = createTokenElement(StringTools.trimWhitespace(elements.toString()));
       exceptionSet = true;
     }
     tokenElement.setNegation(tokenNegated);
@@ -512,8 +522,7 @@ public class XMLRuleHandler extends DefaultHandler {
 
   protected void finalizeTokens() {
     if (!exceptionSet || tokenElement == null) {
-      tokenElement = new Element(StringTools.trimWhitespace(elements
-          .toString()), caseSensitive, regExpression, tokenInflected);
+      tokenElement = createTokenElement(StringTools.trimWhitespace(elements.toString()));
       tokenElement.setNegation(tokenNegated);
     } else {
       tokenElement.setStringElement(StringTools.trimWhitespace(elements
@@ -21,6 +21,8 @@ package org.languagetool.rules.spelling;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.languagetool.AnalyzedSentence;
 import org.languagetool.AnalyzedTokenReadings;
@@ -51,6 +53,11 @@ public abstract class SpellingCheckRule extends Rule {
   protected final Language language;
 
   private static final String SPELLING_IGNORE_FILE = "/hunspell/ignore.txt";
+  private static final int MAX_CACHED_SUGGESTIONS = 10000;
+
+  // rule id and language -> misspelled word -> suggestions; shared by all instances of a rule,
+  // as e.g. the server creates new rule instances for each request:
+  private static final ConcurrentMap<String, Map<String, List<String>>> suggestionCaches = new ConcurrentHashMap<>();
 
   private final Set<String> wordsToBeIgnored = new HashSet<>();
 
@@ -126,6 +133,63 @@ public abstract class SpellingCheckRule extends Rule {
     return wordsToBeIgnored.contains(word);
   }
 
+  /**
+   * Get the suggestions for a misspelled word from a cache that is shared by all instances
+   * of this rule for the same language. The suggestions that are not in the cache yet are
+   * computed with {@link #computeSuggestions(String)}.
+   * @return an unmodifiable list of suggestions, may be empty but not null
+   * @since 2.4
+   */
+  protected List<String> getCachedSuggestions(String word) throws IOException {
+    final Map<String, List<String>> cache = getSuggestionCache();
+    List<String> suggestions = cache.get(word);
+    if (suggestions == null) {
+      final List<String> computedSuggestions = computeSuggestions(word);
+      suggestions = computedSuggestions != null
+              ? Collections.unmodifiableList(new ArrayList<>(computedSuggestions)) : Collections.<String>emptyList();
+      cache.put(word, suggestions);
+    }
+    return suggestions;
+  }
+
+  /**
+   * Compute the suggestions for a misspelled word, used by {@link #getCachedSuggestions(String)}.
+   * Implementations must only depend on the word and the language, not on any settings of the rule instance.
+   * @return the suggestions, may be empty or null
+   * @since 2.4
+   */
+  protected List<String> computeSuggestions(String word) throws IOException {
+    return Collections.emptyList();
+  }
+
+  /**
+   * Remove all cached results of this rule, i.e. the suggestions that are shared by all instances
+   * of this rule for the same language, so they get computed again.
+   * @since 2.4
+   */
+  public void clearCaches() {
+    getSuggestionCache().clear();
+  }
+
+  private Map<String, List<String>> getSuggestionCache() {
+    final String key = getId() + "/" + language.getShortNameWithCountryAndVariant();
+    Map<String, List<String>> cache = suggestionCaches.get(key);
+    if (cache == null) {
+      // least recently used entries are removed first:
+      cache = Collections.synchronizedMap(new LinkedHashMap<String, List<String>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+          return size() > MAX_CACHED_SUGGESTIONS;
+        }
+      });
+      final Map<String, List<String>> otherCache = suggestionCaches.putIfAbsent(key, cache);
+      if (otherCache != null) {
+        cache = otherCache;
+      }
+    }
+    return cache;
+  }
+
   protected boolean isUrl(String token) {
     for (String protocol : WordTokenizer.getProtocols()) {
       if (token.startsWith(protocol + "://")) {
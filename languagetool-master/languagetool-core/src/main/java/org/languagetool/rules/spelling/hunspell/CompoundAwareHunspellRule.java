@@ -52,9 +52,7 @@ public abstract class CompoundAwareHunspellRule extends HunspellRule {
    */
   @Override
   public List<String> getSuggestions(String word) throws IOException {
-    if (needsInit) {
-      init();
-    }
+    initIfNeeded();
     final List<String> candidates = new ArrayList<>();
     
     final List<String> noSplitSuggestions = morfoSpeller.getSuggestions(word);
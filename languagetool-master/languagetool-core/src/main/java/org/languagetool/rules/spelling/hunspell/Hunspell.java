@@ -6,14 +6,26 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
+import com.sun.jna.Memory;
 import com.sun.jna.Native;
 import com.sun.jna.Pointer;
 import com.sun.jna.ptr.PointerByReference;
@@ -60,7 +72,7 @@ public class Hunspell {
      *
      * @param libDir Optional absolute directory where the native lib can be found. 
      */
-    public static Hunspell getInstance(String libDir) throws UnsatisfiedLinkError, UnsupportedOperationException { 
+    public static synchronized Hunspell getInstance(String libDir) throws UnsatisfiedLinkError, UnsupportedOperationException { 
         if (hunspell != null) {
             return hunspell;
         }
@@ -200,6 +212,33 @@ public class Hunspell {
      */
     private HashMap<String, Dictionary> map = new HashMap<>();
 
+    /**
+     * The maximum number of native handles per dictionary, i.e. the number of
+     * threads that can use a dictionary at the same time.
+     */
+    private static volatile int maxHandlesPerDictionary = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Set how many threads can use a dictionary at the same time. Each of those threads
+     * needs its own native copy of the dictionary, so this costs memory. The copies are
+     * only created when several threads actually use the dictionary at the same time.
+     * The default is the number of available processors.
+     * @since 2.4
+     */
+    public static void setMaxHandlesPerDictionary(int maxHandles) {
+        if (maxHandles < 1) {
+            throw new IllegalArgumentException("maxHandles must be >= 1: " + maxHandles);
+        }
+        maxHandlesPerDictionary = maxHandles;
+    }
+
+    /**
+     * @since 2.4
+     */
+    public static int getMaxHandlesPerDictionary() {
+        return maxHandlesPerDictionary;
+    }
+
     
     private static CharBuffer ensureCapacity(CharBuffer buffer, int capacity) {
         if (buffer == null || buffer.capacity() < capacity) {
@@ -216,7 +255,7 @@ public class Hunspell {
      * and /dict/da_DK.aff get loaded
      * @throws IOException 
      */
-    public Dictionary getDictionary(String baseFileName)
+    public synchronized Dictionary getDictionary(String baseFileName)
             throws IOException {
 
         // TODO: Detect if the dictionary files have changed and reload if they have.
@@ -236,21 +275,64 @@ public class Hunspell {
      * @param baseFileName the base name of the dictionary, as passed to
      * getDictionary()
      */
-    public void destroyDictionary(String baseFileName) {
+    public synchronized void destroyDictionary(String baseFileName) {
         if (map.containsKey(baseFileName)) {
             map.remove(baseFileName);
         }
     }
 
     /**
-     * Class representing a single dictionary.
+     * Class representing a single dictionary. It can be used by several threads:
+     * each native call uses one of the dictionary's native handles, see
+     * {@link Hunspell#setMaxHandlesPerDictionary(int)}.
      */
     public class Dictionary {
+
+        private static final int MAX_CACHE_SIZE = 100000;
+        private static final int ENCODE_BUFFER_SIZE = 256;
+        private static final long HANDLE_WAIT_MILLIS = 100;
+
+        /**
+         * All native handles, i.e. the pointers to the hunspell objects as
+         * returned by the hunspell constructor.
+         */
+        private final List<Pointer> handles = new ArrayList<>();
+
+        /**
+         * The handles that are not in use by a thread at the moment.
+         */
+        private final BlockingQueue<Pointer> freeHandles = new LinkedBlockingQueue<>();
+
+        /**
+         * Set by {@link #destroy()}, so threads waiting for a free handle give up.
+         */
+        private volatile boolean destroyed;
+
+        /**
+         * The words added with {@link #addWord(String)}, so they can be added to new handles, too.
+         */
+        private final List<String> addedWords = new ArrayList<>();
+
+        /**
+         * The results of {@link #misspelled(String)}, least recently used words are removed first.
+         */
+        private final Map<String, Boolean> misspelledCache = Collections.synchronizedMap(
+            new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > MAX_CACHE_SIZE;
+                }
+            });
+
         /**
-         * The pointer to the hunspell object as returned by the hunspell
-         * constructor.
+         * Native memory and an encoder per thread, so that checking a word needs
+         * no new byte array.
          */
-        private Pointer hunspellDict = null;
+        private final ThreadLocal<Memory> encodeBuffers = new ThreadLocal<>();
+        private final ThreadLocal<CharsetEncoder> encoders = new ThreadLocal<>();
+
+        private final File dic;
+        private final File aff;
 
         /**
          * The encoding used by this dictionary
@@ -268,8 +350,8 @@ public class Hunspell {
          * @throws IOException 
          */
         Dictionary(String baseFileName) throws IOException {
-            File dic = new File(baseFileName + ".dic");
-            File aff = new File(baseFileName + ".aff");
+            dic = new File(baseFileName + ".dic");
+            aff = new File(baseFileName + ".aff");
 
             if (!dic.canRead() || !aff.canRead()) {
                 throw new FileNotFoundException("The dictionary files "+
@@ -277,7 +359,9 @@ public class Hunspell {
                         "(.aff|.dic) could not be read");
             }
 
-            hunspellDict = hsl.Hunspell_create(aff.toString(), dic.toString());
+            final Pointer hunspellDict = hsl.Hunspell_create(aff.toString(), dic.toString());
+            handles.add(hunspellDict);
+            freeHandles.add(hunspellDict);
             encoding = hsl.Hunspell_get_dic_encoding(hunspellDict);
 
             //hunspell uses non-standard names of charsets 
@@ -294,12 +378,27 @@ public class Hunspell {
          * Deallocate the dictionary.
          */
         public void destroy() {
-            if (hsl != null && hunspellDict != null) {
-                hsl.Hunspell_destroy(hunspellDict);
-                hunspellDict = null;
+            destroyed = true;
+            if (hsl != null) {
+                synchronized (handles) {
+                    for (Pointer handle : takeAllHandles()) {
+                        hsl.Hunspell_destroy(handle);
+                    }
+                    handles.clear();
+                }
+                misspelledCache.clear();
             }
         }
 
+        /**
+         * Remove all results from the cache of {@link #misspelled(String)}, e.g. to measure
+         * the speed of the native dictionary.
+         * @since 2.4
+         */
+        public void clearCache() {
+            misspelledCache.clear();
+        }
+
         /**
          * Used to query what are word-characters
          * @return A string composed of characters that are parts of words,
@@ -315,15 +414,99 @@ public class Hunspell {
          * @param word The word to check.
          */
         public boolean misspelled(String word) {
+            final Boolean cachedResult = misspelledCache.get(word);
+            if (cachedResult != null) {
+                return cachedResult;
+            }
+            final Pointer handle = acquireHandle();
             try {
-                final byte[] wordAsBytes = stringToBytes(word);
-                if (wordAsBytes.length == 0 && word.length() > 0) {
-                    return true;
+                return misspelled(word, handle);
+            } finally {
+                freeHandles.add(handle);
+            }
+        }
+
+        /**
+         * Check several words, e.g. the words of a sentence, using the same native handle.
+         *
+         * @param words The words to check.
+         * @return for each word, whether it is misspelled
+         * @since 2.4
+         */
+        public boolean[] misspelled(List<String> words) {
+            final boolean[] result = new boolean[words.size()];
+            Pointer handle = null;
+            try {
+                for (int i = 0; i < result.length; i++) {
+                    final String word = words.get(i);
+                    final Boolean cachedResult = misspelledCache.get(word);
+                    if (cachedResult != null) {
+                        result[i] = cachedResult;
+                    } else {
+                        if (handle == null) {
+                            handle = acquireHandle();
+                        }
+                        result[i] = misspelled(word, handle);
+                    }
+                }
+            } finally {
+                if (handle != null) {
+                    freeHandles.add(handle);
+                }
+            }
+            return result;
+        }
+
+        private boolean misspelled(String word, Pointer handle) {
+            boolean result;
+            try {
+                final Memory buffer = getEncodeBuffer();
+                if (encode(word, buffer)) {
+                    result = hsl.Hunspell_spell(handle, buffer) == 0;
+                } else {
+                    result = hsl.Hunspell_spell(handle, stringToBytes(word)) == 0;
                 }
-                return (hsl.Hunspell_spell(hunspellDict, wordAsBytes) == 0);
             } catch (UnsupportedEncodingException e) {
-                return true;
+                result = true;
+            }
+            misspelledCache.put(word, result);
+            return result;
+        }
+
+        private Memory getEncodeBuffer() {
+            Memory buffer = encodeBuffers.get();
+            if (buffer == null) {
+                buffer = new Memory(ENCODE_BUFFER_SIZE);
+                encodeBuffers.set(buffer);
             }
+            return buffer;
+        }
+
+        /**
+         * Encode a word into the given native buffer, zero terminated, in the encoding
+         * of the dictionary, like {@link #stringToBytes(String)} does.
+         * @return false if the word could not be encoded that way, e.g. because it is too long
+         */
+        private boolean encode(String word, Memory buffer) {
+            CharsetEncoder encoder = encoders.get();
+            if (encoder == null) {
+                if (!Charset.isSupported(encoding)) {
+                    return false;
+                }
+                // replace like String.getBytes() does:
+                encoder = Charset.forName(encoding).newEncoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+                encoders.set(encoder);
+            }
+            final ByteBuffer byteBuffer = buffer.getByteBuffer(0, ENCODE_BUFFER_SIZE - 1);
+            encoder.reset();
+            final CoderResult result = encoder.encode(CharBuffer.wrap(word), byteBuffer, true);
+            if (!result.isUnderflow() || !encoder.flush(byteBuffer).isUnderflow()) {
+                return false;
+            }
+            buffer.setByte(byteBuffer.position(), (byte) 0);
+            return true;
         }
 
         /**
@@ -345,6 +528,7 @@ public class Hunspell {
          */
         public List<String> suggest(String word) throws CharacterCodingException {
             List<String> res = new ArrayList<>();
+            final Pointer hunspellDict = acquireHandle();
             try {		
                 int suggestionsCount = 0;
                 PointerByReference suggestions = new PointerByReference();
@@ -353,7 +537,7 @@ public class Hunspell {
                     return res;
                 }
                 suggestionsCount = hsl.Hunspell_suggest(
-                        hunspellDict, suggestions, stringToBytes(word));
+                        hunspellDict, suggestions, wordAsBytes);
                 if (suggestionsCount == 0) {
                     return res;
                 }
@@ -375,7 +559,10 @@ public class Hunspell {
                     }
                 }
 
-            } catch (UnsupportedEncodingException ex) { } // Shouldn't happen...
+            } catch (UnsupportedEncodingException ex) { // Shouldn't happen...
+            } finally {
+                freeHandles.add(hunspellDict);
+            }
 
             return res;
         }
@@ -399,9 +586,88 @@ public class Hunspell {
          * @throws UnsupportedEncodingException
          */
         public void addWord(final String word) throws UnsupportedEncodingException {
-            hsl.Hunspell_add(hunspellDict, stringToBytes(word));
+            final byte[] wordAsBytes = stringToBytes(word);
+            synchronized (handles) {
+                if (addedWords.contains(word)) {
+                    return;  // rules add their words each time they are initialized, keep the cache then
+                }
+                // no other thread may use a handle while the word gets added to it:
+                final List<Pointer> allHandles = takeAllHandles();
+                try {
+                    for (Pointer handle : allHandles) {
+                        hsl.Hunspell_add(handle, wordAsBytes);
+                    }
+                    addedWords.add(word);
+                    misspelledCache.clear();
+                } finally {
+                    freeHandles.addAll(allHandles);
+                }
+            }
         }
-                
+
+        /**
+         * Get a handle that no other thread uses. If all handles are in use, a new handle
+         * is created, unless there are already as many handles as allowed. The handle
+         * must be given back by adding it to {@link #freeHandles}.
+         * @throws IllegalStateException if the dictionary has been destroyed
+         */
+        private Pointer acquireHandle() {
+            if (destroyed) {
+                throw new IllegalStateException("Dictionary " + dic + " has been destroyed");
+            }
+            final Pointer freeHandle = freeHandles.poll();
+            if (freeHandle != null) {
+                return freeHandle;
+            }
+            synchronized (handles) {
+                if (destroyed) {
+                    throw new IllegalStateException("Dictionary " + dic + " has been destroyed");
+                }
+                if (handles.size() < maxHandlesPerDictionary) {
+                    final Pointer handle = hsl.Hunspell_create(aff.toString(), dic.toString());
+                    try {
+                        for (String word : addedWords) {
+                            hsl.Hunspell_add(handle, stringToBytes(word));
+                        }
+                    } catch (UnsupportedEncodingException e) {
+                        throw new RuntimeException(e);  // addWord() has encoded the word already, so this cannot happen
+                    }
+                    handles.add(handle);
+                    return handle;
+                }
+            }
+            try {
+                // destroy() takes all handles, so don't wait for a handle forever:
+                while (true) {
+                    final Pointer handle = freeHandles.poll(HANDLE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                    if (handle != null) {
+                        return handle;  // a running destroy() waits until it has been given back
+                    }
+                    if (destroyed) {
+                        throw new IllegalStateException("Dictionary " + dic + " has been destroyed");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for a Hunspell dictionary handle", e);
+            }
+        }
+
+        // must be called while holding the lock on 'handles':
+        private List<Pointer> takeAllHandles() {
+            final List<Pointer> result = new ArrayList<>();
+            try {
+                while (result.size() < handles.size()) {
+                    result.add(freeHandles.take());
+                }
+            } catch (InterruptedException e) {
+                freeHandles.addAll(result);
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for the Hunspell dictionary handles", e);
+            }
+            return result;
+        }
+
     }
 
 }
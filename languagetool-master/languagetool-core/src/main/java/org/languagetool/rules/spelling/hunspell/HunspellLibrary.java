@@ -37,6 +37,15 @@ public interface HunspellLibrary extends Library {
      */
     public int Hunspell_spell(Pointer pHunspell, byte[] word);
 
+    /**
+     * spell(word) - spellcheck word
+     * @param pHunspell The Hunspell object returned by Hunspell_create
+     * @param word The zero terminated word to spellcheck, in native memory.
+     * @return 0 = bad word, not 0 = good word
+     * @since 2.4
+     */
+    public int Hunspell_spell(Pointer pHunspell, Pointer word);
+
     /**
      * Get the dictionary encoding
      * @param pHunspell : The Hunspell object returned by Hunspell_create
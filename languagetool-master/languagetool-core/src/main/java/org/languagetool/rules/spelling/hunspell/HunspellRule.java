@@ -52,7 +52,7 @@ public class HunspellRule extends SpellingCheckRule {
 
   public static final String RULE_ID = "HUNSPELL_RULE";
 
-  protected boolean needsInit = true;
+  protected volatile boolean needsInit = true;
   protected Hunspell.Dictionary dictionary = null;
   
   private static final String NON_ALPHABETIC = "[^\\p{L}]";
@@ -77,35 +77,53 @@ public class HunspellRule extends SpellingCheckRule {
   @Override
   public RuleMatch[] match(AnalyzedSentence text) throws IOException {
     final List<RuleMatch> ruleMatches = new ArrayList<>();
-    if (needsInit) {
-      init();
-    }
+    initIfNeeded();
     if (dictionary == null) {
       // some languages might not have a dictionary, be silent about it
       return toRuleMatchArray(ruleMatches);
     }
     final String[] tokens = tokenizeText(getSentenceTextWithoutUrls(text));
 
-    // starting with the first token to skip the zero-length START_SENT
-    int len = text.getTokens()[1].getStartPos();
-    for (final String word : tokens) {
+    // the words of the sentence are checked at once, which is faster than checking them one by one:
+    final boolean[] needsCheck = new boolean[tokens.length];
+    final List<String> wordsToCheck = new ArrayList<>();
+    for (int i = 0; i < tokens.length; i++) {
+      final String word = tokens[i];
       if (ignoreWord(word)) {
-        len += word.length() + 1;
         continue;
       }
       boolean isAlphabetic = true;
       if (word.length() == 1) { // hunspell dictionaries usually do not contain punctuation
         isAlphabetic = StringTools.isAlphabetic(word.charAt(0));
       }
-      if (isAlphabetic && !word.equals("--") && dictionary.misspelled(word)) {
+      if (isAlphabetic && !word.equals("--")) {
+        needsCheck[i] = true;
+        wordsToCheck.add(word);
+      }
+    }
+    final boolean[] misspelled = dictionary.misspelled(wordsToCheck);
+
+    // starting with the first token to skip the zero-length START_SENT
+    int len = text.getTokens()[1].getStartPos();
+    int checkedWordIdx = 0;
+    for (int i = 0; i < tokens.length; i++) {
+      final String word = tokens[i];
+      if (needsCheck[i] && misspelled[checkedWordIdx++]) {
         final RuleMatch ruleMatch = new RuleMatch(this,
                 len, len + word.length(),
                 messages.getString("spelling"),
                 messages.getString("desc_spelling_short"));
-        final List<String> suggestions = getSuggestions(word);
-        if (suggestions != null) {
-          ruleMatch.setSuggestedReplacements(suggestions);
-        }
+        // computing suggestions is slow, so only do it for the matches the user looks at:
+        ruleMatch.setLazySuggestedReplacements(new RuleMatch.SuggestionsProvider() {
+          @Override
+          public List<String> getSuggestions() {
+            try {
+              return getCachedSuggestions(word);
+            } catch (IOException e) {
+              throw new RuntimeException("Could not get suggestions for '" + word + "'", e);
+            }
+          }
+        });
         ruleMatches.add(ruleMatch);
       }
       len += word.length() + 1;
@@ -114,13 +132,27 @@ public class HunspellRule extends SpellingCheckRule {
     return toRuleMatchArray(ruleMatches);
   }
 
-  public List<String> getSuggestions(String word) throws IOException {
-    if (needsInit) {
-      init();
+  /**
+   * Also removes the cached spell check results of the dictionary.
+   */
+  @Override
+  public void clearCaches() {
+    super.clearCaches();
+    if (dictionary != null) {
+      dictionary.clearCache();
     }
+  }
+
+  public List<String> getSuggestions(String word) throws IOException {
+    initIfNeeded();
     return dictionary.suggest(word);
   }
 
+  @Override
+  protected List<String> computeSuggestions(String word) throws IOException {
+    return getSuggestions(word);
+  }
+
   protected String[] tokenizeText(final String sentence) {
     return nonWordPattern.split(sentence);
   }
@@ -142,6 +174,19 @@ public class HunspellRule extends SpellingCheckRule {
     return sb.toString();
   }
 
+  /**
+   * Calls {@link #init()} unless that has been done already. The rule may be used by several threads at once.
+   */
+  protected void initIfNeeded() throws IOException {
+    if (needsInit) {
+      synchronized (this) {
+        if (needsInit) {
+          init();
+        }
+      }
+    }
+  }
+
   @Override
   protected void init() throws IOException {
     super.init();
@@ -36,9 +36,13 @@ import java.util.Locale;
  */
 public class MorfologikSpeller {
 
-  private final Speller speller;
+  private final Dictionary dictionary;
+  private final int maxEditDistance;
   private final Locale conversionLocale;
 
+  // the Morfologik speller is not thread-safe, but the dictionary can be shared:
+  private final ThreadLocal<Speller> spellers = new ThreadLocal<>();
+
   /**
    * Creates a speller with the given maximum edit distance.
    * @param filename path in classpath to morfologik dictionary
@@ -49,7 +53,8 @@ public class MorfologikSpeller {
       throw new RuntimeException("maxEditDistance must be > 0: " + maxEditDistance);
     }
     final URL url = JLanguageTool.getDataBroker().getFromResourceDirAsUrl(filename);
-    speller = new Speller(Dictionary.read(url), maxEditDistance);
+    dictionary = Dictionary.read(url);
+    this.maxEditDistance = maxEditDistance;
     this.conversionLocale = conversionLocale != null ? conversionLocale : Locale.getDefault();
   }
 
@@ -70,7 +75,17 @@ public class MorfologikSpeller {
     this(filename, null);
   }
 
+  private Speller getSpeller() {
+    Speller speller = spellers.get();
+    if (speller == null) {
+      speller = new Speller(dictionary, maxEditDistance);
+      spellers.set(speller);
+    }
+    return speller;
+  }
+
   public boolean isMisspelled(String word) {
+    final Speller speller = getSpeller();
     boolean isAlphabetic = true;
     if (word.length() == 1) { // dictionaries usually do not contain punctuation
       isAlphabetic = StringTools.isAlphabetic(word.charAt(0));
@@ -86,6 +101,7 @@ public class MorfologikSpeller {
 
   public List<String> getSuggestions(String word) {
     final List<String> suggestions = new ArrayList<>();
+    final Speller speller = getSpeller();
     try {
       suggestions.addAll(speller.findReplacements(word));
       if (suggestions.isEmpty() && !word.toLowerCase(conversionLocale).equals(word)) {
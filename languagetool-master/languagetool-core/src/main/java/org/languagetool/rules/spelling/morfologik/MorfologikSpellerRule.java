@@ -38,7 +38,7 @@ import org.languagetool.rules.spelling.SpellingCheckRule;
 
 public abstract class MorfologikSpellerRule extends SpellingCheckRule {
 
-  protected MorfologikSpeller speller;
+  protected volatile MorfologikSpeller speller;
   protected Locale conversionLocale;
 
   private boolean ignoreTaggedWords = false;
@@ -81,14 +81,10 @@ public abstract class MorfologikSpellerRule extends SpellingCheckRule {
     final List<RuleMatch> ruleMatches = new ArrayList<>();
     final AnalyzedTokenReadings[] tokens = text.getTokensWithoutWhitespace();
     //lazy init
-    if (speller == null) {
-      if (JLanguageTool.getDataBroker().resourceExists(getFileName())) {
-        speller = new MorfologikSpeller(getFileName(), conversionLocale);
-      } else {
-        // should not happen, as we only configure this rule (or rather its subclasses)
-        // when we have the resources:
-        return toRuleMatchArray(ruleMatches);
-      }
+    if (speller == null && !initSpeller()) {
+      // should not happen, as we only configure this rule (or rather its subclasses)
+      // when we have the resources:
+      return toRuleMatchArray(ruleMatches);
     }
     int idx = -1;
     for (AnalyzedTokenReadings token : tokens) {
@@ -124,6 +120,13 @@ public abstract class MorfologikSpellerRule extends SpellingCheckRule {
     return toRuleMatchArray(ruleMatches);
   }
 
+  // the rule may be used by several threads at once:
+  private synchronized boolean initSpeller() throws IOException {
+    if (speller == null && JLanguageTool.getDataBroker().resourceExists(getFileName())) {
+      speller = new MorfologikSpeller(getFileName(), conversionLocale);
+    }
+    return speller != null;
+  }
 
   protected boolean isMisspelled(MorfologikSpeller speller, String word) {
     return speller.isMisspelled(word);
@@ -142,16 +145,28 @@ public abstract class MorfologikSpellerRule extends SpellingCheckRule {
         ruleMatches.add(ruleMatch);
         return ruleMatches;
       }
-      List<String> suggestions = speller.getSuggestions(word);
-      suggestions = getAdditionalSuggestions(suggestions, word);
-      if (!suggestions.isEmpty()) {
-        ruleMatch.setSuggestedReplacements(orderSuggestions(suggestions,word));
-      }
+      // computing suggestions is slow, so only do it for the matches the user looks at:
+      ruleMatch.setLazySuggestedReplacements(new RuleMatch.SuggestionsProvider() {
+        @Override
+        public List<String> getSuggestions() {
+          try {
+            return getCachedSuggestions(word);
+          } catch (IOException e) {
+            throw new RuntimeException("Could not get suggestions for '" + word + "'", e);
+          }
+        }
+      });
       ruleMatches.add(ruleMatch);
     }
     return ruleMatches;
   }
 
+  @Override
+  protected List<String> computeSuggestions(String word) {
+    final List<String> suggestions = getAdditionalSuggestions(speller.getSuggestions(word), word);
+    return orderSuggestions(suggestions, word);
+  }
+
   /**
    * Get the regular expression pattern used to tokenize
    * the words as in the source dictionary. For example,
@@ -21,8 +21,12 @@ package org.languagetool.synthesis;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.regex.Matcher;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 import morfologik.stemming.Dictionary;
@@ -32,13 +36,27 @@ import morfologik.stemming.WordData;
 
 import org.languagetool.AnalyzedToken;
 import org.languagetool.JLanguageTool;
+import org.languagetool.tools.RegexTools;
 
 public class BaseSynthesizer implements Synthesizer {
 
+  private static final int MAX_CACHE_SIZE = 10000;
+
   protected List<String> possibleTags;
 
   private final String tagFileName;
   private final String resourceFileName;
+  private final ThreadLocal<IStemmer> stemmers = new ThreadLocal<>();
+  // lemma|posTag -> inflected forms, least recently used entries are removed first:
+  private final Map<String, String[]> formCache = Collections.synchronizedMap(
+      new LinkedHashMap<String, String[]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String[]> eldest) {
+          return size() > MAX_CACHE_SIZE;
+        }
+      });
+  // POS tag regex -> the tags from possibleTags that it matches:
+  private final ConcurrentMap<String, List<String>> matchingTags = new ConcurrentHashMap<>();
 
   private Dictionary dictionary;
 
@@ -84,20 +102,67 @@ public class BaseSynthesizer implements Synthesizer {
     }   
   }
   
+  /**
+   * Get the {@link IStemmer} of the current thread, created with {@link #createStemmer()}
+   * on first use. The result must not be shared among threads.
+   *
+   * @since 2.4
+   */
+  protected IStemmer getStemmer() {
+    IStemmer stemmer = stemmers.get();
+    if (stemmer == null) {
+      stemmer = createStemmer();
+      stemmers.set(stemmer);
+    }
+    return stemmer;
+  }
+
   /**
    * Lookup the inflected forms of a lemma defined by a part-of-speech tag.
+   * The forms of recently used lemmas and tags are cached.
    * @param lemma the lemma to be inflected.
    * @param posTag the desired part-of-speech tag.
    * @param results the list to collect the inflected forms.
    */
   protected void lookup(String lemma, String posTag, List<String> results) {
-    // TODO: add IStemmer to the signature of lookup() so it mustn't be re-created every single lookup.
-    final IStemmer stemmer = createStemmer();
-    final List<WordData> wordForms = stemmer.lookup(lemma + "|" + posTag);
-    
-    for (WordData wd : wordForms) {
-      results.add(wd.getStem().toString());
+    final String key = lemma + "|" + posTag;
+    String[] forms = formCache.get(key);
+    if (forms == null) {
+      final List<WordData> wordForms = getStemmer().lookup(key);
+      forms = new String[wordForms.size()];
+      for (int i = 0; i < forms.length; i++) {
+        forms[i] = wordForms.get(i).getStem().toString();
+      }
+      formCache.put(key, forms);
+    }
+    Collections.addAll(results, forms);
+  }
+
+  /**
+   * Get the tags from {@link #possibleTags} that match the given regular expression.
+   * The result is computed only once per regular expression, so {@link #initPossibleTags()}
+   * must have been called before.
+   *
+   * @since 2.4
+   */
+  protected List<String> getMatchingTags(String posTagRegExp) {
+    final List<String> cachedTags = matchingTags.get(posTagRegExp);
+    if (cachedTags != null) {
+      return cachedTags;
     }
+    final Pattern p = RegexTools.compile(posTagRegExp);
+    final List<String> tags = new ArrayList<>();
+    for (String tag : possibleTags) {
+      if (p.matcher(tag).matches()) {
+        tags.add(tag);
+      }
+    }
+    final List<String> result = Collections.unmodifiableList(tags);
+    if (matchingTags.size() >= MAX_CACHE_SIZE) {
+      matchingTags.clear();
+    }
+    matchingTags.put(posTagRegExp, result);
+    return result;
   }
   
   /**
@@ -122,14 +187,9 @@ public class BaseSynthesizer implements Synthesizer {
     if (posTagRegExp) {
       initSynthesizer();
       initPossibleTags();
-      final Pattern p = Pattern.compile(posTag);
       final ArrayList<String> results = new ArrayList<>();
-      
-      for (final String tag : possibleTags) {
-        final Matcher m = p.matcher(tag);
-        if (m.matches()) {
-          lookup(token.getLemma(), tag, results);
-        }
+      for (final String tag : getMatchingTags(posTag)) {
+        lookup(token.getLemma(), tag, results);
       }
       return results.toArray(new String[results.size()]);
     }
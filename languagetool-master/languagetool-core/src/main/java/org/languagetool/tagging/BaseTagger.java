@@ -21,8 +21,12 @@ package org.languagetool.tagging;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import morfologik.stemming.Dictionary;
 import morfologik.stemming.DictionaryLookup;
@@ -35,7 +39,8 @@ import org.languagetool.JLanguageTool;
 import org.languagetool.tools.StringTools;
 
 /**
- * Base tagger using Lametyzator.
+ * Base tagger using Lametyzator. The readings of each word form are cached,
+ * so words that occur again don't need to be looked up in the dictionary.
  *
  * @author Marcin Milkowski
  */
@@ -43,6 +48,13 @@ public abstract class BaseTagger implements Tagger {
 
   protected Locale conversionLocale = Locale.getDefault();
 
+  private static final int MAX_CACHE_SIZE = 50000;
+
+  private final ConcurrentMap<String, List<AnalyzedToken>> cache = new ConcurrentHashMap<>();
+  private final AtomicLong cacheHits = new AtomicLong();
+  private final AtomicLong cacheMisses = new AtomicLong();
+  private final ThreadLocal<IStemmer> stemmers = new ThreadLocal<>();
+
   private boolean tagLowercaseWithUppercase = true;
   private Dictionary dictionary;
 
@@ -53,6 +65,7 @@ public abstract class BaseTagger implements Tagger {
 
   public void setLocale(Locale locale) {
     conversionLocale = locale;
+    cache.clear();
   }
 
   protected Dictionary getDictionary() throws IOException {
@@ -67,60 +80,118 @@ public abstract class BaseTagger implements Tagger {
     return dictionary;
   }
 
+  /**
+   * Get a morfologik stemmer for the dictionary of this tagger. The stemmer is
+   * created once per thread, as it is not thread-safe but can be re-used. Note that
+   * the {@link WordData} objects it returns are only valid until its next lookup.
+   * @since 2.4
+   */
+  protected IStemmer getStemmer() throws IOException {
+    IStemmer stemmer = stemmers.get();
+    if (stemmer == null) {
+      stemmer = new DictionaryLookup(getDictionary());
+      stemmers.set(stemmer);
+    }
+    return stemmer;
+  }
+
   @Override
   public List<AnalyzedTokenReadings> tag(final List<String> sentenceTokens)
           throws IOException {
-    List<AnalyzedToken> taggerTokens;
-    List<AnalyzedToken> lowerTaggerTokens;
-    List<AnalyzedToken> upperTaggerTokens;
     final List<AnalyzedTokenReadings> tokenReadings = new ArrayList<>();
     int pos = 0;
-    final IStemmer dictLookup = new DictionaryLookup(getDictionary());
-
     for (String word : sentenceTokens) {
       final List<AnalyzedToken> l = new ArrayList<>();
-      final String lowerWord = word.toLowerCase(conversionLocale);
-      taggerTokens = asAnalyzedTokenList(word, dictLookup.lookup(word));
-      lowerTaggerTokens = asAnalyzedTokenList(word, dictLookup.lookup(lowerWord));
-      final boolean isLowercase = word.equals(lowerWord);
-      final boolean isMixedCase = StringTools.isMixedCase(word);
-
-      //normal case
-      addTokens(taggerTokens, l);
-
-      //tag non-lowercase (alluppercase or startuppercase), but not mixedcase word with lowercase word tags
-      if (!isLowercase && !isMixedCase) {
-        addTokens(lowerTaggerTokens, l);
+      // the cached tokens are copied, as an AnalyzedToken also keeps state that
+      // is specific to its position in the sentence (e.g. whitespace before):
+      for (AnalyzedToken cachedToken : getCachedTokens(word)) {
+        l.add(new AnalyzedToken(cachedToken.getToken(), cachedToken.getPOSTag(), cachedToken.getLemma()));
+      }
+      if (l.isEmpty()) {
+        l.add(new AnalyzedToken(word, null, null));
       }
+      tokenReadings.add(new AnalyzedTokenReadings(l, pos));
+      pos += word.length();
+    }
+    return tokenReadings;
+  }
+
+  private List<AnalyzedToken> getCachedTokens(final String word) throws IOException {
+    final List<AnalyzedToken> cachedTokens = cache.get(word);
+    if (cachedTokens != null) {
+      cacheHits.incrementAndGet();
+      return cachedTokens;
+    }
+    cacheMisses.incrementAndGet();
+    final List<AnalyzedToken> tokens = Collections.unmodifiableList(lookup(word, getStemmer()));
+    if (cache.size() >= MAX_CACHE_SIZE) {
+      // natural text mostly repeats the same words, so we simply start from scratch:
+      cache.clear();
+    }
+    cache.put(word, tokens);
+    return tokens;
+  }
+
+  private List<AnalyzedToken> lookup(final String word, final IStemmer dictLookup) {
+    final List<AnalyzedToken> l = new ArrayList<>();
+    final String lowerWord = word.toLowerCase(conversionLocale);
+    final List<AnalyzedToken> taggerTokens = asAnalyzedTokenList(word, dictLookup.lookup(word));
+    final List<AnalyzedToken> lowerTaggerTokens = asAnalyzedTokenList(word, dictLookup.lookup(lowerWord));
+    final boolean isLowercase = word.equals(lowerWord);
+    final boolean isMixedCase = StringTools.isMixedCase(word);
+
+    //normal case
+    addTokens(taggerTokens, l);
 
-      //tag lowercase word with startuppercase word tags
-      if (tagLowercaseWithUppercase) {
-        if (lowerTaggerTokens.isEmpty() && taggerTokens.isEmpty()) {
-          if (isLowercase) {
-            upperTaggerTokens = asAnalyzedTokenList(word,
-                dictLookup.lookup(StringTools.uppercaseFirstChar(word)));
-            if (!upperTaggerTokens.isEmpty()) {
-              addTokens(upperTaggerTokens, l);
-            }
+    //tag non-lowercase (alluppercase or startuppercase), but not mixedcase word with lowercase word tags
+    if (!isLowercase && !isMixedCase) {
+      addTokens(lowerTaggerTokens, l);
+    }
+
+    //tag lowercase word with startuppercase word tags
+    if (tagLowercaseWithUppercase) {
+      if (lowerTaggerTokens.isEmpty() && taggerTokens.isEmpty()) {
+        if (isLowercase) {
+          final List<AnalyzedToken> upperTaggerTokens = asAnalyzedTokenList(word,
+              dictLookup.lookup(StringTools.uppercaseFirstChar(word)));
+          if (!upperTaggerTokens.isEmpty()) {
+            addTokens(upperTaggerTokens, l);
           }
         }
       }
+    }
 
-      // Additional language-dependent-tagging 
-      if (l.isEmpty()) {
-        List<AnalyzedToken> additionalTaggedTokens = additionalTags(word);
-        addTokens(additionalTaggedTokens, l);
-      }
+    // Additional language-dependent-tagging 
+    if (l.isEmpty()) {
+      List<AnalyzedToken> additionalTaggedTokens = additionalTags(word);
+      addTokens(additionalTaggedTokens, l);
+    }
+    return l;
+  }
 
-      if (l.isEmpty()) {
-        l.add(new AnalyzedToken(word, null, null));
-      }
+  /**
+   * The number of words whose readings were found in the cache of {@link #tag(List)}.
+   * @since 2.4
+   */
+  public long getCacheHits() {
+    return cacheHits.get();
+  }
 
-      tokenReadings.add(new AnalyzedTokenReadings(l, pos));
-      pos += word.length();
-    }
+  /**
+   * The number of words that had to be looked up in the dictionary because
+   * their readings were not in the cache of {@link #tag(List)}.
+   * @since 2.4
+   */
+  public long getCacheMisses() {
+    return cacheMisses.get();
+  }
 
-    return tokenReadings;
+  /**
+   * Remove all readings from the cache of {@link #tag(List)}.
+   * @since 2.4
+   */
+  public void clearCache() {
+    cache.clear();
   }
 
   protected List<AnalyzedToken> asAnalyzedTokenList(final String word, final List<WordData> wdList) {
@@ -158,10 +229,12 @@ public abstract class BaseTagger implements Tagger {
 
   public void dontTagLowercaseWithUppercase() {
     tagLowercaseWithUppercase = false;
+    cache.clear();
   }
 
   /*
-   *  Additional tagging in some language-dependent circumstances
+   *  Additional tagging in some language-dependent circumstances. The result
+   *  is cached, so it must only depend on the word.
    */
   public List<AnalyzedToken> additionalTags(String word) {
     return null;
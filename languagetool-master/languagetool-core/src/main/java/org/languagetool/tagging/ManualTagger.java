@@ -41,10 +41,11 @@ import org.languagetool.tools.StringTools;
  */
 public class ManualTagger {
 
-  private final Map<String, List<LookedUpTerm>> mapping;
+  // the lookup results are built when loading, as the same words get looked up again and again:
+  private final Map<String, String[]> mapping;
 
   public ManualTagger(final InputStream inputStream) throws IOException {
-    mapping = loadMapping(inputStream, "utf8");
+    mapping = asLookupResults(loadMapping(inputStream, "utf8"));
   }
 
   /**
@@ -55,20 +56,27 @@ public class ManualTagger {
    *         word is unknown
    */
   public String[] lookup(final String term) {
-    final List<LookedUpTerm> l = mapping.get(term);
-    if (l == null) {
+    final String[] result = mapping.get(term);
+    if (result == null) {
       return null;
     }
-    final List<String> plainResult = new ArrayList<>();
-    for (final Object element : l) {
-      final LookedUpTerm lookedUpTerm = (LookedUpTerm) element;
-      plainResult.add(lookedUpTerm.baseform);
-      plainResult.add(lookedUpTerm.posTags);
-    }
-    if (plainResult.isEmpty()) {
-      return null;
+    // the caller may modify the array, so don't give away our own copy:
+    return result.clone();
+  }
+
+  private Map<String, String[]> asLookupResults(final Map<String, List<LookedUpTerm>> map) {
+    final Map<String, String[]> results = new HashMap<>();
+    for (Map.Entry<String, List<LookedUpTerm>> entry : map.entrySet()) {
+      final List<String> plainResult = new ArrayList<>();
+      for (LookedUpTerm lookedUpTerm : entry.getValue()) {
+        plainResult.add(lookedUpTerm.baseform);
+        plainResult.add(lookedUpTerm.posTags);
+      }
+      if (!plainResult.isEmpty()) {
+        results.put(entry.getKey(), plainResult.toArray(new String[plainResult.size()]));
+      }
     }
-    return plainResult.toArray(new String[plainResult.size()]);
+    return results;
   }
 
   private Map<String, List<LookedUpTerm>> loadMapping(final InputStream inputStream, final String encoding) throws IOException {
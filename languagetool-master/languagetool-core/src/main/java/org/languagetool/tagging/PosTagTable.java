@@ -0,0 +1,77 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tagging;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A table of the part-of-speech tags of one language, each with a small integer id. A tag's
+ * id never changes, so the result of matching a tag against a pattern can be stored per id,
+ * e.g. in a {@link java.util.BitSet}. Each {@link org.languagetool.Language} has its own table,
+ * so the ids of a language don't depend on the tags of other languages. A tag gets its id when it's
+ * first looked up. As a tagset is small, the table is not cleaned up; if it gets unexpectedly
+ * large, further tags don't get an id.
+ * @since 2.4
+ */
+public final class PosTagTable {
+
+  /** The id of {@code null} and of tags that didn't get an id because the table is full. */
+  public static final int NO_ID = -1;
+
+  private static final int MAX_SIZE = 50000;
+
+  private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+  /**
+   * Get the id of the given tag, adding the tag to the table if it's not there yet.
+   * @return the id, which is at least {@code 0}, or {@link #NO_ID}
+   */
+  public int getId(final String tag) {
+    if (tag == null) {
+      return NO_ID;
+    }
+    final Integer id = ids.get(tag);
+    if (id != null) {
+      return id;
+    }
+    return add(tag);
+  }
+
+  /**
+   * The number of tags in the table.
+   */
+  public int size() {
+    return ids.size();
+  }
+
+  private synchronized int add(final String tag) {
+    final Integer existingId = ids.get(tag);
+    if (existingId != null) {
+      return existingId;
+    }
+    final int id = ids.size();
+    if (id >= MAX_SIZE) {
+      return NO_ID;
+    }
+    ids.put(tag, id);
+    return id;
+  }
+
+}
@@ -36,9 +36,10 @@ public class MultiWordChunker implements Disambiguator {
 
   private final String filename;
 
-  private Map<String, Integer> mStartSpace;
-  private Map<String, Integer> mStartNoSpace;
-  private Map<String, String> mFull;
+  // multiwords with spaces, one trie level per word:
+  private volatile TrieNode spaceTrie;
+  // multiwords without spaces like "...", one trie level per character:
+  private volatile TrieNode noSpaceTrie;
 
   public MultiWordChunker(final String filename) {
     super();
@@ -50,47 +51,34 @@ public class MultiWordChunker implements Disambiguator {
    */
   private void lazyInit() {
 
-    if (mStartSpace != null) {
+    if (spaceTrie != null) {
       return;
     }
 
-    mStartSpace = new HashMap<>();
-    mStartNoSpace = new HashMap<>();
-    mFull = new HashMap<>();
+    final TrieNode newSpaceTrie = new TrieNode();
+    final TrieNode newNoSpaceTrie = new TrieNode();
 
     final List<String> posTokens = loadWords(JLanguageTool.getDataBroker().getFromResourceDirAsStream(filename));
     for (String posToken : posTokens) {
       final String[] tokenAndTag = posToken.split("\t");
       final boolean containsSpace = tokenAndTag[0].indexOf(' ') > 0;
-      String firstToken = "";
-      final String[] firstTokens;
+      final String[] tokens;
+      final TrieNode trie;
       if (!containsSpace) {
-        firstTokens = new String[tokenAndTag[0].length()];
-        firstToken = tokenAndTag[0].substring(0, 1);
-        for (int i = 1; i < tokenAndTag[0].length(); i++) {
-          firstTokens[i] = tokenAndTag[0].substring(0 + (i - 1), i);
-        }
-        if (mStartNoSpace.containsKey(firstToken)) {
-          if (mStartNoSpace.get(firstToken) < firstTokens.length) {
-            mStartNoSpace.put(firstToken, firstTokens.length);
-          }
-        } else {
-          mStartNoSpace.put(firstToken, firstTokens.length);
+        // each character is expected to be a token of its own:
+        tokens = new String[tokenAndTag[0].length()];
+        for (int i = 0; i < tokens.length; i++) {
+          tokens[i] = tokenAndTag[0].substring(i, i + 1);
         }
+        trie = newNoSpaceTrie;
       } else {
-        firstTokens = tokenAndTag[0].split(" ");
-        firstToken = firstTokens[0];
-
-        if (mStartSpace.containsKey(firstToken)) {
-          if (mStartSpace.get(firstToken) < firstTokens.length) {
-            mStartSpace.put(firstToken, firstTokens.length);
-          }
-        } else {
-          mStartSpace.put(firstToken, firstTokens.length);
-        }
+        tokens = tokenAndTag[0].split(" ");
+        trie = newSpaceTrie;
       }
-      mFull.put(tokenAndTag[0], tokenAndTag[1]);
+      trie.add(tokens, tokenAndTag[0], tokenAndTag[1]);
     }
+    noSpaceTrie = newNoSpaceTrie;
+    spaceTrie = newSpaceTrie;
   }
 
   /**
@@ -106,66 +94,53 @@ public class MultiWordChunker implements Disambiguator {
     lazyInit();
 
     final AnalyzedTokenReadings[] anTokens = input.getTokens();
-    final AnalyzedTokenReadings[] output = anTokens;
+    // copied on the first multiword only, the input sentence must not be modified:
+    AnalyzedTokenReadings[] output = anTokens;
 
     for (int i = 0; i < anTokens.length; i++) {
       final String tok = output[i].getToken();
-      final StringBuilder tokens = new StringBuilder();
-
-      int finalLen = 0;
-      if (mStartSpace.containsKey(tok)) {
-        final int len = mStartSpace.get(tok);
-        int j = i;
-        int lenCounter = 0;
-        while (j < anTokens.length) {
-          if (!anTokens[j].isWhitespace()) {
-            tokens.append(anTokens[j].getToken());
-            final String toks = tokens.toString();
-            if (mFull.containsKey(toks)) {
-              output[i] = prepareNewReading(toks, tok, output[i], false);
-              output[finalLen] = prepareNewReading(toks, anTokens[finalLen].getToken(),
-                      output[finalLen], true);
-            }
-            lenCounter++;
-            if (lenCounter == len) {
-              break;
-            }
-            tokens.append(' ');
+
+      // the words of multiwords with spaces may be separated by any whitespace:
+      TrieNode node = spaceTrie.getChild(tok);
+      int j = i;
+      while (node != null) {
+        if (node.multiword != null && j > i) {
+          if (output == anTokens) {
+            output = anTokens.clone();
           }
-          j++;
-          finalLen = j;
+          output[i] = prepareNewReading(node, tok, output[i], false);
+          output[j] = prepareNewReading(node, anTokens[j].getToken(), output[j], true);
+        }
+        if (!node.hasChildren()) {
+          break;
         }
+        do {
+          j++;
+        } while (j < anTokens.length && anTokens[j].isWhitespace());
+        node = j < anTokens.length ? node.getChild(anTokens[j].getToken()) : null;
       }
 
-      if (mStartNoSpace.containsKey(tok)) {
-        final int len = mStartNoSpace.get(tok);
-        if (i + len <= anTokens.length) {
-          for (int j = i; j < i + len; j++) {
-            tokens.append(anTokens[j].getToken());
-            final String toks = tokens.toString();
-            if (mFull.containsKey(toks)) {
-              output[i] = prepareNewReading(toks, tok, output[i], false);
-              output[i + len - 1] = prepareNewReading(toks, anTokens
-                      [i + len - 1].getToken(), output[i + len -1], true);
-
-            }
+      node = noSpaceTrie.getChild(tok);
+      j = i;
+      while (node != null) {
+        if (node.multiword != null) {
+          if (output == anTokens) {
+            output = anTokens.clone();
           }
+          output[i] = prepareNewReading(node, tok, output[i], false);
+          output[j] = prepareNewReading(node, anTokens[j].getToken(), output[j], true);
         }
+        j++;
+        node = j < anTokens.length ? node.getChild(anTokens[j].getToken()) : null;
       }
     }
     return new AnalyzedSentence(output);
   }
 
 
-  private AnalyzedTokenReadings prepareNewReading(final String tokens, final String tok, final AnalyzedTokenReadings token, final boolean isLast) {
-    final StringBuilder sb = new StringBuilder();
-    sb.append("<");
-    if (isLast) {
-      sb.append("/");
-    }
-    sb.append(mFull.get(tokens));
-    sb.append(">");
-    final AnalyzedToken tokenStart = new AnalyzedToken(tok, sb.toString(), tokens);
+  private AnalyzedTokenReadings prepareNewReading(final TrieNode node, final String tok, final AnalyzedTokenReadings token, final boolean isLast) {
+    final String tag = isLast ? node.endTag : node.startTag;
+    final AnalyzedToken tokenStart = new AnalyzedToken(tok, tag, node.multiword);
     return setAndAnnotate(token, tokenStart);
   }
 
@@ -208,4 +183,42 @@ public class MultiWordChunker implements Disambiguator {
     return lines;
   }
 
-}
\ No newline at end of file
+  /**
+   * A node of a trie whose edges are tokens. A node at the end of a multiword
+   * knows the multiword and its tags.
+   */
+  private static class TrieNode {
+
+    private Map<String, TrieNode> children;
+    private String multiword;
+    private String startTag;
+    private String endTag;
+
+    void add(String[] tokens, String multiword, String tag) {
+      TrieNode node = this;
+      for (String token : tokens) {
+        if (node.children == null) {
+          node.children = new HashMap<>();
+        }
+        TrieNode child = node.children.get(token);
+        if (child == null) {
+          child = new TrieNode();
+          node.children.put(token, child);
+        }
+        node = child;
+      }
+      node.multiword = multiword;
+      node.startTag = "<" + tag + ">";
+      node.endTag = "</" + tag + ">";
+    }
+
+    TrieNode getChild(String token) {
+      return children != null ? children.get(token) : null;
+    }
+
+    boolean hasChildren() {
+      return children != null;
+    }
+  }
+
+}
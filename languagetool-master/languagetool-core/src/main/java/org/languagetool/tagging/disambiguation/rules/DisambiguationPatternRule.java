@@ -96,6 +96,9 @@ public class DisambiguationPatternRule extends AbstractPatternRule {
    */
 
   public final AnalyzedSentence replace(final AnalyzedSentence text) throws IOException {
+    if (!canMatch(text)) {
+      return text;
+    }
     final DisambiguationPatternRuleReplacer replacer = new DisambiguationPatternRuleReplacer(this);
     return replacer.replace(text);
   }
@@ -48,12 +48,12 @@ class DisambiguationPatternRuleReplacer extends AbstractPatternRulePerformer {
 
     final AnalyzedTokenReadings[] tokens = text
             .getTokensWithoutWhitespace();
-    AnalyzedTokenReadings[] whTokens = text.getTokens();
+    // copied on the first match only, so that all matches of the rule change the same copy:
+    AnalyzedTokenReadings[] whTokens = null;
     final int[] tokenPositions = new int[tokens.length + 1];
     final int patternSize = elementMatchers.size();
     final int limit = Math.max(0, tokens.length - patternSize + 1);
     ElementMatcher elem = null;
-    boolean changed = false;
     for (int i = 0; i < limit && !(rule.isSentStart() && i > 0); i++) {
       boolean allElementsMatch = false;
       unifiedTokens = null;
@@ -97,23 +97,27 @@ class DisambiguationPatternRuleReplacer extends AbstractPatternRulePerformer {
         }
       }
       if (allElementsMatch && matchingTokens == patternSize) {
-        whTokens = executeAction(text, whTokens, unifiedTokens,
+        if (whTokens == null) {
+          whTokens = text.getTokens().clone();
+        }
+        executeAction(text, whTokens, unifiedTokens,
                 firstMatchToken, matchingTokens, tokenPositions);
-        changed = true;
       }
     }
-    if (changed) {
+    if (whTokens != null) {
       return new AnalyzedSentence(whTokens, text.getWhPositions());
     }
     return text;
   }
 
-  private AnalyzedTokenReadings[] executeAction(final AnalyzedSentence text,
-                                                final AnalyzedTokenReadings[] whiteTokens,
-                                                final AnalyzedTokenReadings[] unifiedTokens,
-                                                final int firstMatchToken, final int matchingTokens,
-                                                final int[] tokenPositions) {
-    final AnalyzedTokenReadings[] whTokens = whiteTokens.clone();
+  /**
+   * Apply the rule's action to the matched tokens, changing {@code whTokens} in place.
+   */
+  private void executeAction(final AnalyzedSentence text,
+                             final AnalyzedTokenReadings[] whTokens,
+                             final AnalyzedTokenReadings[] unifiedTokens,
+                             final int firstMatchToken, final int matchingTokens,
+                             final int[] tokenPositions) {
     final DisambiguationPatternRule rule = (DisambiguationPatternRule) this.rule;
 
     int correctedStPos = 0;
@@ -288,7 +292,6 @@ class DisambiguationPatternRuleReplacer extends AbstractPatternRulePerformer {
         }
 
     }
-    return whTokens;
   }
 
   private void annotateChange(AnalyzedTokenReadings atr,
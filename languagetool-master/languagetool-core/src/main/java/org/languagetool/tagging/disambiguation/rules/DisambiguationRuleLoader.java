@@ -31,7 +31,6 @@ import javax.xml.parsers.SAXParserFactory;
 
 import org.languagetool.AnalyzedToken;
 import org.languagetool.Language;
-import org.languagetool.rules.patterns.Element;
 import org.languagetool.rules.patterns.Match;
 import org.languagetool.tagging.disambiguation.rules.DisambiguationPatternRule.DisambiguatorAction;
 import org.xml.sax.Attributes;
@@ -316,8 +315,7 @@ class DisambiguationRuleHandler extends DisambXMLRuleHandler {
       tokenCounter++;
     } else if (qName.equals(TOKEN)) {
       if (!exceptionSet || tokenElement == null) {
-        tokenElement = new Element(elements.toString(), caseSensitive,
-            regExpression, tokenInflected);
+        tokenElement = createTokenElement(elements.toString());
         tokenElement.setNegation(tokenNegated);
       } else {
         tokenElement.setStringElement(elements.toString());
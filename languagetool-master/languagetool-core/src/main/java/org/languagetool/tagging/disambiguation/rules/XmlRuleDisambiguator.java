@@ -20,8 +20,11 @@
 package org.languagetool.tagging.disambiguation.rules;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.xml.parsers.ParserConfigurationException;
 
@@ -35,14 +38,20 @@ import org.xml.sax.SAXException;
 /**
  * Rule-based disambiguator.
  * Implements an idea by Agnes Souque.
+ *
+ * <p>The rules of a disambiguation file are loaded only once and then shared by all
+ * instances, as they keep no state when they are applied to a sentence.
  * 
  * @author Marcin Miłkowski
  */
 public class XmlRuleDisambiguator implements Disambiguator {
 
   private static final String DISAMBIGUATION_FILE = "disambiguation.xml";
-  
-  private List<DisambiguationPatternRule> disambiguationRules;
+
+  // class name and file name -> rules:
+  private static final ConcurrentMap<String, List<DisambiguationPatternRule>> ruleCache = new ConcurrentHashMap<>();
+
+  private volatile List<DisambiguationPatternRule> disambiguationRules;
   private final Language language;
 
   public XmlRuleDisambiguator(final Language language) {
@@ -52,19 +61,43 @@ public class XmlRuleDisambiguator implements Disambiguator {
   @Override
   public AnalyzedSentence disambiguate(final AnalyzedSentence input) throws IOException {
     AnalyzedSentence sentence = input;
-    if (disambiguationRules == null) {
+    for (final DisambiguationPatternRule patternRule : getDisambiguationRules()) {
+      sentence = patternRule.replace(sentence);
+    }
+    return sentence;
+  }
+
+  private List<DisambiguationPatternRule> getDisambiguationRules() {
+    List<DisambiguationPatternRule> rules = disambiguationRules;
+    if (rules == null) {
       final String disambiguationFile =
         JLanguageTool.getDataBroker().getResourceDir() + "/" + language.getShortName() + "/" + DISAMBIGUATION_FILE;
-      try {
-        disambiguationRules = loadPatternRules(disambiguationFile);
-      } catch (final Exception e) {
-        throw new RuntimeException("Problems with loading disambiguation file: " + disambiguationFile, e);
+      // subclasses may load the rules differently:
+      final String key = getClass().getName() + ":" + disambiguationFile;
+      rules = ruleCache.get(key);
+      if (rules == null) {
+        try {
+          rules = Collections.unmodifiableList(loadPatternRules(disambiguationFile));
+        } catch (final Exception e) {
+          throw new RuntimeException("Problems with loading disambiguation file: " + disambiguationFile, e);
+        }
+        final List<DisambiguationPatternRule> otherRules = ruleCache.putIfAbsent(key, rules);
+        if (otherRules != null) {
+          rules = otherRules;
+        }
       }
+      disambiguationRules = rules;
     }
-    for (final DisambiguationPatternRule patternRule : disambiguationRules) {
-      sentence = patternRule.replace(sentence);
-    }
-    return sentence;
+    return rules;
+  }
+
+  /**
+   * Remove all loaded rules, so that rules get loaded again on next use.
+   * Useful if the disambiguation files have been modified.
+   * @since 2.4
+   */
+  public static void clearCache() {
+    ruleCache.clear();
   }
 
   /**
@@ -44,19 +44,21 @@ import org.languagetool.Language;
 public class SRXSentenceTokenizer implements SentenceTokenizer {
 
   private static final String RULES = "/segment.srx";
-  private static final SrxDocument DOCUMENT = createSrxDocument();
+  // the file is validated by the tests, so it's not validated each time it's loaded, which is slow:
+  private static final SrxDocument DOCUMENT = createSrxDocument(false);
 
   private final String languageCode;
 
   private String parCode;
 
-  private static SrxDocument createSrxDocument() {
+  // non-private only for test case
+  static SrxDocument createSrxDocument(boolean validate) {
     BufferedReader srxReader = null;
     try {
       srxReader = new BufferedReader(new InputStreamReader(
               JLanguageTool.getDataBroker().getFromResourceDirAsStream(RULES), "utf-8"));
       final Map<String, Object> parserParameters = new HashMap<>();
-      parserParameters.put(Srx2SaxParser.VALIDATE_PARAMETER, true);
+      parserParameters.put(Srx2SaxParser.VALIDATE_PARAMETER, validate);
       final SrxParser srxParser = new Srx2SaxParser(parserParameters);
       final SrxDocument document = srxParser.parse(srxReader);
       return document;
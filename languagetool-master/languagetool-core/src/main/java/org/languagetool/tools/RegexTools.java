@@ -0,0 +1,154 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tools;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Tools for regular expressions, including a cache of compiled patterns
+ * that can be used by several threads.
+ * @since 2.4
+ */
+public final class RegexTools {
+
+  private static final int MAX_CACHE_SIZE = 10000;
+  private static final String SPECIAL_CHARS = "\\^$.|?*+()[]{}";
+
+  // one cache per flags, so looking up a pattern needs no new key object:
+  private static final ConcurrentMap<Integer, ConcurrentMap<String, CachedPattern>> caches = new ConcurrentHashMap<>();
+
+  private RegexTools() {
+  }
+
+  /**
+   * Like {@link Pattern#compile(String)}, but returns a cached pattern if the
+   * same regular expression has been compiled before.
+   */
+  public static Pattern compile(final String regex) {
+    return compile(regex, 0);
+  }
+
+  /**
+   * Like {@link Pattern#compile(String, int)}, but returns a cached pattern if the
+   * same regular expression has been compiled before with the same flags.
+   */
+  public static Pattern compile(final String regex, final int flags) {
+    return getCachedPattern(regex, flags).pattern;
+  }
+
+  /**
+   * Like {@link #getLiteralAlternatives(String, boolean)} for a regular expression compiled with
+   * {@link #compile(String, int)}, but the result is cached with the compiled pattern. For the
+   * flags {@code 0}, the alternatives are case-sensitive, for the flags {@link Pattern#CASE_INSENSITIVE}
+   * and {@link Pattern#UNICODE_CASE} they are case-insensitive. For other flags, {@code null} is returned.
+   */
+  public static Set<String> getCachedLiteralAlternatives(final String regex, final int flags) {
+    return getCachedPattern(regex, flags).literalAlternatives;
+  }
+
+  /**
+   * Remove all patterns from the cache.
+   */
+  public static void clearCache() {
+    caches.clear();
+  }
+
+  private static CachedPattern getCachedPattern(final String regex, final int flags) {
+    ConcurrentMap<String, CachedPattern> cache = caches.get(flags);
+    if (cache == null) {
+      cache = new ConcurrentHashMap<>();
+      final ConcurrentMap<String, CachedPattern> otherCache = caches.putIfAbsent(flags, cache);
+      if (otherCache != null) {
+        cache = otherCache;
+      }
+    }
+    final CachedPattern cachedPattern = cache.get(regex);
+    if (cachedPattern != null) {
+      return cachedPattern;
+    }
+    final Set<String> alternatives;
+    if (flags == 0) {
+      alternatives = getLiteralAlternatives(regex, true);
+    } else if (flags == (Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE)) {
+      alternatives = getLiteralAlternatives(regex, false);
+    } else {
+      alternatives = null;
+    }
+    final CachedPattern newPattern = new CachedPattern(Pattern.compile(regex, flags), alternatives);
+    if (cache.size() >= MAX_CACHE_SIZE) {
+      // pattern elements that refer to other tokens compile a new regular expression for each
+      // match, so the number of patterns is unbounded. The patterns of the rules are simply
+      // compiled again when they are used next:
+      cache.clear();
+    }
+    cache.put(regex, newPattern);
+    return newPattern;
+  }
+
+  /**
+   * If the regular expression contains no special characters except {@code |} to separate
+   * alternatives, e.g. {@code foo|bar}, return the alternatives. Matching a string against
+   * the regular expression with {@link java.util.regex.Matcher#matches()} is then the same as testing whether
+   * the set contains the string. Used to avoid regular expression matching where it isn't needed.
+   * @param caseSensitive if false, the alternatives are converted with {@link StringTools#foldCase(String)}
+   *   and the string must be converted the same way before testing it, which is then the same as matching
+   *   with the flags {@link Pattern#CASE_INSENSITIVE} and {@link Pattern#UNICODE_CASE}
+   * @return the alternatives, or {@code null} if the regular expression is not that simple
+   */
+  public static Set<String> getLiteralAlternatives(final String regex, final boolean caseSensitive) {
+    if (regex.isEmpty()) {
+      return null;
+    }
+    for (int i = 0; i < regex.length(); i++) {
+      final char c = regex.charAt(i);
+      // case-insensitive matching works on code points, not on chars like foldCase():
+      if (c != '|' && SPECIAL_CHARS.indexOf(c) != -1 || Character.isSurrogate(c)) {
+        return null;
+      }
+      // the only chars that foldCase() considers equal but a case-insensitive regex doesn't:
+      if (!caseSensitive && (c == '\u00DF' || c == '\u1E9E')) {
+        return null;
+      }
+    }
+    final Set<String> alternatives = new HashSet<>();
+    for (String alternative : regex.split("\\|", -1)) {
+      if (alternative.isEmpty()) {
+        return null;
+      }
+      alternatives.add(caseSensitive ? alternative : StringTools.foldCase(alternative));
+    }
+    return Collections.unmodifiableSet(alternatives);
+  }
+
+  private static final class CachedPattern {
+    private final Pattern pattern;
+    private final Set<String> literalAlternatives;
+
+    private CachedPattern(Pattern pattern, Set<String> literalAlternatives) {
+      this.pattern = pattern;
+      this.literalAlternatives = literalAlternatives;
+    }
+  }
+
+}
@@ -201,6 +201,21 @@ public final class StringTools {
     return changeFirstCharCase(str, false);
   }
 
+  /**
+   * Return <code>str</code> with each character converted to lowercase after converting it to uppercase.
+   * Two strings that are equal when ignoring case, with {@link String#equalsIgnoreCase(String)} or a
+   * case-insensitive regular expression, are always equal after this conversion. Unlike
+   * {@link String#toLowerCase()}, this does not depend on the locale.
+   * @since 2.4
+   */
+  public static String foldCase(final String str) {
+    final char[] chars = str.toCharArray();
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+    }
+    return new String(chars);
+  }
+
   /**
    * Return <code>str</code> modified so that its first character is now an
    * lowercase or uppercase character, depending on <code>toUpperCase</code>.
@@ -317,6 +332,26 @@ public final class StringTools {
   public static String ruleMatchesToXML(final List<RuleMatch> ruleMatches,
       final String text, final int contextSize, final XmlPrintMode xmlMode,
       final Language lang, final Language motherTongue) {
+    return ruleMatchesToXML(ruleMatches, text, contextSize, xmlMode, lang, motherTongue, 0);
+  }
+
+  /**
+   * Get an XML representation of the given rule matches, which were found in a part of a longer text.
+   *
+   * @param text the part of the text that was checked, used to get the context of the matches
+   * @param contextSize the desired context size in characters
+   * @param xmlMode how to print the XML
+   * @param textOffset the position of {@code text} in the complete text, which the positions of the matches refer to
+   * @since 2.4
+   */
+  public static String ruleMatchesToXML(final List<RuleMatch> ruleMatches,
+      final String text, final int contextSize, final XmlPrintMode xmlMode, final int textOffset) {
+    return ruleMatchesToXML(ruleMatches, text, contextSize, xmlMode, null, null, textOffset);
+  }
+
+  private static String ruleMatchesToXML(final List<RuleMatch> ruleMatches,
+      final String text, final int contextSize, final XmlPrintMode xmlMode,
+      final Language lang, final Language motherTongue, final int textOffset) {
     //
     // IMPORTANT: people rely on this format, don't change it!
     //
@@ -364,7 +399,7 @@ public final class StringTools {
       final String msg = match.getMessage().replaceAll("</?suggestion>", "'");
       xml.append(subId);
       xml.append(" msg=\"").append(escapeXMLForAPIOutput(msg)).append("\"");
-      String context = contextTools.getContext(match.getFromPos(), match.getToPos(), text);
+      String context = contextTools.getContext(match.getFromPos() - textOffset, match.getToPos() - textOffset, text);
       xml.append(" replacements=\"").append(escapeXMLForAPIOutput(listToString(
               match.getSuggestedReplacements(), "#"))).append("\"");
       // get position of error in context and remove artificial marker again:
@@ -149,7 +149,9 @@ public final class Tools {
   /**
    * @return the number of rule matches
    * @throws IOException
+   * @deprecated use {@link JLanguageTool#profile(String)}, which analyzes the text only once for all rules (deprecated since 2.4)
    */
+  @Deprecated
   public static int profileRulesOnLine(final String contents,
       final JLanguageTool lt, final Rule rule) throws IOException {
     int count = 0;
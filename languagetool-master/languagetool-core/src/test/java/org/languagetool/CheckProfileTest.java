@@ -0,0 +1,95 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Test;
+import org.languagetool.language.Demo;
+import org.languagetool.rules.GenericUnpairedBracketsRule;
+import org.languagetool.rules.RuleMatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CheckProfileTest {
+
+  private static final String TEXT = "A small toast. No error here. Foo go bar.\nFirst goes last there, please! ";
+
+  @Test
+  public void testProfile() throws IOException {
+    final JLanguageTool languageTool = new JLanguageTool(new Demo());
+    languageTool.activateDefaultPatternRules();
+    final CheckProfile profile = languageTool.profile(TEXT);
+    assertEquals(4, profile.getSentenceCount());
+    for (String stage : new String[] {CheckProfile.SENTENCE_TOKENIZER, CheckProfile.WORD_TOKENIZER,
+                                       CheckProfile.TAGGER, CheckProfile.CHUNKER, CheckProfile.DISAMBIGUATOR}) {
+      final CheckProfile.Entry entry = profile.getEntry(CheckProfile.Kind.STAGE, stage);
+      assertNotNull(stage, entry);
+      assertTrue(entry.getCpuNanos() >= 0);
+      assertTrue(entry.getAllocatedBytes() >= 0);
+    }
+    final List<RuleMatch> matches = languageTool.check(TEXT);
+    assertTrue(matches.size() > 0);
+    for (RuleMatch match : matches) {
+      final CheckProfile.Entry entry = profile.getEntry(CheckProfile.Kind.RULE, match.getRule().getId());
+      assertNotNull(match.getRule().getId(), entry);
+      assertTrue(entry.getMatchCount() > 0);
+    }
+    assertEquals(profile.getEntries().size() - 5, profile.getEntriesByCpuTime(CheckProfile.Kind.RULE).size());
+  }
+
+  @Test
+  public void testProfileIsCumulative() throws IOException {
+    final JLanguageTool languageTool = new JLanguageTool(new Demo());
+    languageTool.activateDefaultPatternRules();
+    final CheckProfile profile = languageTool.profile(TEXT);
+    final int entryCount = profile.getEntries().size();
+    final CheckProfile.Entry first = profile.getEntriesByCpuTime(CheckProfile.Kind.RULE).get(0);
+    final int matchCount = first.getMatchCount();
+    languageTool.profile(TEXT, profile);
+    assertEquals(8, profile.getSentenceCount());
+    assertEquals(entryCount, profile.getEntries().size());
+    assertEquals(2 * matchCount, profile.getEntry(CheckProfile.Kind.RULE, first.getName()).getMatchCount());
+  }
+
+  @Test
+  public void testParagraphLevelFalsePositivesAreRemoved() throws IOException {
+    final JLanguageTool languageTool = new JLanguageTool(new Demo());
+    languageTool.addRule(new GenericUnpairedBracketsRule(JLanguageTool.getMessageBundle(), new Demo()));
+    final String text = "This is (a test. It is fine) now. Really (it is.";
+    final List<RuleMatch> matches = languageTool.check(text);
+    assertEquals(1, matches.size());
+    final CheckProfile.Entry entry = languageTool.profile(text).getEntry(CheckProfile.Kind.RULE, "UNPAIRED_BRACKETS");
+    assertEquals(matches.size(), entry.getMatchCount());
+  }
+
+  @Test
+  public void testDisabledRulesAreNotProfiled() throws IOException {
+    final JLanguageTool languageTool = new JLanguageTool(new Demo());
+    languageTool.activateDefaultPatternRules();
+    final String ruleId = languageTool.getAllActiveRules().get(0).getId();
+    languageTool.disableRule(ruleId);
+    assertNull(languageTool.profile(TEXT).getEntry(CheckProfile.Kind.RULE, ruleId));
+  }
+
+}
@@ -0,0 +1,99 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Test;
+import org.languagetool.language.Demo;
+import org.languagetool.rules.RuleMatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class IncrementalCheckerTest {
+
+  private static final String TEXT = "A small toast. No error here. Foo go bar.\nFirst goes last there, please! ";
+
+  @Test
+  public void testSameResultAsJLanguageTool() throws IOException {
+    final JLanguageTool languageTool = new JLanguageTool(new Demo());
+    languageTool.activateDefaultPatternRules();
+    final IncrementalChecker checker = new IncrementalChecker(languageTool);
+    assertSameMatches(languageTool.check(TEXT), checker.check(TEXT));
+    assertEquals(4, checker.getAnalyzedSentenceCount());
+    assertEquals(4, checker.getCachedSentenceCount());
+
+    final String editedText = "A small toast. Here's a new one. No error here. Foo go bar.\nFirst goes last there, please! ";
+    assertSameMatches(languageTool.check(editedText), checker.check(editedText));
+    assertEquals(1, checker.getAnalyzedSentenceCount());
+
+    // the sentence that is now last needs to be analyzed again, as its last token ends the paragraph:
+    final String shortenedText = "A small toast. Here's a new one. No error here. Foo go bar.";
+    assertSameMatches(languageTool.check(shortenedText), checker.check(shortenedText));
+    assertEquals(1, checker.getAnalyzedSentenceCount());
+
+    assertSameMatches(languageTool.check(shortenedText), checker.check(shortenedText));
+    assertEquals(0, checker.getAnalyzedSentenceCount());
+  }
+
+  @Test
+  public void testRuleChangesClearTheCache() throws IOException {
+    final JLanguageTool languageTool = new JLanguageTool(new Demo());
+    languageTool.activateDefaultPatternRules();
+    final IncrementalChecker checker = new IncrementalChecker(languageTool);
+    final List<RuleMatch> matches = checker.check(TEXT);
+    final String ruleId = matches.get(0).getRule().getId();
+    languageTool.disableRule(ruleId);
+    final List<RuleMatch> newMatches = checker.check(TEXT);
+    assertEquals(4, checker.getAnalyzedSentenceCount());
+    assertSameMatches(languageTool.check(TEXT), newMatches);
+    for (RuleMatch match : newMatches) {
+      assertFalse(ruleId.equals(match.getRule().getId()));
+    }
+  }
+
+  @Test
+  public void testMaxCachedSentences() throws IOException {
+    final JLanguageTool languageTool = new JLanguageTool(new Demo());
+    final IncrementalChecker checker = new IncrementalChecker(languageTool, 2);
+    checker.check(TEXT);
+    assertEquals(2, checker.getCachedSentenceCount());
+    checker.clear();
+    assertEquals(0, checker.getCachedSentenceCount());
+  }
+
+  private void assertSameMatches(List<RuleMatch> expectedMatches, List<RuleMatch> matches) {
+    assertEquals(expectedMatches.size(), matches.size());
+    for (int i = 0; i < matches.size(); i++) {
+      final RuleMatch expected = expectedMatches.get(i);
+      final RuleMatch match = matches.get(i);
+      assertEquals(expected.getRule().getId(), match.getRule().getId());
+      assertEquals(expected.getFromPos(), match.getFromPos());
+      assertEquals(expected.getToPos(), match.getToPos());
+      assertEquals(expected.getLine(), match.getLine());
+      assertEquals(expected.getEndLine(), match.getEndLine());
+      assertEquals(expected.getColumn(), match.getColumn());
+      assertEquals(expected.getEndColumn(), match.getEndColumn());
+      assertEquals(expected.getSuggestedReplacements(), match.getSuggestedReplacements());
+    }
+  }
+
+}
@@ -26,6 +26,9 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -71,6 +74,74 @@ public class MultiThreadedJLanguageToolTest {
     Assert.assertEquals(Runtime.getRuntime().availableProcessors(), tool.getThreadPoolSize());
   }
 
+  @Test
+  public void testSharedExecutorService() throws IOException {
+    final ExecutorService executorService = Executors.newFixedThreadPool(3);
+    try {
+      final MultiThreadedJLanguageTool tool1 = new MultiThreadedJLanguageTool(new Demo(), null, executorService);
+      final MultiThreadedJLanguageTool tool2 = new MultiThreadedJLanguageTool(new Demo(), null, executorService);
+      final List<String> ruleMatchIds1 = getRuleMatchIds(tool1);
+      assertThat(getRuleMatchIds(tool2), is(ruleMatchIds1));
+      // the executor must still be usable for the next check:
+      Assert.assertEquals(ruleMatchIds1.size(), tool1.check("A small toast. No error here. Foo go bar. First goes last there, please!").size());
+      tool1.shutdown();
+      Assert.assertFalse(executorService.isShutdown());
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testSameResultAsSingleThreaded() throws IOException {
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 50; i++) {
+      sb.append("A small toast. No error here. Foo go bar.\nFirst goes last there, please! ");
+    }
+    final MultiThreadedJLanguageTool tool = new MultiThreadedJLanguageTool(new Demo());
+    tool.setThreadPoolSize(7);
+    tool.activateDefaultPatternRules();
+    final JLanguageTool singleThreadedTool = new JLanguageTool(new Demo());
+    singleThreadedTool.activateDefaultPatternRules();
+    final List<RuleMatch> matches = tool.check(sb.toString());
+    final List<RuleMatch> expectedMatches = singleThreadedTool.check(sb.toString());
+    Assert.assertEquals(expectedMatches.size(), matches.size());
+    for (int i = 0; i < matches.size(); i++) {
+      Assert.assertEquals(expectedMatches.get(i).getRule().getId(), matches.get(i).getRule().getId());
+      Assert.assertEquals(expectedMatches.get(i).getFromPos(), matches.get(i).getFromPos());
+      Assert.assertEquals(expectedMatches.get(i).getLine(), matches.get(i).getLine());
+      Assert.assertEquals(expectedMatches.get(i).getColumn(), matches.get(i).getColumn());
+    }
+    tool.shutdown();
+  }
+
+  @Test
+  public void testSentenceAnalysis() throws IOException {
+    final List<String> sentences = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      sentences.add("Word" + i + " here. ");
+    }
+    final MultiThreadedJLanguageTool tool = new MultiThreadedJLanguageTool(new Demo());
+    tool.setThreadPoolSize(3);
+    tool.setListUnknownWords(true);
+    final JLanguageTool singleThreadedTool = new JLanguageTool(new Demo());
+    singleThreadedTool.setListUnknownWords(true);
+    final StringBuilder sb = new StringBuilder();
+    for (String sentence : sentences) {
+      sb.append(sentence);
+    }
+    tool.check(sb.toString());
+    singleThreadedTool.check(sb.toString());
+    assertThat(tool.getUnknownWords(), is(singleThreadedTool.getUnknownWords()));
+    final List<AnalyzedSentence> analyzedSentences = tool.analyzeSentences(sentences);
+    Assert.assertEquals(sentences.size(), analyzedSentences.size());
+    for (int i = 0; i < analyzedSentences.size(); i++) {
+      final AnalyzedTokenReadings[] tokens = analyzedSentences.get(i).getTokens();
+      Assert.assertEquals("Word" + i, tokens[1].getToken());
+      Assert.assertEquals(i == analyzedSentences.size() - 1, tokens[tokens.length - 1].isParagraphEnd());
+    }
+    tool.shutdown();
+  }
+
   private List<String> getRuleMatchIds(JLanguageTool langTool) throws IOException {
     langTool.activateDefaultPatternRules();
     final String input = "A small toast. No error here. Foo go bar. First goes last there, please!";
@@ -82,6 +153,27 @@ public class MultiThreadedJLanguageToolTest {
     return ruleMatchIds;
   }
 
+  @Test
+  public void testCheckCancelled() throws IOException {
+    final JLanguageTool.CheckCancelledCallback cancelAlways = new JLanguageTool.CheckCancelledCallback() {
+      @Override
+      public boolean checkCancelled() {
+        return true;
+      }
+    };
+    for (JLanguageTool tool : Arrays.asList(new JLanguageTool(new Demo()), new MultiThreadedJLanguageTool(new Demo()))) {
+      tool.setCheckCancelledCallback(cancelAlways);
+      try {
+        tool.check("This is a test. And another one.");
+        Assert.fail("Expected the check to be cancelled");
+      } catch (CancellationException expected) {
+        // expected
+      }
+      tool.setCheckCancelledCallback(null);
+      tool.check("This is a test. And another one.");
+    }
+  }
+
   @Test
   public void testTwoRulesOnly() throws IOException {
     MultiThreadedJLanguageTool langTool = new MultiThreadedJLanguageTool(new Language() {
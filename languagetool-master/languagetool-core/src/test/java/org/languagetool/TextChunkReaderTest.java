@@ -0,0 +1,110 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import org.junit.Test;
+import org.languagetool.language.Demo;
+import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.RuleMatchListener;
+import org.languagetool.rules.WordRepeatBeginningRule;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TextChunkReaderTest {
+
+  @Test
+  public void testReadChunk() throws IOException {
+    final TextChunkReader reader = new TextChunkReader(new StringReader("One.\nTwo.\n\nThree.\r\n\r\nFour."), false, 1, 100);
+    assertEquals("One.\nTwo.\n\n", reader.readChunk());
+    assertTrue(reader.isAtParagraphEnd());
+    assertEquals("Three.\r\n\r\n", reader.readChunk());
+    assertEquals("Four.", reader.readChunk());
+    assertTrue(reader.isAtParagraphEnd());
+    assertNull(reader.readChunk());
+  }
+
+  @Test
+  public void testReadChunkWithSingleLineBreaks() throws IOException {
+    final TextChunkReader reader = new TextChunkReader(new StringReader("One.\nTwo.\nThree.\n"), true, 6, 100);
+    assertEquals("One.\nTwo.\n", reader.readChunk());
+    assertEquals("Three.\n", reader.readChunk());
+    assertNull(reader.readChunk());
+  }
+
+  @Test
+  public void testReadChunkWithLongParagraph() throws IOException {
+    final TextChunkReader reader = new TextChunkReader(new StringReader("One. Two. Three."), false, 1, 7);
+    assertEquals("One. Tw", reader.readChunk());
+    assertFalse(reader.isAtParagraphEnd());
+    assertEquals("o. Thre", reader.readChunk());
+    assertEquals("e.", reader.readChunk());
+    assertTrue(reader.isAtParagraphEnd());
+  }
+
+  @Test
+  public void testCheckWithReader() throws IOException {
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      sb.append("A small toast. No error here. Foo go bar.\nFirst goes last there, please!\n\n");
+    }
+    final JLanguageTool lt = new JLanguageTool(new Demo());
+    lt.activateDefaultPatternRules();
+    assertSameMatchesAsWithString(lt, sb.toString());
+  }
+
+  @Test
+  public void testCheckWithReaderKeepsRuleState() throws IOException {
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      sb.append("The cat sits on the mat.\n\n");
+    }
+    final JLanguageTool lt = new JLanguageTool(new Demo());
+    lt.addRule(new WordRepeatBeginningRule(JLanguageTool.getMessageBundle(), new Demo()));
+    assertSameMatchesAsWithString(lt, sb.toString());
+  }
+
+  private void assertSameMatchesAsWithString(final JLanguageTool lt, final String text) throws IOException {
+    final List<RuleMatch> expectedMatches = lt.check(text);
+    final int expectedSentenceCount = lt.getSentenceCount();
+    final List<RuleMatch> matches = new ArrayList<>();
+    lt.check(new StringReader(text), new RuleMatchListener() {
+      @Override
+      public void matchesFound(String chunk, long textOffset, List<RuleMatch> ruleMatches) {
+        assertEquals(chunk, text.substring((int) textOffset, (int) textOffset + chunk.length()));
+        matches.addAll(ruleMatches);
+      }
+    });
+    assertEquals(expectedSentenceCount, lt.getSentenceCount());
+    assertEquals(expectedMatches.size(), matches.size());
+    for (int i = 0; i < matches.size(); i++) {
+      assertEquals(expectedMatches.get(i).getRule().getId(), matches.get(i).getRule().getId());
+      assertEquals(expectedMatches.get(i).getFromPos(), matches.get(i).getFromPos());
+      assertEquals(expectedMatches.get(i).getLine(), matches.get(i).getLine());
+      assertEquals(expectedMatches.get(i).getColumn(), matches.get(i).getColumn());
+      assertEquals(expectedMatches.get(i).getEndLine(), matches.get(i).getEndLine());
+      assertEquals(expectedMatches.get(i).getEndColumn(), matches.get(i).getEndColumn());
+    }
+  }
+
+}
@@ -0,0 +1,74 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.markup;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class AnnotatedTextBuilderTest {
+
+  @Test
+  public void testPlainText() {
+    final AnnotatedText text = new AnnotatedTextBuilder()
+            .addMarkup("<b>").addText("here").addMarkup("</b>").addText(" is text").build();
+    assertEquals("here is text", text.getPlainText());
+    assertEquals("", new AnnotatedTextBuilder().build().getPlainText());
+  }
+
+  @Test
+  public void testOriginalTextPositions() {
+    // "<b>here</b> is an <i attr='x'></i>error<br/>"
+    final AnnotatedText text = new AnnotatedTextBuilder()
+            .addMarkup("<b>")
+            .addText("here")
+            .addMarkup("</b>")
+            .addText(" is an ")
+            .addMarkup("<i attr='x'>")
+            .addMarkup("</i>")
+            .addText("error")
+            .addMarkup("<br/>")
+            .build();
+    assertEquals(3, text.getOriginalTextPositionFor(0));
+    assertEquals(4, text.getOriginalTextPositionFor(1));
+    assertEquals(6, text.getOriginalTextPositionFor(3));
+    // a position after markup is mapped to the position after the markup:
+    assertEquals(11, text.getOriginalTextPositionFor(4));
+    assertEquals(17, text.getOriginalTextPositionFor(10));
+    assertEquals(34, text.getOriginalTextPositionFor(11));
+    assertEquals(38, text.getOriginalTextPositionFor(15));
+    assertEquals(44, text.getOriginalTextPositionFor(16));
+    assertEquals(45, text.getOriginalTextPositionFor(17));
+  }
+
+  @Test
+  public void testTextWithoutMarkup() {
+    final AnnotatedText text = new AnnotatedTextBuilder().addText("foo ").addText("bar").build();
+    assertEquals("foo bar", text.getPlainText());
+    for (int i = 0; i < 10; i++) {
+      assertEquals(i, text.getOriginalTextPositionFor(i));
+    }
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testNegativePosition() {
+    new AnnotatedTextBuilder().addText("foo").build().getOriginalTextPositionFor(-1);
+  }
+
+}
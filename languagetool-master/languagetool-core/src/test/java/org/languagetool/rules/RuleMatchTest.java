@@ -0,0 +1,86 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.languagetool.Language;
+import org.languagetool.rules.patterns.Element;
+import org.languagetool.rules.patterns.PatternRule;
+
+public class RuleMatchTest extends TestCase {
+
+  public void testLazySuggestedReplacements() {
+    final PatternRule rule = new PatternRule("id1", Language.DEMO, new ArrayList<Element>(), "desc1", "msg1", "shortMsg1");
+    final RuleMatch match = new RuleMatch(rule, 10, 20, "Match1");
+    final int[] calls = {0};
+    match.setLazySuggestedReplacements(new RuleMatch.SuggestionsProvider() {
+      @Override
+      public List<String> getSuggestions() {
+        calls[0]++;
+        return Arrays.asList("foo", "bar");
+      }
+    });
+    assertEquals(0, calls[0]);
+    assertEquals(Arrays.asList("foo", "bar"), match.getSuggestedReplacements());
+    assertEquals(Arrays.asList("foo", "bar"), match.getSuggestedReplacements());
+    assertEquals(1, calls[0]);
+  }
+
+  public void testSetSuggestedReplacementsReplacesLazySuggestions() {
+    final PatternRule rule = new PatternRule("id1", Language.DEMO, new ArrayList<Element>(), "desc1", "msg1", "shortMsg1");
+    final RuleMatch match = new RuleMatch(rule, 10, 20, "Match1");
+    match.setLazySuggestedReplacements(new RuleMatch.SuggestionsProvider() {
+      @Override
+      public List<String> getSuggestions() {
+        throw new AssertionError("suggestions should not be computed");
+      }
+    });
+    match.setSuggestedReplacements(Collections.<String>emptyList());
+    assertEquals(0, match.getSuggestedReplacements().size());
+  }
+
+  public void testSetSuggestedReplacementsFrom() {
+    final PatternRule rule = new PatternRule("id1", Language.DEMO, new ArrayList<Element>(), "desc1", "msg1", "shortMsg1");
+    final RuleMatch match = new RuleMatch(rule, 10, 20, "Match1");
+    final int[] calls = {0};
+    match.setLazySuggestedReplacements(new RuleMatch.SuggestionsProvider() {
+      @Override
+      public List<String> getSuggestions() {
+        calls[0]++;
+        return Arrays.asList("foo");
+      }
+    });
+    final RuleMatch copy = new RuleMatch(rule, 30, 40, "Match1");
+    copy.setSuggestedReplacementsFrom(match);
+    assertEquals(0, calls[0]);
+    assertEquals(Arrays.asList("foo"), copy.getSuggestedReplacements());
+    assertEquals(Arrays.asList("foo"), match.getSuggestedReplacements());
+    assertEquals(1, calls[0]);
+    final RuleMatch secondCopy = new RuleMatch(rule, 50, 60, "Match1");
+    secondCopy.setSuggestedReplacementsFrom(copy);
+    assertEquals(Arrays.asList("foo"), secondCopy.getSuggestedReplacements());
+  }
+
+}
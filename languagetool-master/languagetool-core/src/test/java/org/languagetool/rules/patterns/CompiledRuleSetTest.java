@@ -0,0 +1,81 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.patterns;
+
+import org.junit.Test;
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.RuleMatch;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CompiledRuleSetTest {
+
+  @Test
+  public void testRulesAreShared() throws Exception {
+    final CompiledRuleSet ruleSet = CompiledRuleSet.getInstance(Language.DEMO);
+    assertSame(ruleSet, CompiledRuleSet.getInstance(Language.DEMO));
+    assertTrue(ruleSet.getPatternRules().size() >= 30);
+
+    final JLanguageTool lt1 = new JLanguageTool(Language.DEMO);
+    lt1.activateDefaultPatternRules();
+    final JLanguageTool lt2 = new JLanguageTool(Language.DEMO);
+    lt2.activateDefaultPatternRules();
+    final PatternRule demoRule1 = getDemoRule(lt1.getAllRules());
+    final PatternRule demoRule2 = getDemoRule(lt2.getAllRules());
+    assertSame(demoRule1, demoRule2);
+
+    // disabling a rule must not affect other instances:
+    lt1.disableRule("DEMO_RULE");
+    assertFalse(hasDemoRuleMatch(lt1.check("This is foo bar.")));
+    assertTrue(hasDemoRuleMatch(lt2.check("This is foo bar.")));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testRulesCannotBeModified() throws Exception {
+    CompiledRuleSet.getInstance(Language.DEMO).getPatternRules().clear();
+  }
+
+  @Test
+  public void testNoMotherTongue() throws Exception {
+    assertEquals(0, CompiledRuleSet.getInstance(Language.DEMO).getFalseFriendRules(null).size());
+  }
+
+  private boolean hasDemoRuleMatch(List<RuleMatch> matches) {
+    for (RuleMatch match : matches) {
+      if (match.getRule().getId().equals("DEMO_RULE")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private PatternRule getDemoRule(List<Rule> rules) {
+    for (Rule rule : rules) {
+      if (rule.getId().equals("DEMO_RULE")) {
+        return (PatternRule) rule;
+      }
+    }
+    throw new RuntimeException("DEMO_RULE not found");
+  }
+
+}
@@ -22,6 +22,7 @@ package org.languagetool.rules.patterns;
 import junit.framework.TestCase;
 import org.languagetool.AnalyzedToken;
 import org.languagetool.JLanguageTool;
+import org.languagetool.tagging.PosTagTable;
 
 public class ElementTest extends TestCase {
 
@@ -122,5 +123,22 @@ public class ElementTest extends TestCase {
     assertTrue(element4.isMatched(anWithPOS)); 
     assertFalse(element5.isMatched(anWithPOS));
   }
-  
+
+  public void testPosRegExpMatchedRepeatedly() {
+    final Element element = new Element("", false, false, false);
+    final PosTagTable posTagTable = new PosTagTable();
+    element.setPosTagTable(posTagTable);
+    element.setPosElement("SUB:(NOM|AKK):.*", true, false);
+    for (int i = 0; i < 3; i++) {
+      assertTrue(element.isMatched(new AnalyzedToken("Haus", "SUB:NOM:SIN:NEU", "Haus")));
+      assertTrue(element.isMatched(new AnalyzedToken("Haus", "SUB:AKK:SIN:NEU", "Haus")));
+      assertFalse(element.isMatched(new AnalyzedToken("Hauses", "SUB:GEN:SIN:NEU", "Haus")));
+    }
+    // a new POS replaces the results for the old one:
+    element.setPosElement("SUB:GEN:.*", true, false);
+    assertFalse(element.isMatched(new AnalyzedToken("Haus", "SUB:NOM:SIN:NEU", "Haus")));
+    assertTrue(element.isMatched(new AnalyzedToken("Hauses", "SUB:GEN:SIN:NEU", "Haus")));
+    assertEquals(3, posTagTable.size());
+  }
+
 }
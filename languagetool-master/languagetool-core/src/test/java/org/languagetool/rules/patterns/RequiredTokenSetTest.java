@@ -0,0 +1,82 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.patterns;
+
+import org.junit.Test;
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.JLanguageTool;
+import org.languagetool.language.Demo;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RequiredTokenSetTest {
+
+  private final JLanguageTool langTool;
+
+  public RequiredTokenSetTest() throws IOException {
+    langTool = new JLanguageTool(new Demo());
+  }
+
+  @Test
+  public void testPlainString() throws IOException {
+    final RequiredTokenSet tokens = RequiredTokenSet.create(Arrays.asList(new Element("foo", false, false, false)));
+    assertTrue(tokens.canMatch(sentence("This is FOO.")));
+    assertFalse(tokens.canMatch(sentence("This is food.")));
+  }
+
+  @Test
+  public void testRegularExpression() throws IOException {
+    final RequiredTokenSet tokens = RequiredTokenSet.create(Arrays.asList(new Element("foo|bar", true, true, false)));
+    assertTrue(tokens.canMatch(sentence("This is bar.")));
+    assertTrue(tokens.canMatch(sentence("This is Bar.")));  // case-sensitive matching is left to the rule
+    assertFalse(tokens.canMatch(sentence("This is bars.")));
+    final RequiredTokenSet anyTokens = RequiredTokenSet.create(Arrays.asList(new Element("foo.*", false, true, false)));
+    assertTrue(anyTokens.canMatch(sentence("This is something else.")));
+  }
+
+  @Test
+  public void testUsesRequiredElementWithFewestAlternatives() throws IOException {
+    final Element optional = new Element("optional", false, false, false);
+    optional.setMinOccurrence(0);
+    final Element negated = new Element("negated", false, false, false);
+    negated.setNegation(true);
+    final Element alternatives = new Element("a|b|c", false, true, false);
+    final Element single = new Element("single", false, false, false);
+    final RequiredTokenSet tokens = RequiredTokenSet.create(Arrays.asList(optional, negated, alternatives, single));
+    assertTrue(tokens.canMatch(sentence("This is single.")));
+    assertFalse(tokens.canMatch(sentence("This is optional negated a b c.")));
+  }
+
+  @Test
+  public void testElementsWithoutString() throws IOException {
+    final Element posElement = new Element("", false, false, false);
+    posElement.setPosElement("NN", false, false);
+    final RequiredTokenSet tokens = RequiredTokenSet.create(Arrays.asList(posElement));
+    assertTrue(tokens.canMatch(sentence("Anything.")));
+  }
+
+  private AnalyzedSentence sentence(String text) throws IOException {
+    return langTool.getAnalyzedSentence(text);
+  }
+
+}
@@ -0,0 +1,77 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling;
+
+import junit.framework.TestCase;
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.Language;
+import org.languagetool.TestTools;
+import org.languagetool.rules.RuleMatch;
+
+import java.util.Collections;
+import java.util.List;
+
+public class SpellingCheckRuleTest extends TestCase {
+
+  public void testCachedSuggestions() throws Exception {
+    final CountingSpellingCheckRule rule = new CountingSpellingCheckRule();
+    rule.clearCaches();
+    assertEquals("[foo]", rule.getCachedSuggestions("fooo").toString());
+    assertEquals("[foo]", rule.getCachedSuggestions("fooo").toString());
+    assertEquals(1, rule.computeCount);
+    // another instance uses the same cache:
+    final CountingSpellingCheckRule otherRule = new CountingSpellingCheckRule();
+    assertEquals("[foo]", otherRule.getCachedSuggestions("fooo").toString());
+    assertEquals(0, otherRule.computeCount);
+    rule.clearCaches();
+    assertEquals("[foo]", otherRule.getCachedSuggestions("fooo").toString());
+    assertEquals(1, otherRule.computeCount);
+  }
+
+  private static class CountingSpellingCheckRule extends SpellingCheckRule {
+
+    private int computeCount;
+
+    CountingSpellingCheckRule() {
+      super(TestTools.getEnglishMessages(), Language.DEMO);
+    }
+
+    @Override
+    protected List<String> computeSuggestions(String word) {
+      computeCount++;
+      return Collections.singletonList("foo");
+    }
+
+    @Override
+    public String getId() {
+      return "COUNTING_SPELLING_RULE";
+    }
+
+    @Override
+    public String getDescription() {
+      return "Counts how often suggestions are computed";
+    }
+
+    @Override
+    public RuleMatch[] match(AnalyzedSentence text) {
+      return new RuleMatch[0];
+    }
+  }
+
+}
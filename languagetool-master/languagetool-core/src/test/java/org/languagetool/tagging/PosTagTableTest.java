@@ -0,0 +1,43 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tagging;
+
+import junit.framework.TestCase;
+
+public class PosTagTableTest extends TestCase {
+
+  public void testGetId() {
+    final PosTagTable table = new PosTagTable();
+    final int id = table.getId("SUB:NOM:SIN:MAS");
+    assertEquals(0, id);
+    assertEquals(id, table.getId(new String("SUB:NOM:SIN:MAS")));
+    assertEquals(1, table.getId("SUB:NOM:SIN:FEM"));
+    assertEquals(2, table.size());
+    assertEquals(PosTagTable.NO_ID, table.getId(null));
+  }
+
+  public void testTablesAreIndependent() {
+    final PosTagTable table1 = new PosTagTable();
+    final PosTagTable table2 = new PosTagTable();
+    table1.getId("subst:sg:nom:m1");
+    assertEquals(0, table2.getId("NN"));
+    assertEquals(1, table1.getId("NN"));
+  }
+
+}
@@ -0,0 +1,76 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tools;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public class RegexToolsTest extends TestCase {
+
+  public void testCompile() {
+    final Pattern pattern = RegexTools.compile("fo+");
+    assertSame(pattern, RegexTools.compile("fo+"));
+    assertNotSame(pattern, RegexTools.compile("fo+", Pattern.CASE_INSENSITIVE));
+    assertTrue(RegexTools.compile("fo+", Pattern.CASE_INSENSITIVE).matcher("FOO").matches());
+    RegexTools.clearCache();
+    assertNotSame(pattern, RegexTools.compile("fo+"));
+  }
+
+  public void testGetLiteralAlternatives() {
+    assertEquals(set("foo"), RegexTools.getLiteralAlternatives("foo", true));
+    assertEquals(set("foo", "Bar", "a-b", "c'd"), RegexTools.getLiteralAlternatives("foo|Bar|a-b|c'd", true));
+    assertEquals(set("foo", "bar"), RegexTools.getLiteralAlternatives("foo|Bar", false));
+    assertEquals(set("NN:UN", "VB"), RegexTools.getLiteralAlternatives("NN:UN|VB", true));
+    assertNull(RegexTools.getLiteralAlternatives("", true));
+    assertNull(RegexTools.getLiteralAlternatives("foo|", true));
+    assertNull(RegexTools.getLiteralAlternatives("fo.", true));
+    assertNull(RegexTools.getLiteralAlternatives("(foo|bar)", true));
+    assertNull(RegexTools.getLiteralAlternatives("foo\\|bar", true));
+    assertNull(RegexTools.getLiteralAlternatives("NN.*", true));
+    assertEquals(set("straße"), RegexTools.getLiteralAlternatives("straße", true));
+    assertNull(RegexTools.getLiteralAlternatives("straße", false));
+  }
+
+  public void testGetCachedLiteralAlternatives() {
+    final int caseInsensitive = Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+    assertEquals(set("foo", "Bar"), RegexTools.getCachedLiteralAlternatives("foo|Bar", 0));
+    assertSame(RegexTools.getCachedLiteralAlternatives("foo|Bar", 0), RegexTools.getCachedLiteralAlternatives("foo|Bar", 0));
+    assertEquals(set("foo", "bar"), RegexTools.getCachedLiteralAlternatives("foo|Bar", caseInsensitive));
+    assertNull(RegexTools.getCachedLiteralAlternatives("foo|Bar", Pattern.CASE_INSENSITIVE));
+    assertNull(RegexTools.getCachedLiteralAlternatives("fo+", 0));
+  }
+
+  public void testLiteralAlternativesMatchLikeRegex() {
+    final String regex = "Éclair|İstanbul|ǅemal";
+    final Set<String> alternatives = RegexTools.getLiteralAlternatives(regex, false);
+    final Pattern pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    for (String s : Arrays.asList("éclair", "ÉCLAIR", "eclair", "istanbul", "İSTANBUL", "DŽEMAL", "džemal", "ǅemal", "İstanbul")) {
+      assertEquals(s, pattern.matcher(s).matches(), alternatives.contains(StringTools.foldCase(s)));
+    }
+  }
+
+  private Set<String> set(String... strings) {
+    return new HashSet<>(Arrays.asList(strings));
+  }
+
+}
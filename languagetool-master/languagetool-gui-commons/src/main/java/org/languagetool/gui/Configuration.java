@@ -69,6 +69,14 @@ public class Configuration {
   public Configuration(final Language lang) throws IOException {
     this(new File(System.getProperty("user.home")), CONFIG_FILE, lang);
   }
+
+  /**
+   * The configuration file that {@link #Configuration(Language)} uses.
+   * @since 2.4
+   */
+  public static File getDefaultConfigFile() {
+    return new File(System.getProperty("user.home"), CONFIG_FILE);
+  }
   
   public Configuration(final File baseDir, final String filename, final Language lang)
       throws IOException {
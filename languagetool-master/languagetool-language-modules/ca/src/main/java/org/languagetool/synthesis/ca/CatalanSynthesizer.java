@@ -74,7 +74,6 @@ public class CatalanSynthesizer extends BaseSynthesizer {
   public String[] synthesize(final AnalyzedToken token, final String posTag) throws IOException {
     initSynthesizer();
     initPossibleTags();
-    final Pattern p;
     boolean addDt = false; 
     String prep = ""; 
     final Matcher mPrep = pPrep.matcher(posTag);
@@ -84,22 +83,20 @@ public class CatalanSynthesizer extends BaseSynthesizer {
         prep=mPrep.group(2); // add preposition before article
       }
     }
+    final List<String> tags;
     if (addDt) {
-      p = Pattern.compile("N.*|A.*|V.P.*|PX.");
+      tags = getMatchingTags("N.*|A.*|V.P.*|PX.");
     } else {
-      p = Pattern.compile(posTag);
+      tags = getMatchingTags(posTag);
     }
     final ArrayList<String> results = new ArrayList<>();
-    final IStemmer synthesizer = createStemmer();
+    final IStemmer synthesizer = getStemmer();
     
-    for (final String tag : possibleTags) {
-      final Matcher m = p.matcher(tag);
-      if (m.matches()) {
-        if (addDt) {
-          lookupWithEl(token.getLemma(), tag, prep, results, synthesizer);
-        } else {
-          lookup(token.getLemma(), tag, results);
-        }
+    for (final String tag : tags) {
+      if (addDt) {
+        lookupWithEl(token.getLemma(), tag, prep, results, synthesizer);
+      } else {
+        lookup(token.getLemma(), tag, results);
       }
     }
     return results.toArray(new String[results.size()]);
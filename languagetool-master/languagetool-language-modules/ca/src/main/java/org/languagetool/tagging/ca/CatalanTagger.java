@@ -25,7 +25,6 @@ import java.util.Locale;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import morfologik.stemming.DictionaryLookup;
 import morfologik.stemming.IStemmer;
 import morfologik.stemming.WordData;
 
@@ -60,7 +59,7 @@ public class CatalanTagger extends BaseTagger {
   }
 
   public boolean existsWord(String word) throws IOException {
-    final IStemmer dictLookup = new DictionaryLookup(getDictionary());
+    final IStemmer dictLookup = getStemmer();
     final String lowerWord = word.toLowerCase(conversionLocale);
     List<WordData> posTagsFromDict = dictLookup.lookup(lowerWord);
     if (posTagsFromDict.isEmpty()) {
@@ -75,7 +74,7 @@ public class CatalanTagger extends BaseTagger {
   public List<AnalyzedToken> additionalTags(String word) {
     final IStemmer dictLookup;
     try {
-      dictLookup = new DictionaryLookup(getDictionary());
+      dictLookup = getStemmer();
     } catch (IOException e) {
       throw new RuntimeException("Could not load Catalan dictionary from " + getFileName(), e);
     }
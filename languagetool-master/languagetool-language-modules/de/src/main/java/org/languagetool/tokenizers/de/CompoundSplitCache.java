@@ -0,0 +1,112 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tokenizers.de;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cache of compound words and their parts that can be used by several threads.
+ * The cache is cleared when it gets full, use {@link #getHits()} and {@link #getMisses()}
+ * to find a good {@link #setMaxSize(int) maximum size}.
+ * @since 2.4
+ */
+public class CompoundSplitCache {
+
+  private final ConcurrentMap<String, List<String>> cache = new ConcurrentHashMap<>();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  private volatile int maxSize;
+
+  CompoundSplitCache(int maxSize) {
+    setMaxSize(maxSize);
+  }
+
+  /**
+   * @return the parts of the word, or {@code null} if the word is not in the cache
+   */
+  List<String> get(String word) {
+    final List<String> parts = cache.get(word);
+    if (parts != null) {
+      hits.incrementAndGet();
+    } else {
+      misses.incrementAndGet();
+    }
+    return parts;
+  }
+
+  boolean contains(String word) {
+    return cache.containsKey(word);
+  }
+
+  void put(String word, List<String> parts) {
+    if (cache.size() >= maxSize) {
+      cache.clear();
+    }
+    cache.put(word, parts);
+  }
+
+  /**
+   * The number of words that have been found in the cache.
+   */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /**
+   * The number of words that had to be split because they were not in the cache.
+   */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /**
+   * The number of words in the cache.
+   */
+  public int size() {
+    return cache.size();
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Set the maximum number of words in the cache.
+   */
+  public void setMaxSize(int maxSize) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be > 0: " + maxSize);
+    }
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Remove all words from the cache and reset the statistics.
+   */
+  public void clear() {
+    cache.clear();
+    hits.set(0);
+    misses.set(0);
+  }
+
+}
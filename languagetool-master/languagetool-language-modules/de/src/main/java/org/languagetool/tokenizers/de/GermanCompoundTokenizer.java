@@ -18,31 +18,103 @@
  */
 package org.languagetool.tokenizers.de;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Collections;
 import java.util.List;
 
-import org.languagetool.tokenizers.Tokenizer;
+import org.languagetool.tokenizers.CompoundWordTokenizer;
 
 import de.abelssoft.wordtools.jwordsplitter.impl.GermanWordSplitter;
 
 /**
- * Split German nouns using the jWordSplitter library.
+ * Split German nouns using the jWordSplitter library. As splitting is slow and
+ * the same compounds occur again and again, the results are cached. The cache is
+ * shared by all instances with the same strict mode, e.g. by the tagger and the
+ * spell checker of several {@link org.languagetool.JLanguageTool} instances.
  * 
  * @author Daniel Naber
  */
-public class GermanCompoundTokenizer implements Tokenizer {
+public class GermanCompoundTokenizer implements CompoundWordTokenizer {
+
+  private static final int DEFAULT_MAX_CACHE_SIZE = 50000;
+
+  private static final CompoundSplitCache strictModeCache = new CompoundSplitCache(DEFAULT_MAX_CACHE_SIZE);
+  private static final CompoundSplitCache nonStrictModeCache = new CompoundSplitCache(DEFAULT_MAX_CACHE_SIZE);
 
   private final GermanWordSplitter wordSplitter;
+  private final CompoundSplitCache cache;
   
   public GermanCompoundTokenizer() throws IOException {
+    this(true);  // required for now to make minimum length work
+  }
+
+  /**
+   * @param strictMode if false, words are also split when one of their parts is unknown,
+   *   e.g. because it is misspelled
+   * @since 2.4
+   */
+  public GermanCompoundTokenizer(boolean strictMode) throws IOException {
     wordSplitter = new GermanWordSplitter(false);
-    wordSplitter.setStrictMode(true); // required for now to make minimum length work
+    wordSplitter.setStrictMode(strictMode);
     wordSplitter.setMinimumWordLength(3);
+    cache = getCache(strictMode);
+  }
+
+  /**
+   * Get the cache shared by all instances with the given strict mode.
+   * @since 2.4
+   */
+  public static CompoundSplitCache getCache(boolean strictMode) {
+    return strictMode ? strictModeCache : nonStrictModeCache;
   }
 
+  /**
+   * @return the parts of the word, as an unmodifiable list
+   */
   @Override
   public List<String> tokenize(String word) {
-    return (List<String>) wordSplitter.splitWord(word);
+    List<String> parts = cache.get(word);
+    if (parts == null) {
+      parts = split(word);
+      cache.put(word, parts);
+    }
+    return parts;
+  }
+
+  private List<String> split(String word) {
+    return Collections.unmodifiableList((List<String>) wordSplitter.splitWord(word));
+  }
+
+  /**
+   * Fill the cache with the splits of the most frequent words, so it is useful from the start.
+   * This doesn't count as hits or misses of the cache. The server calls this on startup if it's
+   * started with {@code --compound-frequency-list}.
+   * @param frequencyList a UTF-8 encoded list with one word per line, most frequent words first. The
+   *   word may be followed by whitespace and more text, like its frequency. Lines starting with {@code #} are ignored.
+   * @param maxWords the maximum number of words to be read from the list
+   * @return the number of words that have been split
+   * @since 2.4
+   */
+  public int warmUpCache(InputStream frequencyList, int maxWords) throws IOException {
+    int count = 0;
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(frequencyList, "utf-8"))) {
+      String line;
+      while (count < maxWords && (line = reader.readLine()) != null) {
+        line = line.trim();
+        if (line.isEmpty() || line.startsWith("#")) {
+          continue;
+        }
+        final String word = line.split("\\s+", 2)[0];
+        if (!cache.contains(word)) {
+          cache.put(word, split(word));
+        }
+        count++;
+      }
+    }
+    return count;
   }
 
   public static void main(String[] args) throws IOException {
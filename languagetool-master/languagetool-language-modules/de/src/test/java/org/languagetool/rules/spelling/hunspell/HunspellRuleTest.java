@@ -20,6 +20,7 @@ package org.languagetool.rules.spelling.hunspell;
 
 import org.junit.Ignore;
 import org.junit.Test;
+import org.languagetool.AnalyzedSentence;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Language;
 import org.languagetool.TestTools;
@@ -30,9 +31,15 @@ import org.languagetool.language.SwissGerman;
 import org.languagetool.rules.de.GermanSpellerRule;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.assertEquals;
 
@@ -84,6 +91,48 @@ public class HunspellRuleTest {
     assertEquals(2, rule.match(langTool.getAnalyzedSentence("Der asdegfue orkt")).length);
   }
 
+  @Test
+  public void testBatchMisspelled() throws Exception {
+    final HunspellRule rule = new HunspellRule(TestTools.getMessages("German"), new GermanyGerman());
+    rule.init();
+    final List<String> words = Arrays.asList("Der", "Waschmaschinentestversuch", "Arbeitsnehmer", "äußere", "asdegfue", "Der");
+    final boolean[] misspelled = rule.dictionary.misspelled(words);
+    assertEquals(words.size(), misspelled.length);
+    for (int i = 0; i < words.size(); i++) {
+      assertEquals(words.get(i), rule.dictionary.misspelled(words.get(i)), misspelled[i]);
+    }
+    assertEquals("[false, false, true, false, true, false]", Arrays.toString(misspelled));
+  }
+
+  @Test
+  public void testSeveralThreads() throws Exception {
+    final int maxHandles = Hunspell.getMaxHandlesPerDictionary();
+    Hunspell.setMaxHandlesPerDictionary(3);
+    final ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      final HunspellRule rule = new HunspellRule(TestTools.getMessages("German"), new GermanyGerman());
+      rule.init();
+      final JLanguageTool langTool = new JLanguageTool(new German());
+      final AnalyzedSentence sentence = langTool.getAnalyzedSentence("Der Arbeitsnehmer und der asdegfue orkt.");
+      final List<Future<Integer>> futures = new ArrayList<>();
+      // most results will come from the cache, but the first checks run in parallel:
+      for (int i = 0; i < 30; i++) {
+        futures.add(executor.submit(new Callable<Integer>() {
+          @Override
+          public Integer call() throws Exception {
+            return rule.match(sentence).length;
+          }
+        }));
+      }
+      for (Future<Integer> future : futures) {
+        assertEquals(3, (int) future.get());
+      }
+    } finally {
+      executor.shutdownNow();
+      Hunspell.setMaxHandlesPerDictionary(maxHandles);
+    }
+  }
+
   @Ignore("just for internal performance testing, thus ignored by default")
   @Test
   public void testPerformance() throws Exception {
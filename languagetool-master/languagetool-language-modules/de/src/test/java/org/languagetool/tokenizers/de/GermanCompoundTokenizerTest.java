@@ -0,0 +1,73 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tokenizers.de;
+
+import junit.framework.TestCase;
+
+import org.languagetool.tools.StringTools;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+public class GermanCompoundTokenizerTest extends TestCase {
+
+  public void testTokenize() throws IOException {
+    final GermanCompoundTokenizer tokenizer = new GermanCompoundTokenizer();
+    final List<String> parts = tokenizer.tokenize("Haustür");
+    assertEquals(2, parts.size());
+    assertEquals("Haustür", StringTools.listToString(parts, ""));
+    assertEquals(Arrays.asList("Haus"), tokenizer.tokenize("Haus"));
+  }
+
+  public void testCache() throws IOException {
+    final GermanCompoundTokenizer tokenizer = new GermanCompoundTokenizer();
+    final CompoundSplitCache cache = GermanCompoundTokenizer.getCache(true);
+    assertSame(cache, GermanCompoundTokenizer.getCache(true));
+    assertNotSame(cache, GermanCompoundTokenizer.getCache(false));
+    cache.clear();
+    final List<String> parts = tokenizer.tokenize("Haustür");
+    assertEquals(0, cache.getHits());
+    assertEquals(1, cache.getMisses());
+    // the cache is shared by all instances:
+    assertSame(parts, new GermanCompoundTokenizer().tokenize("Haustür"));
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.size());
+    try {
+      parts.add("foo");
+      fail("Cached parts must not be modifiable");
+    } catch (UnsupportedOperationException expected) {
+      // expected
+    }
+  }
+
+  public void testWarmUpCache() throws IOException {
+    final GermanCompoundTokenizer tokenizer = new GermanCompoundTokenizer();
+    final CompoundSplitCache cache = GermanCompoundTokenizer.getCache(true);
+    cache.clear();
+    final String frequencyList = "# comment\nHaustür 1000\nAutobahn\t500\n\nFußball 100\n";
+    assertEquals(2, tokenizer.warmUpCache(new ByteArrayInputStream(frequencyList.getBytes("utf-8")), 2));
+    assertEquals(2, cache.size());
+    assertEquals(0, cache.getMisses());
+    tokenizer.tokenize("Autobahn");
+    assertEquals(1, cache.getHits());
+  }
+
+}
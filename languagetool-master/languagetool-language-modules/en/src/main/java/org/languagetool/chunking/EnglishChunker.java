@@ -22,43 +22,47 @@ import opennlp.tools.chunker.ChunkerME;
 import opennlp.tools.chunker.ChunkerModel;
 import opennlp.tools.postag.POSModel;
 import opennlp.tools.postag.POSTaggerME;
-import opennlp.tools.tokenize.TokenizerME;
-import opennlp.tools.tokenize.TokenizerModel;
 import org.languagetool.AnalyzedTokenReadings;
 import org.languagetool.tools.Tools;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
- * OpenNLP-based chunker. Also uses the OpenNLP tokenizer and POS tagger and
- * maps the result to our own tokens (we have our own tokenizer), as far as trivially possible.
+ * OpenNLP-based chunker. Also uses the OpenNLP POS tagger. It runs on our own tokens,
+ * which are only joined where OpenNLP expects a different tokenization (e.g. [I]['ll]
+ * instead of [I]['][ll]). Tokens that have been joined or split that way get no chunk tags.
  * @since 2.3
  */
 public class EnglishChunker implements Chunker {
 
-  private static final String TOKENIZER_MODEL = "/en-token.bin";
   private static final String POS_TAGGER_MODEL = "/en-pos-maxent.bin";
   private static final String CHUNKER_MODEL = "/en-chunker.bin";
 
+  // the parts of contractions like "I'll" that OpenNLP expects as one token with the apostrophe:
+  private static final Set<String> CONTRACTION_SUFFIXES = new HashSet<>(Arrays.asList("s", "ll", "re", "ve", "d", "m"));
+
   /**
    * This needs to be static to save memory: as Language.LANGUAGES is static, any language
    * that is once created there will never be released. As English has several variants,
    * we'd have as many posModels etc. as we have variants -> huge waste of memory:
    */
-  private static TokenizerModel tokenModel;
   private static POSModel posModel;
   private static ChunkerModel chunkerModel;
 
+  // the tagger and chunker are not thread-safe, but each thread can re-use its own:
+  private static final ThreadLocal<POSTaggerME> posTaggers = new ThreadLocal<>();
+  private static final ThreadLocal<ChunkerME> chunkers = new ThreadLocal<>();
+
   private final EnglishChunkFilter chunkFilter;
 
   public EnglishChunker() {
     try {
-      if (tokenModel == null) {
-        tokenModel = new TokenizerModel(Tools.getStream(TOKENIZER_MODEL));
-      }
       if (posModel == null) {
         posModel = new POSModel(Tools.getStream(POS_TAGGER_MODEL));
       }
@@ -73,78 +77,139 @@ public class EnglishChunker implements Chunker {
 
   @Override
   public void addChunkTags(List<AnalyzedTokenReadings> tokenReadings) {
-    List<ChunkTaggedToken> origChunkTags = getChunkTagsForReadings(tokenReadings);
+    addChunkTags(tokenReadings, getPosTagger(), getChunker());
+  }
+
+  /**
+   * Like {@link #addChunkTags(List)}, but for several sentences at once.
+   * @param sentences the tokens of each sentence
+   * @since 2.4
+   */
+  public void addChunkTagsToSentences(List<List<AnalyzedTokenReadings>> sentences) {
+    POSTaggerME posTagger = getPosTagger();
+    ChunkerME chunker = getChunker();
+    for (List<AnalyzedTokenReadings> tokenReadings : sentences) {
+      addChunkTags(tokenReadings, posTagger, chunker);
+    }
+  }
+
+  private void addChunkTags(List<AnalyzedTokenReadings> tokenReadings, POSTaggerME posTagger, ChunkerME chunker) {
+    List<ChunkTaggedToken> origChunkTags = getChunkTagsForReadings(tokenReadings, posTagger, chunker);
     List<ChunkTaggedToken> chunkTags = chunkFilter.filter(origChunkTags);
     assignChunksToReadings(chunkTags);
   }
 
-  private List<ChunkTaggedToken> getChunkTagsForReadings(List<AnalyzedTokenReadings> tokenReadings) {
-    // these are not thread-safe, so create them here, not as members:
-    TokenizerME tokenizer = new TokenizerME(tokenModel);
-    POSTaggerME posTagger = new POSTaggerME(posModel);
-    ChunkerME chunker = new ChunkerME(chunkerModel);
-    String sentence = getSentence(tokenReadings);
-    String[] tokens = tokenizer.tokenize(sentence);
+  private POSTaggerME getPosTagger() {
+    POSTaggerME posTagger = posTaggers.get();
+    if (posTagger == null) {
+      posTagger = new POSTaggerME(posModel);
+      posTaggers.set(posTagger);
+    }
+    return posTagger;
+  }
+
+  private ChunkerME getChunker() {
+    ChunkerME chunker = chunkers.get();
+    if (chunker == null) {
+      chunker = new ChunkerME(chunkerModel);
+      chunkers.set(chunker);
+    }
+    return chunker;
+  }
+
+  private List<ChunkTaggedToken> getChunkTagsForReadings(List<AnalyzedTokenReadings> tokenReadings, POSTaggerME posTagger, ChunkerME chunker) {
+    List<String> tokenList = new ArrayList<>();
+    List<AnalyzedTokenReadings> readingsList = new ArrayList<>();
+    getOpenNLPTokens(tokenReadings, tokenList, readingsList);
+    String[] tokens = tokenList.toArray(new String[tokenList.size()]);
     String[] posTags = posTagger.tag(tokens);
     String[] chunkTags = chunker.chunk(tokens, posTags);
     if (tokens.length != posTags.length || tokens.length != chunkTags.length) {
       throw new RuntimeException("Length of results must be the same: " + tokens.length + ", " + posTags.length + ", " + chunkTags.length);
     }
-    return getTokensWithTokenReadings(tokenReadings, tokens, chunkTags);
-  }
-
-  private List<ChunkTaggedToken> getTokensWithTokenReadings(List<AnalyzedTokenReadings> tokenReadings, String[] tokens, String[] chunkTags) {
-    List<ChunkTaggedToken> result = new ArrayList<>();
-    int i = 0;
-    int pos = 0;
-    for (String chunkTag : chunkTags) {
-      int startPos = pos;
-      int endPos = startPos + tokens[i].length();
-      //System.out.println("OPEN: " + tokens[i]);
-      AnalyzedTokenReadings readings = getAnalyzedTokenReadingsFor(startPos, endPos, tokenReadings);
-      result.add(new ChunkTaggedToken(tokens[i], Collections.singletonList(new ChunkTag(chunkTag)), readings));
-      pos = endPos;
-      i++;
+    List<ChunkTaggedToken> result = new ArrayList<>(tokens.length);
+    for (int i = 0; i < tokens.length; i++) {
+      result.add(new ChunkTaggedToken(tokens[i], Collections.singletonList(new ChunkTag(chunkTags[i])), readingsList.get(i)));
     }
     return result;
   }
 
-  private void assignChunksToReadings(List<ChunkTaggedToken> chunkTaggedTokens) {
-    for (ChunkTaggedToken taggedToken : chunkTaggedTokens) {
-      AnalyzedTokenReadings readings = taggedToken.getReadings();
-      if (readings != null) {
-        readings.setChunkTags(taggedToken.getChunkTags());
+  /**
+   * Turn our tokens into the tokens that OpenNLP has been trained on. Whitespace is skipped.
+   * {@code readingsList} gets the readings for each of the OpenNLP tokens, or {@code null}
+   * if the OpenNLP token isn't exactly one of our tokens.
+   */
+  private void getOpenNLPTokens(List<AnalyzedTokenReadings> tokenReadings, List<String> tokens, List<AnalyzedTokenReadings> readingsList) {
+    int size = tokenReadings.size();
+    for (int i = 0; i < size; i++) {
+      AnalyzedTokenReadings readings = tokenReadings.get(i);
+      String token = readings.getToken();
+      if (token.trim().isEmpty()) {
+        continue;  // the OpenNLP tagger expects no whitespace
+      }
+      String next = i + 2 < size ? tokenReadings.get(i + 1).getToken() : null;
+      String afterNext = i + 2 < size ? tokenReadings.get(i + 2).getToken() : null;
+      if (next != null && isApostrophe(next) && isWord(token) && isWord(afterNext)) {
+        String suffix = afterNext.toLowerCase();
+        if (suffix.equals("t") && token.length() > 1 && Character.toLowerCase(token.charAt(token.length() - 1)) == 'n') {
+          // "don't" -> [do][n't]
+          tokens.add(token.substring(0, token.length() - 1));
+          readingsList.add(null);
+          tokens.add(token.substring(token.length() - 1) + next + afterNext);
+          readingsList.add(null);
+          i += 2;
+          continue;
+        } else if (CONTRACTION_SUFFIXES.contains(suffix)) {
+          // "I'll" -> [I]['ll]
+          tokens.add(token);
+          readingsList.add(readings);
+          tokens.add(next + afterNext);
+          readingsList.add(null);
+          i += 2;
+          continue;
+        }
+      }
+      if (next != null && (next.equals(".") || next.equals(",")) && isNumber(token) && isNumber(afterNext)) {
+        // "3.5" -> [3.5]
+        tokens.add(token + next + afterNext);
+        readingsList.add(null);
+        i += 2;
+        continue;
       }
+      tokens.add(token);
+      readingsList.add(readings);
     }
   }
 
-  private String getSentence(List<AnalyzedTokenReadings> sentenceTokens) {
-    StringBuilder sb = new StringBuilder();
-    for (AnalyzedTokenReadings token : sentenceTokens) {
-      sb.append(token.getToken());
+  private boolean isApostrophe(String token) {
+    return token.equals("'") || token.equals("\u2019");
+  }
+
+  private boolean isWord(String token) {
+    for (int i = 0; i < token.length(); i++) {
+      if (!Character.isLetter(token.charAt(i))) {
+        return false;
+      }
     }
-    return sb.toString();
+    return !token.isEmpty();
   }
 
-  // Get only exact position matches - i.e. this can only be used for a trivial mapping
-  // where tokens that are not exactly at the same position will be skipped. For example,
-  // the tokens of "I'll" ([I] ['ll] vs [I]['][ll) cannot be mapped with this.
-  private AnalyzedTokenReadings getAnalyzedTokenReadingsFor(int startPos, int endPos, List<AnalyzedTokenReadings> tokenReadings) {
-    int pos = 0;
-    for (AnalyzedTokenReadings tokenReading : tokenReadings) {
-      String token = tokenReading.getToken();
-      if (token.trim().isEmpty()) {
-        continue;  // the OpenNLP result has no whitespace, so we need to skip it
+  private boolean isNumber(String token) {
+    for (int i = 0; i < token.length(); i++) {
+      if (!Character.isDigit(token.charAt(i))) {
+        return false;
       }
-      int tokenStart = pos;
-      int tokenEnd = pos + token.length();
-      if (tokenStart == startPos && tokenEnd == endPos) {
-        //System.out.println("!!!" + startPos + " " + endPos + "  " + tokenReading);
-        return tokenReading;
+    }
+    return !token.isEmpty();
+  }
+
+  private void assignChunksToReadings(List<ChunkTaggedToken> chunkTaggedTokens) {
+    for (ChunkTaggedToken taggedToken : chunkTaggedTokens) {
+      AnalyzedTokenReadings readings = taggedToken.getReadings();
+      if (readings != null) {
+        readings.setChunkTags(taggedToken.getChunkTags());
       }
-      pos = tokenEnd;
     }
-    return null;
   }
 
 }
@@ -26,6 +26,7 @@ import org.languagetool.JLanguageTool;
 import org.languagetool.language.English;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.StringTokenizer;
 
@@ -63,6 +64,21 @@ public class EnglishChunkerTest {
     assertThat(tokens[5].getChunkTags().get(0), is(new ChunkTag("I-VP")));
   }
 
+  @Test
+  public void testAddChunkTagsToSentences() throws Exception {
+    EnglishChunker chunker = new EnglishChunker();
+    List<AnalyzedTokenReadings> readingsList1 = createReadingsList("A short test of the bicycle is needed");
+    List<AnalyzedTokenReadings> readingsList2 = createReadingsList("He doesn't own 3.5 houses");
+    chunker.addChunkTagsToSentences(Arrays.asList(readingsList1, readingsList2));
+    assertThat(readingsList1.get(0).getChunkTags().toString(), is("[B-NP-singular]"));
+    assertThat(readingsList1.get(12).getChunkTags().toString(), is("[B-VP]"));
+    List<AnalyzedTokenReadings> expectedList = createReadingsList("He doesn't own 3.5 houses");
+    chunker.addChunkTags(expectedList);
+    for (int i = 0; i < expectedList.size(); i++) {
+      assertThat(readingsList2.get(i).getChunkTags(), is(expectedList.get(i).getChunkTags()));
+    }
+  }
+
   private List<AnalyzedTokenReadings> createReadingsList(String sentence) {
     StringTokenizer tokenizer = new StringTokenizer(sentence, " ", true);
     List<AnalyzedTokenReadings> result = new ArrayList<>();
@@ -82,4 +82,24 @@ public class EnglishTaggerTest extends TestCase {
     assertEquals("work", aToken.get(1).getReadings().get(1).getLemma());
   }
 
+  public void testCache() throws IOException {
+    final EnglishTagger tagger = new EnglishTagger();
+    final List<String> words = new ArrayList<>();
+    words.add("works");
+    words.add("works");
+    words.add("foobarx");
+    final List<AnalyzedTokenReadings> aToken = tagger.tag(words);
+    assertEquals(1, tagger.getCacheHits());
+    assertEquals(2, tagger.getCacheMisses());
+    assertEquals(aToken.get(0).getReadings(), aToken.get(1).getReadings());
+    // tokens keep state like whitespace, so they must not be shared:
+    assertNotSame(aToken.get(0).getAnalyzedToken(0), aToken.get(1).getAnalyzedToken(0));
+    assertNull(aToken.get(2).getAnalyzedToken(0).getPOSTag());
+    tagger.tag(words);
+    assertEquals(4, tagger.getCacheHits());
+    tagger.clearCache();
+    tagger.tag(words);
+    assertEquals(4, tagger.getCacheMisses());
+  }
+
 }
@@ -35,6 +35,11 @@ public class SRXSentenceTokenizerTest extends TestCase {
     stokenizer2.setSingleLineBreaksMarksParagraph(false);  
   }
 
+  public void testSrxFileIsValid() {
+    // the tokenizer itself doesn't validate the file, as that's slow:
+    assertNotNull(SRXSentenceTokenizer.createSrxDocument(true));
+  }
+
   // NOTE: sentences here need to end with a space character so they
   // have correct whitespace when appended:
   public void testTokenize() {
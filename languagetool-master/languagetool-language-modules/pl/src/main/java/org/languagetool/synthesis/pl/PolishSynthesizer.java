@@ -35,6 +35,7 @@ import org.languagetool.AnalyzedToken;
 import org.languagetool.JLanguageTool;
 import org.languagetool.synthesis.Synthesizer;
 import org.languagetool.synthesis.SynthesizerTools;
+import org.languagetool.tools.RegexTools;
 
 /**
  * Polish word form synthesizer. Based on project Morfologik.
@@ -53,6 +54,8 @@ public class PolishSynthesizer implements Synthesizer {
   private static final String COMP_TAG = "com";
   private static final String SUP_TAG = "sup";
 
+  private final ThreadLocal<IStemmer> stemmers = new ThreadLocal<>();
+
   private Dictionary dictionary;
   private List<String> possibleTags;
   
@@ -68,6 +71,16 @@ public class PolishSynthesizer implements Synthesizer {
     
     return this.dictionary;
   }
+
+  // a stemmer is not thread-safe, but each thread can re-use its own:
+  private IStemmer getStemmer() throws IOException {
+    IStemmer stemmer = stemmers.get();
+    if (stemmer == null) {
+      stemmer = new DictionaryLookup(getDictionary());
+      stemmers.set(stemmer);
+    }
+    return stemmer;
+  }
   
   @Override
   public final String[] synthesize(final AnalyzedToken token,
@@ -75,7 +88,7 @@ public class PolishSynthesizer implements Synthesizer {
     if (posTag == null) {
       return null;
     }
-    final IStemmer synthesizer = new DictionaryLookup(getDictionary());
+    final IStemmer synthesizer = getStemmer();
     boolean isNegated = false;
     if (token.getPOSTag() != null) {
       isNegated = posTag.indexOf(NEGATION_TAG) > 0
@@ -101,7 +114,7 @@ public class PolishSynthesizer implements Synthesizer {
         possibleTags = SynthesizerTools.loadWords(JLanguageTool.getDataBroker().
             getFromResourceDirAsStream(TAGS_FILE_NAME));
       }
-      final IStemmer synthesizer = new DictionaryLookup(getDictionary());
+      final IStemmer synthesizer = getStemmer();
       final ArrayList<String> results = new ArrayList<>();
 
       boolean isNegated = false;
@@ -117,7 +130,7 @@ public class PolishSynthesizer implements Synthesizer {
       }
 
   
-      final Pattern p = Pattern.compile(posTag.replace('+', '|'));
+      final Pattern p = RegexTools.compile(posTag.replace('+', '|'));
       for (final String tag : possibleTags) {
         final Matcher m = p.matcher(tag);
         if (m.matches()) {
@@ -37,6 +37,7 @@ import javax.swing.UIManager;
 
 import com.sun.star.lang.*;
 import com.sun.star.lang.IllegalArgumentException;
+import org.languagetool.IncrementalChecker;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Language;
 import org.languagetool.MultiThreadedJLanguageTool;
@@ -72,6 +73,9 @@ public class Main extends WeakBase implements XJobExecutor,
 
   private Configuration config;
   private JLanguageTool langTool;
+  // re-use the results for sentences and paragraphs that have not changed since they were last checked:
+  private IncrementalChecker sentenceChecker;
+  private IncrementalChecker paragraphChecker;
   private Language docLanguage;
 
   private String docID;
@@ -325,7 +329,7 @@ public class Main extends WeakBase implements XJobExecutor,
         paRes.nStartOfNextSentencePosition = position + sentence.length();
         paRes.nBehindEndOfSentencePosition = paRes.nStartOfNextSentencePosition;
         if (!StringTools.isEmpty(sentence)) {
-          final List<RuleMatch> ruleMatches = langTool.check(sentence, false,
+          final List<RuleMatch> ruleMatches = sentenceChecker.check(sentence, false,
               JLanguageTool.ParagraphHandling.ONLYNONPARA);
           final SingleProofreadingError[] pErrors = checkParaRules(paraText,
               locale, paRes.nStartOfSentencePosition,
@@ -381,6 +385,8 @@ public class Main extends WeakBase implements XJobExecutor,
           langTool.disableRule(rule.getId());
         }
       }
+      sentenceChecker = new IncrementalChecker(langTool);
+      paragraphChecker = new IncrementalChecker(langTool);
       recheck = false;
     } catch (final Throwable t) {
       showError(t);
@@ -419,7 +425,7 @@ public class Main extends WeakBase implements XJobExecutor,
       final int endPos, final String docID) {
     if (startPos == 0) {
       try {
-        paragraphMatches = langTool.check(paraText, false,
+        paragraphMatches = paragraphChecker.check(paraText, false,
             JLanguageTool.ParagraphHandling.ONLYPARA);
         this.docID = docID;
       } catch (final Throwable t) {
@@ -0,0 +1,126 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.List;
+
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.rules.Category;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.RuleMatch;
+
+/**
+ * Writes matches in a compact binary format for clients that don't need a human-readable response.
+ * All numbers are 4 byte big-endian integers, as written by {@link DataOutputStream#writeInt(int)}.
+ * A string is written as its length in UTF-8 bytes followed by the bytes, or as length {@code -1}
+ * if the value is not set. The response is:
+ * <ul>
+ *   <li>the bytes {@code 'L' 'T' 'M'} and the format version {@code 1}</li>
+ *   <li>strings: software version, build date, language code, language name,
+ *       mother tongue code, mother tongue name</li>
+ *   <li>for each match, the byte {@code 1} followed by: strings rule id, sub id, message;
+ *       the number of replacements and a string for each of them; numbers offset, length, fromY, fromX,
+ *       toY, toX; string context (not set if no context was requested), number context offset;
+ *       strings url, category, locQualityIssueType</li>
+ *   <li>the byte {@code 0}</li>
+ * </ul>
+ * @since 2.4
+ */
+class BinaryMatchesWriter extends MatchesWriter {
+
+  private static final Charset UTF8 = Charset.forName("utf-8");
+  private static final int VERSION = 1;
+
+  private final DataOutputStream out;
+
+  BinaryMatchesWriter(OutputStream out, int contextSize) {
+    super(contextSize);
+    this.out = new DataOutputStream(new BufferedOutputStream(out));
+  }
+
+  @Override
+  String getContentType() {
+    return "application/octet-stream";
+  }
+
+  @Override
+  void start(Language lang, Language motherTongue) throws IOException {
+    out.write('L');
+    out.write('T');
+    out.write('M');
+    out.write(VERSION);
+    writeString(JLanguageTool.VERSION);
+    writeString(JLanguageTool.BUILD_DATE);
+    writeString(lang != null ? lang.getShortNameWithCountryAndVariant() : null);
+    writeString(lang != null ? lang.getName() : null);
+    final boolean withMotherTongue = isMotherTongueRelevant(lang, motherTongue);
+    writeString(withMotherTongue ? motherTongue.getShortName() : null);
+    writeString(withMotherTongue ? motherTongue.getName() : null);
+  }
+
+  @Override
+  void write(RuleMatch match, String text) throws IOException {
+    final Rule rule = match.getRule();
+    out.write(1);
+    writeString(rule.getId());
+    writeString(getSubId(match));
+    writeString(getMessage(match));
+    final List<String> replacements = match.getSuggestedReplacements();
+    out.writeInt(replacements.size());
+    for (String replacement : replacements) {
+      writeString(replacement);
+    }
+    out.writeInt(match.getFromPos());
+    out.writeInt(match.getToPos() - match.getFromPos());
+    out.writeInt(match.getLine());
+    out.writeInt(match.getColumn() - 1);
+    out.writeInt(match.getEndLine());
+    out.writeInt(match.getEndColumn() - 1);
+    final Context context = getContext(match, text);
+    writeString(context != null ? context.text : null);
+    out.writeInt(context != null ? context.offset : -1);
+    writeString(rule.getUrl() != null ? rule.getUrl().toString() : null);
+    final Category category = rule.getCategory();
+    writeString(category != null ? category.getName() : null);
+    writeString(rule.getLocQualityIssueType());
+  }
+
+  @Override
+  void end() throws IOException {
+    out.write(0);
+    out.flush();
+  }
+
+  private void writeString(String s) throws IOException {
+    if (s == null) {
+      out.writeInt(-1);
+    } else {
+      final byte[] bytes = s.getBytes(UTF8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+  }
+
+}
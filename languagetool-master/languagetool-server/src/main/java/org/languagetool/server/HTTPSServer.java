@@ -35,8 +35,6 @@ import java.net.InetSocketAddress;
 import java.security.KeyStore;
 import java.util.ResourceBundle;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import static org.languagetool.server.HTTPServerConfig.DEFAULT_HOST;
 
@@ -48,8 +46,6 @@ import static org.languagetool.server.HTTPServerConfig.DEFAULT_HOST;
  */
 public class HTTPSServer extends Server {
 
-  private final ExecutorService executorService;
-
   /**
    * Prepare a server on the given host and port - use run() to start it.
    * @param runInternally if true, then the server was started from the GUI.
@@ -70,12 +66,8 @@ public class HTTPSServer extends Server {
       final HttpsConfigurator configurator = getConfigurator(sslContext);
       ((HttpsServer)server).setHttpsConfigurator(configurator);
       final RequestLimiter limiter = getRequestLimiterOrNull(config);
-      final LanguageToolHttpHandler httpHandler = new LanguageToolHttpHandler(config.isVerbose(), allowedIps, runInternally, limiter);
+      initHandler(config, runInternally, allowedIps, limiter);
       httpHandler.setMaxTextLength(config.getMaxTextLength());
-      httpHandler.setAllowOriginUrl(config.getAllowOriginUrl());
-      server.createContext("/", httpHandler);
-      executorService = Executors.newFixedThreadPool(THREAD_POOL_SIZE);
-      server.setExecutor(executorService);
     } catch (BindException e) {
       final ResourceBundle messages = JLanguageTool.getMessageBundle();
       final String message = Tools.makeTexti18n(messages, "https_server_start_failed", host, Integer.toString(port));
@@ -85,13 +77,14 @@ public class HTTPSServer extends Server {
       final String message = Tools.makeTexti18n(messages, "https_server_start_failed_unknown_reason", host, Integer.toString(port));
       throw new RuntimeException(message, e);
     }
+    warmUpIfConfigured(config);
   }
 
   private RequestLimiter getRequestLimiterOrNull(HTTPSServerConfig config) {
     final int requestLimit = config.getRequestLimit();
     final int requestLimitPeriodInSeconds = config.getRequestLimitPeriodInSeconds();
     if (requestLimit > 0 || requestLimitPeriodInSeconds > 0) {
-      return new RequestLimiter(requestLimit, requestLimitPeriodInSeconds);
+      return new RequestLimiter(requestLimit, requestLimitPeriodInSeconds, config.getRequestCharacterLimit());
     }
     return null;
   }
@@ -124,24 +117,18 @@ public class HTTPSServer extends Server {
         };
   }
 
-  @Override
-  public void stop() {
-    super.stop();
-    if (executorService != null) {
-      executorService.shutdownNow();
-    }
-  }
-
   public static void main(String[] args) {
-    if (args.length > 7 || usageRequested(args)) {
+    if (args.length > 14 || usageRequested(args)) {
       System.out.println("Usage: " + HTTPSServer.class.getSimpleName()
-              + " --config propertyFile [--port|-p port] [--public]");
+              + " --config propertyFile [--port|-p port] [--public] [--warmup]"
+              + " [--max-queue-size N] [--max-queue-wait MS] [--max-check-time MS]");
       System.out.println("  --config file  a Java property file with values for:");
       System.out.println("                 'keystore' - a Java keystore with an SSL certificate");
       System.out.println("                 'password' - the keystore's password");
       System.out.println("                 'maxTextLength' - maximum text length, longer texts will cause an error (optional)");
       System.out.println("                 'requestLimit' - maximum number of requests (optional)");
       System.out.println("                 'requestLimitPeriodInSeconds' - time period to which requestLimit applies (optional)");
+      System.out.println("                 'requestCharacterLimit' - maximum number of characters per requestLimitPeriodInSeconds (optional)");
       printCommonOptions();
       System.exit(1);
     }
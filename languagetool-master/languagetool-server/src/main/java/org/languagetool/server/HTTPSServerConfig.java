@@ -33,6 +33,7 @@ public class HTTPSServerConfig extends HTTPServerConfig {
   
   private int requestLimit;
   private int requestLimitPeriodInSeconds;
+  private long requestCharacterLimit;
   private int maxTextLength = Integer.MAX_VALUE;
 
   /**
@@ -94,6 +95,7 @@ public class HTTPSServerConfig extends HTTPServerConfig {
         keyStorePassword = getProperty(props, "password", config);
         requestLimit = Integer.parseInt(getOptionalProperty(props, "requestLimit", "0"));
         requestLimitPeriodInSeconds = Integer.parseInt(getOptionalProperty(props, "requestLimitPeriodInSeconds", "0"));
+        requestCharacterLimit = Long.parseLong(getOptionalProperty(props, "requestCharacterLimit", "0"));
         maxTextLength = Integer.parseInt(getOptionalProperty(props, "maxTextLength", Integer.toString(Integer.MAX_VALUE)));
       }
     } catch (IOException e) {
@@ -129,6 +131,19 @@ public class HTTPSServerConfig extends HTTPServerConfig {
     return requestLimitPeriodInSeconds;
   }
 
+  /**
+   * @param requestCharacterLimit the maximum number of characters an IP address may send for checking
+   *                              per {@code requestLimitPeriodInSeconds}, 0 means no limit
+   * @since 2.4
+   */
+  public void setRequestCharacterLimit(long requestCharacterLimit) {
+    this.requestCharacterLimit = requestCharacterLimit;
+  }
+
+  long getRequestCharacterLimit() {
+    return requestCharacterLimit;
+  }
+
   private String getProperty(Properties props, String propertyName, File config) {
     final String propertyValue = (String)props.get(propertyName);
     if (propertyValue == null || propertyValue.trim().isEmpty()) {
@@ -25,8 +25,6 @@ import org.languagetool.gui.Tools;
 import java.net.InetSocketAddress;
 import java.util.ResourceBundle;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import static org.languagetool.server.HTTPServerConfig.DEFAULT_HOST;
 
@@ -40,8 +38,6 @@ import static org.languagetool.server.HTTPServerConfig.DEFAULT_HOST;
  */
 public class HTTPServer extends Server {
 
-  private final ExecutorService executorService;
-
   /**
    * Prepare a server on the given port - use run() to start it. Accepts
    * connections from localhost only.
@@ -98,29 +94,19 @@ public class HTTPServer extends Server {
       } else {
         server = HttpServer.create(new InetSocketAddress(host, port), 0);
       }
-      final LanguageToolHttpHandler httpHandler = new LanguageToolHttpHandler(config.isVerbose(), allowedIps, runInternally, null);
-      httpHandler.setAllowOriginUrl(config.getAllowOriginUrl());
-      server.createContext("/", httpHandler);
-      executorService = Executors.newFixedThreadPool(THREAD_POOL_SIZE);
-      server.setExecutor(executorService);
+      initHandler(config, runInternally, allowedIps, null);
     } catch (Exception e) {
       final ResourceBundle messages = JLanguageTool.getMessageBundle();
       final String message = Tools.makeTexti18n(messages, "http_server_start_failed", host, Integer.toString(port));
       throw new PortBindingException(message, e);
     }
-  }
-
-  @Override
-  public void stop() {
-    super.stop();
-    if (executorService != null) {
-      executorService.shutdownNow();
-    }    
+    warmUpIfConfigured(config);
   }
 
   public static void main(String[] args) {
-    if (args.length > 3 || usageRequested(args)) {
-      System.out.println("Usage: " + HTTPServer.class.getSimpleName() + " [--port|-p port] [--public]");
+    if (args.length > 12 || usageRequested(args)) {
+      System.out.println("Usage: " + HTTPServer.class.getSimpleName() + " [--port|-p port] [--public] [--warmup]"
+              + " [--max-queue-size N] [--max-queue-wait MS] [--max-check-time MS]");
       printCommonOptions();
       System.exit(1);
     }
@@ -18,6 +18,8 @@
  */
 package org.languagetool.server;
 
+import java.io.File;
+
 /**
  * @since 2.0
  */
@@ -28,10 +30,19 @@ public class HTTPServerConfig {
   /** The default port on which the server is running (8081). */
   public static final int DEFAULT_PORT = 8081;
 
+  /** The default maximum number of requests waiting to be handled (100). @since 2.4 */
+  public static final int DEFAULT_MAX_QUEUE_SIZE = 100;
+
   protected boolean verbose = false;
   protected boolean publicAccess = false;
   protected int port = DEFAULT_PORT;
   protected String allowOriginUrl = null;
+  protected boolean warmUp = false;
+  protected int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+  protected int maxQueueWaitMillis = 0;
+  protected int maxCheckTimeMillis = 0;
+  protected File compoundFrequencyList = null;
+  protected int compoundCacheSize = 0;
 
   public HTTPServerConfig() {
     this.port = DEFAULT_PORT;
@@ -69,6 +80,24 @@ public class HTTPServerConfig {
         case "--allow-origin":
           allowOriginUrl = args[++i];
           break;
+        case "--warmup":
+          warmUp = true;
+          break;
+        case "--max-queue-size":
+          maxQueueSize = Integer.parseInt(args[++i]);
+          break;
+        case "--max-queue-wait":
+          maxQueueWaitMillis = Integer.parseInt(args[++i]);
+          break;
+        case "--max-check-time":
+          maxCheckTimeMillis = Integer.parseInt(args[++i]);
+          break;
+        case "--compound-frequency-list":
+          compoundFrequencyList = new File(args[++i]);
+          break;
+        case "--compound-cache-size":
+          compoundCacheSize = Integer.parseInt(args[++i]);
+          break;
       }
     }
   }
@@ -95,4 +124,99 @@ public class HTTPServerConfig {
     return allowOriginUrl;
   }
 
+  /**
+   * Whether the rules of all languages should be loaded when the server starts, so the first
+   * request for a language doesn't need to wait for the rules to be loaded.
+   * @since 2.4
+   */
+  public boolean isWarmUp() {
+    return warmUp;
+  }
+
+  /**
+   * @since 2.4
+   */
+  public void setWarmUp(boolean warmUp) {
+    this.warmUp = warmUp;
+  }
+
+  /**
+   * The maximum number of requests waiting to be handled, {@code 0} for no limit. If the
+   * limit is reached, further requests are answered with HTTP status 503 (service unavailable).
+   * @since 2.4
+   */
+  public int getMaxQueueSize() {
+    return maxQueueSize;
+  }
+
+  /**
+   * @since 2.4
+   */
+  public void setMaxQueueSize(int maxQueueSize) {
+    this.maxQueueSize = maxQueueSize;
+  }
+
+  /**
+   * The maximum time in milliseconds a request may wait to be handled, {@code 0} for no limit.
+   * Requests that waited longer are answered with HTTP status 503 (service unavailable).
+   * @since 2.4
+   */
+  public int getMaxQueueWaitMillis() {
+    return maxQueueWaitMillis;
+  }
+
+  /**
+   * @since 2.4
+   */
+  public void setMaxQueueWaitMillis(int maxQueueWaitMillis) {
+    this.maxQueueWaitMillis = maxQueueWaitMillis;
+  }
+
+  /**
+   * The maximum time in milliseconds for checking the text of a request, {@code 0} for no limit.
+   * Checks that take longer are stopped and cause an error.
+   * @since 2.4
+   */
+  public int getMaxCheckTimeMillis() {
+    return maxCheckTimeMillis;
+  }
+
+  /**
+   * @since 2.4
+   */
+  public void setMaxCheckTimeMillis(int maxCheckTimeMillis) {
+    this.maxCheckTimeMillis = maxCheckTimeMillis;
+  }
+
+  /**
+   * A UTF-8 encoded list of German words, most frequent words first, whose compound splits are
+   * put into the cache when the server starts, or {@code null}.
+   * @since 2.4
+   */
+  public File getCompoundFrequencyList() {
+    return compoundFrequencyList;
+  }
+
+  /**
+   * @since 2.4
+   */
+  public void setCompoundFrequencyList(File compoundFrequencyList) {
+    this.compoundFrequencyList = compoundFrequencyList;
+  }
+
+  /**
+   * The maximum number of words in each cache of German compound splits, {@code 0} for the default size.
+   * @since 2.4
+   */
+  public int getCompoundCacheSize() {
+    return compoundCacheSize;
+  }
+
+  /**
+   * @since 2.4
+   */
+  public void setCompoundCacheSize(int compoundCacheSize) {
+    this.compoundCacheSize = compoundCacheSize;
+  }
+
 }
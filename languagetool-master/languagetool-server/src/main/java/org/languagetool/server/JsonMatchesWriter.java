@@ -0,0 +1,190 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.List;
+
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.rules.Category;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.RuleMatch;
+
+/**
+ * Writes matches as JSON, like this (positions start at 0, {@code context} is missing if
+ * no context was requested, optional values are missing if they are not set):
+ * <pre>
+ * {"software":{"name":"LanguageTool","version":"2.4","buildDate":"..."},
+ *  "language":{"code":"en-US","name":"English (US)"},
+ *  "motherTongue":{"code":"de","name":"German"},
+ *  "matches":[{"ruleId":"...","subId":"...","message":"...","replacements":["..."],
+ *    "offset":8,"length":4,"fromY":0,"fromX":8,"toY":0,"toX":12,
+ *    "context":{"text":"...","offset":8,"length":4},
+ *    "url":"...","category":"...","locQualityIssueType":"..."}]}
+ * </pre>
+ * @since 2.4
+ */
+class JsonMatchesWriter extends MatchesWriter {
+
+  private final Writer writer;
+
+  private boolean firstMatch = true;
+
+  JsonMatchesWriter(OutputStream out, int contextSize) throws IOException {
+    super(contextSize);
+    this.writer = new BufferedWriter(new OutputStreamWriter(out, "utf-8"));
+  }
+
+  @Override
+  String getContentType() {
+    return "application/json; charset=UTF-8";
+  }
+
+  @Override
+  void start(Language lang, Language motherTongue) throws IOException {
+    writer.write("{\"software\":{\"name\":\"LanguageTool\",\"version\":");
+    writeString(JLanguageTool.VERSION);
+    // not set when not running from a JAR:
+    writeOptional("buildDate", JLanguageTool.BUILD_DATE);
+    writer.write('}');
+    if (lang != null) {
+      writer.write(",\"language\":");
+      writeLanguage(lang.getShortNameWithCountryAndVariant(), lang);
+    }
+    if (isMotherTongueRelevant(lang, motherTongue)) {
+      writer.write(",\"motherTongue\":");
+      writeLanguage(motherTongue.getShortName(), motherTongue);
+    }
+    writer.write(",\"matches\":[");
+  }
+
+  @Override
+  void write(RuleMatch match, String text) throws IOException {
+    if (!firstMatch) {
+      writer.write(',');
+    }
+    firstMatch = false;
+    final Rule rule = match.getRule();
+    writer.write("{\"ruleId\":");
+    writeString(rule.getId());
+    writeOptional("subId", getSubId(match));
+    writer.write(",\"message\":");
+    writeString(getMessage(match));
+    writer.write(",\"replacements\":[");
+    final List<String> replacements = match.getSuggestedReplacements();
+    for (int i = 0; i < replacements.size(); i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+      writeString(replacements.get(i));
+    }
+    writer.write(']');
+    writeNumber("offset", match.getFromPos());
+    writeNumber("length", match.getToPos() - match.getFromPos());
+    writeNumber("fromY", match.getLine());
+    writeNumber("fromX", match.getColumn() - 1);
+    writeNumber("toY", match.getEndLine());
+    writeNumber("toX", match.getEndColumn() - 1);
+    final Context context = getContext(match, text);
+    if (context != null) {
+      writer.write(",\"context\":{\"text\":");
+      writeString(context.text);
+      writeNumber("offset", context.offset);
+      writeNumber("length", match.getToPos() - match.getFromPos());
+      writer.write('}');
+    }
+    if (rule.getUrl() != null) {
+      writeOptional("url", rule.getUrl().toString());
+    }
+    final Category category = rule.getCategory();
+    if (category != null) {
+      writeOptional("category", category.getName());
+    }
+    writeOptional("locQualityIssueType", rule.getLocQualityIssueType());
+    writer.write('}');
+  }
+
+  @Override
+  void end() throws IOException {
+    writer.write("]}");
+    writer.flush();
+  }
+
+  private void writeLanguage(String code, Language lang) throws IOException {
+    writer.write("{\"code\":");
+    writeString(code);
+    writer.write(",\"name\":");
+    writeString(lang.getName());
+    writer.write('}');
+  }
+
+  private void writeNumber(String name, int value) throws IOException {
+    writer.write(",\"");
+    writer.write(name);
+    writer.write("\":");
+    writer.write(Integer.toString(value));
+  }
+
+  private void writeOptional(String name, String value) throws IOException {
+    if (value != null) {
+      writer.write(",\"");
+      writer.write(name);
+      writer.write("\":");
+      writeString(value);
+    }
+  }
+
+  private void writeString(String s) throws IOException {
+    writer.write('"');
+    for (int i = 0; i < s.length(); i++) {
+      final char c = s.charAt(i);
+      switch (c) {
+        case '"':
+          writer.write("\\\"");
+          break;
+        case '\\':
+          writer.write("\\\\");
+          break;
+        case '\n':
+          writer.write("\\n");
+          break;
+        case '\r':
+          writer.write("\\r");
+          break;
+        case '\t':
+          writer.write("\\t");
+          break;
+        default:
+          // also escape the line separators that are not allowed in Javascript strings:
+          if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+            writer.write(String.format("\\u%04x", (int) c));
+          } else {
+            writer.write(c);
+          }
+      }
+    }
+    writer.write('"');
+  }
+
+}
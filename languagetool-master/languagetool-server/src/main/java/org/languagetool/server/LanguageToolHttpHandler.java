@@ -24,6 +24,9 @@ import java.net.URI;
 import java.net.URLDecoder;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.tika.language.LanguageIdentifier;
 import org.languagetool.JLanguageTool;
@@ -41,15 +44,18 @@ class LanguageToolHttpHandler implements HttpHandler {
 
   private static final String CONTENT_TYPE_VALUE = "text/xml; charset=UTF-8";
   private static final String ENCODING = "utf-8";
-  private static final int CONTEXT_SIZE = 40; // characters
+  private static final int DEFAULT_CONTEXT_SIZE = 40; // characters
   private static final int MIN_LENGTH_FOR_AUTO_DETECTION = 60;  // characters
 
   private final Set<String> allowedIps;  
   private final boolean verbose;
   private final boolean internalServer;
   private final RequestLimiter requestLimiter;
+  private final LanguageToolPool pool;
+  private final ConcurrentMap<Language, CachedConfiguration> configurations = new ConcurrentHashMap<>();
 
   private int maxTextLength = Integer.MAX_VALUE;
+  private int maxCheckTimeMillis = 0;
   private String allowOriginUrl;
 
   /**
@@ -62,12 +68,26 @@ class LanguageToolHttpHandler implements HttpHandler {
     this.allowedIps = allowedIps;
     this.internalServer = internal;
     this.requestLimiter = requestLimiter;
+    this.pool = new LanguageToolPool(new LanguageToolPool.InstanceFactory() {
+      @Override
+      public JLanguageTool create(LanguageToolPool.Key key) throws Exception {
+        // pooled instances never use the GUI configuration:
+        return createLanguageToolInstance(key.getLanguage(), key.getMotherTongue(), key.getParams(), null);
+      }
+    }, Server.MAX_POOLED_INSTANCES, Server.THREAD_POOL_SIZE);
   }
 
   void setMaxTextLength(int maxTextLength) {
     this.maxTextLength = maxTextLength;
   }
 
+  /**
+   * @param maxCheckTimeMillis the maximum time for checking a text, {@code 0} for no limit
+   */
+  void setMaxCheckTimeMillis(int maxCheckTimeMillis) {
+    this.maxCheckTimeMillis = maxCheckTimeMillis;
+  }
+
   /**
    * Value to set as the "Access-Control-Allow-Origin" http header. Use {@code null}
    * to not return that header at all. Use {@code *} to run a server that any other web site
@@ -77,22 +97,55 @@ class LanguageToolHttpHandler implements HttpHandler {
     this.allowOriginUrl = allowOriginUrl;
   }
 
+  /**
+   * Load the rules of all languages before the first request, so that
+   * requests don't need to wait for rule loading.
+   */
+  void warmUp() throws Exception {
+    final QueryParams defaultParams = new QueryParams(Collections.<String>emptyList(), Collections.<String>emptyList(), false, false);
+    for (Language lang : Language.REAL_LANGUAGES) {
+      print("Warming up " + lang.getShortNameWithCountryAndVariant());
+      pool.warmUp(new LanguageToolPool.Key(lang, null, defaultParams));
+    }
+  }
+
+  /**
+   * Drop all pooled {@link JLanguageTool} instances.
+   */
+  void shutdown() {
+    pool.clear();
+  }
+
   @Override
   public void handle(HttpExchange httpExchange) throws IOException {
     String text = null;
     try {
       final URI requestedUri = httpExchange.getRequestURI();
       final String remoteAddress = httpExchange.getRemoteAddress().getAddress().getHostAddress();
+      if (RequestExecutor.isRequestRejected()) {
+        // answer right away without reading the request, the connection gets closed anyway:
+        final String errorMessage = "Error: Server overloaded, please try again later";
+        sendError(httpExchange, HttpURLConnection.HTTP_UNAVAILABLE, errorMessage);
+        print(errorMessage + " (request from " + remoteAddress + ")");
+        return;
+      }
       // According to the Javadoc, "Closing an exchange without consuming all of the request body is
       // not an error but may make the underlying TCP connection unusable for following exchanges.",
       // so we consume the request now, even before checking for request limits:
       final Map<String, String> parameters = getRequestQuery(httpExchange, requestedUri);
-      if (requestLimiter != null && !requestLimiter.isAccessOkay(remoteAddress)) {
-        final String errorMessage = "Error: Access from " + StringTools.escapeXML(remoteAddress) +
+      final String textParam = parameters.get("text");
+      final int textLength = textParam != null ? textParam.length() : 0;
+      if (requestLimiter != null && !requestLimiter.isAccessOkay(remoteAddress, textLength)) {
+        String errorMessage = "Error: Access from " + StringTools.escapeXML(remoteAddress) +
                 " denied - too many requests. Allowed maximum requests: " + requestLimiter.getRequestLimit() +
                 " requests per " + requestLimiter.getRequestLimitPeriodInSeconds() + " seconds";
+        if (requestLimiter.getCharacterLimit() > 0) {
+          errorMessage += ", maximum characters: " + requestLimiter.getCharacterLimit() +
+                " per " + requestLimiter.getRequestLimitPeriodInSeconds() + " seconds";
+        }
         sendError(httpExchange, HttpURLConnection.HTTP_FORBIDDEN, errorMessage);
-        print(errorMessage);
+        print(errorMessage + " (requests accepted: " + requestLimiter.getAcceptedCount() +
+                ", rejected: " + requestLimiter.getRejectedCount() + ")");
         return;
       }
       if (allowedIps == null || allowedIps.contains(remoteAddress)) {
@@ -112,42 +165,56 @@ class LanguageToolHttpHandler implements HttpHandler {
         sendError(httpExchange, HttpURLConnection.HTTP_FORBIDDEN, errorMessage);
         throw new RuntimeException(errorMessage);
       }
+    } catch (CheckTimeoutException e) {
+      print(e.getMessage());
+      if (!isResponseStarted(httpExchange)) {
+        sendError(httpExchange, HttpURLConnection.HTTP_UNAVAILABLE, "Error: " + StringTools.escapeXML(e.getMessage()));
+      }
     } catch (Exception e) {
       if (verbose) {
         print("Exception was caused by this text: " + text);
       }
       e.printStackTrace();
-      final String response = "Error: " + StringTools.escapeXML(Tools.getFullStackTrace(e));
-      sendError(httpExchange, HttpURLConnection.HTTP_INTERNAL_ERROR, response);
+      // if the headers have been sent, the client can only notice the error from the incomplete response:
+      if (!isResponseStarted(httpExchange)) {
+        final String response = "Error: " + StringTools.escapeXML(Tools.getFullStackTrace(e));
+        sendError(httpExchange, HttpURLConnection.HTTP_INTERNAL_ERROR, response);
+      }
     } finally {
       httpExchange.close();
     }
   }
 
+  private boolean isResponseStarted(HttpExchange httpExchange) {
+    // the response code is -1 until the headers have been sent:
+    return httpExchange.getResponseCode() != -1;
+  }
+
   private void sendError(HttpExchange httpExchange, int returnCode, String response) throws IOException {
-    httpExchange.sendResponseHeaders(returnCode, response.getBytes(ENCODING).length);
-    httpExchange.getResponseBody().write(response.getBytes(ENCODING));
+    final byte[] bytes = response.getBytes(ENCODING);
+    httpExchange.sendResponseHeaders(returnCode, bytes.length);
+    httpExchange.getResponseBody().write(bytes);
   }
 
   private Map<String, String> getRequestQuery(HttpExchange httpExchange, URI requestedUri) throws IOException {
-    final String query;
     if ("post".equalsIgnoreCase(httpExchange.getRequestMethod())) {
-      query = StringTools.streamToString(httpExchange.getRequestBody(), ENCODING);
+      try (Reader reader = new BufferedReader(new InputStreamReader(httpExchange.getRequestBody(), ENCODING))) {
+        return parseQuery(reader);
+      }
     } else {
-      query = requestedUri.getRawQuery();
+      return parseQuery(requestedUri.getRawQuery());
     }
-    return parseQuery(query);
   }
 
   private void printListOfLanguages(HttpExchange httpExchange) throws IOException {
-    setCommonHeaders(httpExchange);
-    final String response = getSupportedLanguagesAsXML();
-    httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, response.getBytes(ENCODING).length);
-    httpExchange.getResponseBody().write(response.getBytes(ENCODING));
+    setCommonHeaders(httpExchange, CONTENT_TYPE_VALUE);
+    final byte[] response = getSupportedLanguagesAsXML().getBytes(ENCODING);
+    httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, response.length);
+    httpExchange.getResponseBody().write(response);
   }
 
-  private void setCommonHeaders(HttpExchange httpExchange) {
-    httpExchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE_VALUE);
+  private void setCommonHeaders(HttpExchange httpExchange, String contentType) {
+    httpExchange.getResponseHeaders().set("Content-Type", contentType);
     if (allowOriginUrl != null) {
       httpExchange.getResponseHeaders().set("Access-Control-Allow-Origin", allowOriginUrl);
     }
@@ -221,14 +288,37 @@ class LanguageToolHttpHandler implements HttpHandler {
       throw new IllegalArgumentException("You cannot specify disabled rules using enabledOnly=yes");
     }
     
+    final String maxMatchesWithSuggestionsParam = parameters.get("maxMatchesWithSuggestions");
+    final int maxMatchesWithSuggestions;
+    if (maxMatchesWithSuggestionsParam != null) {
+      maxMatchesWithSuggestions = Integer.parseInt(maxMatchesWithSuggestionsParam);
+      if (maxMatchesWithSuggestions < 0) {
+        throw new IllegalArgumentException("'maxMatchesWithSuggestions' must be >= 0: " + maxMatchesWithSuggestions);
+      }
+    } else {
+      maxMatchesWithSuggestions = Integer.MAX_VALUE;
+    }
+
+    final String contextSizeParam = parameters.get("contextSize");
+    final int contextSize = contextSizeParam != null ? Integer.parseInt(contextSizeParam) : DEFAULT_CONTEXT_SIZE;
+    // fail early on an unknown format, nothing is written yet:
+    final MatchesWriter matchesWriter = MatchesWriter.create(parameters.get("format"), httpExchange.getResponseBody(), contextSize);
+
     final boolean useQuerySettings = enabledRules.size() > 0 || disabledRules.size() > 0;
     final QueryParams params = new QueryParams(enabledRules, disabledRules, useEnabledOnly, useQuerySettings);
     
     final List<RuleMatch> matches;
     final String sourceText = parameters.get("srctext");
     if (sourceText == null) {
-      final JLanguageTool lt = getLanguageToolInstance(lang, motherTongue, params);
-      matches = lt.check(text);
+      final LanguageToolPool.Key key = new LanguageToolPool.Key(lang, motherTongue, params);
+      final Configuration guiConfig = getGuiConfig(lang, params);
+      final JLanguageTool lt = borrowLanguageToolInstance(key, guiConfig);
+      try {
+        matches = checkWithTimeLimit(lt, text, timeStart);
+        limitSuggestions(matches, maxMatchesWithSuggestions);
+      } finally {
+        returnLanguageToolInstance(key, lt, guiConfig);
+      }
     } else {
       if (motherTongueParam == null) {
         throw new IllegalArgumentException("Missing 'motherTongue' for bilingual checks");
@@ -236,16 +326,29 @@ class LanguageToolHttpHandler implements HttpHandler {
       print("Checking bilingual text, with source length " + sourceText.length() +
           " and target length " + text.length() + " (characters), source language " +
           motherTongue + " and target language " + langParam);
-      final JLanguageTool sourceLt = getLanguageToolInstance(motherTongue, null, params);
-      final JLanguageTool targetLt = getLanguageToolInstance(lang, null, params);
-      final List<BitextRule> bRules = Tools.getBitextRules(motherTongue, lang);
-      matches = Tools.checkBitext(sourceText, text, sourceLt, targetLt, bRules);
-    }
-    setCommonHeaders(httpExchange);
-    final String response = StringTools.ruleMatchesToXML(matches, text,
-            CONTEXT_SIZE, StringTools.XmlPrintMode.NORMAL_XML, lang, motherTongue);
-    httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, response.getBytes(ENCODING).length);
-    httpExchange.getResponseBody().write(response.getBytes(ENCODING));
+      final LanguageToolPool.Key sourceKey = new LanguageToolPool.Key(motherTongue, null, params);
+      final LanguageToolPool.Key targetKey = new LanguageToolPool.Key(lang, null, params);
+      final Configuration sourceGuiConfig = getGuiConfig(motherTongue, params);
+      final Configuration targetGuiConfig = getGuiConfig(lang, params);
+      final JLanguageTool sourceLt = borrowLanguageToolInstance(sourceKey, sourceGuiConfig);
+      try {
+        final JLanguageTool targetLt = borrowLanguageToolInstance(targetKey, targetGuiConfig);
+        try {
+          final List<BitextRule> bRules = Tools.getBitextRules(motherTongue, lang);
+          matches = checkBitextWithTimeLimit(sourceText, text, sourceLt, targetLt, bRules, timeStart);
+          limitSuggestions(matches, maxMatchesWithSuggestions);
+        } finally {
+          returnLanguageToolInstance(targetKey, targetLt, targetGuiConfig);
+        }
+      } finally {
+        returnLanguageToolInstance(sourceKey, sourceLt, sourceGuiConfig);
+      }
+    }
+    setCommonHeaders(httpExchange, matchesWriter.getContentType());
+    // a length of 0 means the response is sent in chunks, written match by match
+    // so a long list of matches isn't held in memory twice:
+    httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, 0);
+    matchesWriter.write(matches, text, lang, motherTongue);
     String languageMessage = lang.getShortNameWithCountryAndVariant();
     if (motherTongue != null) {
       languageMessage += " (mother tongue: " + motherTongue.getShortNameWithCountryAndVariant() + ")";
@@ -255,30 +358,92 @@ class LanguageToolHttpHandler implements HttpHandler {
             + (System.currentTimeMillis() - timeStart) + "ms");
   }
 
-  private Map<String, String> parseQuery(String query) throws UnsupportedEncodingException {
-    final Map<String, String> parameters = new HashMap<>();
-    if (query != null) {
-      final String[] pairs = query.split("[&]");
-      final Map<String, String> parameterMap = getParameterMap(pairs);
-      parameters.putAll(parameterMap);
+  private List<RuleMatch> checkWithTimeLimit(JLanguageTool lt, String text, long timeStart) throws IOException {
+    setTimeLimit(lt, timeStart);
+    try {
+      return lt.check(text);
+    } catch (CancellationException e) {
+      throw new CheckTimeoutException(maxCheckTimeMillis, text.length(), e);
+    } finally {
+      // the instance gets re-used by other requests:
+      lt.setCheckCancelledCallback(null);
     }
-    return parameters;
   }
 
-  private Map<String, String> getParameterMap(String[] pairs) throws UnsupportedEncodingException {
+  private List<RuleMatch> checkBitextWithTimeLimit(String sourceText, String text, JLanguageTool sourceLt,
+                                                   JLanguageTool targetLt, List<BitextRule> bRules, long timeStart) throws IOException {
+    setTimeLimit(sourceLt, timeStart);
+    setTimeLimit(targetLt, timeStart);
+    try {
+      return Tools.checkBitext(sourceText, text, sourceLt, targetLt, bRules);
+    } catch (CancellationException e) {
+      throw new CheckTimeoutException(maxCheckTimeMillis, text.length(), e);
+    } finally {
+      sourceLt.setCheckCancelledCallback(null);
+      targetLt.setCheckCancelledCallback(null);
+    }
+  }
+
+  private void setTimeLimit(JLanguageTool lt, long timeStart) {
+    if (maxCheckTimeMillis <= 0) {
+      return;
+    }
+    final long deadline = timeStart + maxCheckTimeMillis;
+    lt.setCheckCancelledCallback(new JLanguageTool.CheckCancelledCallback() {
+      @Override
+      public boolean checkCancelled() {
+        return System.currentTimeMillis() > deadline;
+      }
+    });
+  }
+
+  // Suggestions that are computed lazily depend on the rules, so this needs to be called before
+  // the JLanguageTool instance is used by another request:
+  private void limitSuggestions(List<RuleMatch> matches, int maxMatchesWithSuggestions) {
+    for (int i = 0; i < matches.size(); i++) {
+      final RuleMatch match = matches.get(i);
+      if (i < maxMatchesWithSuggestions) {
+        match.getSuggestedReplacements();
+      } else {
+        match.setSuggestedReplacements(Collections.<String>emptyList());
+      }
+    }
+  }
+
+  private Map<String, String> parseQuery(String query) throws IOException {
+    if (query == null) {
+      return new HashMap<>();
+    }
+    return parseQuery(new StringReader(query));
+  }
+
+  // reads the parameters pair by pair, so a large text in a POST request isn't held in memory twice:
+  private Map<String, String> parseQuery(Reader reader) throws IOException {
     final Map<String, String> parameters = new HashMap<>();
-    for (String pair : pairs) {
-      final int delimPos = pair.indexOf("=");
-      if (delimPos != -1) {
-        final String param = pair.substring(0, delimPos);
-        final String key = URLDecoder.decode(param, ENCODING);
-        final String value = URLDecoder.decode(pair.substring(delimPos + 1), ENCODING);
-        parameters.put(key, value);
+    final StringBuilder pair = new StringBuilder();
+    int c;
+    while ((c = reader.read()) != -1) {
+      if (c == '&') {
+        addParameter(pair.toString(), parameters);
+        pair.setLength(0);
+      } else {
+        pair.append((char) c);
       }
     }
+    addParameter(pair.toString(), parameters);
     return parameters;
   }
 
+  private void addParameter(String pair, Map<String, String> parameters) throws UnsupportedEncodingException {
+    final int delimPos = pair.indexOf("=");
+    if (delimPos != -1) {
+      final String param = pair.substring(0, delimPos);
+      final String key = URLDecoder.decode(param, ENCODING);
+      final String value = URLDecoder.decode(pair.substring(delimPos + 1), ENCODING);
+      parameters.put(key, value);
+    }
+  }
+
   private static void print(String s) {
     final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
     final String now = dateFormat.format(new Date());
@@ -287,17 +452,64 @@ class LanguageToolHttpHandler implements HttpHandler {
 
   /**
    * Find or create a JLanguageTool instance for a specific language, mother tongue, and rule configuration.
+   * The instance must be given back with {@link #returnLanguageToolInstance(LanguageToolPool.Key, JLanguageTool, Configuration)}.
+   * @param guiConfig the result of {@link #getGuiConfig(Language, QueryParams)} for the key
+   */
+  private JLanguageTool borrowLanguageToolInstance(LanguageToolPool.Key key, Configuration guiConfig) throws Exception {
+    if (guiConfig != null) {
+      // the GUI configuration may change at any time, so these instances are not pooled:
+      return createLanguageToolInstance(key.getLanguage(), key.getMotherTongue(), key.getParams(), guiConfig);
+    }
+    return pool.borrowInstance(key);
+  }
+
+  /**
+   * @param guiConfig the same configuration that the instance was borrowed with, so an instance
+   *   that uses the GUI configuration never gets into the pool, even if the configuration has changed
+   */
+  private void returnLanguageToolInstance(LanguageToolPool.Key key, JLanguageTool lt, Configuration guiConfig) {
+    if (guiConfig == null) {
+      pool.returnInstance(key, lt);
+    }
+  }
+
+  /**
+   * The GUI configuration that the check must use, or {@code null}.
+   */
+  private Configuration getGuiConfig(Language lang, QueryParams params) throws IOException {
+    if (params.useQuerySettings || !internalServer) {
+      return null;
+    }
+    final Configuration config = getConfiguration(lang);
+    return config.getUseGUIConfig() ? config : null;
+  }
+
+  // the configuration is only read again if its file has changed, not for each request:
+  private Configuration getConfiguration(Language lang) throws IOException {
+    final long lastModified = Configuration.getDefaultConfigFile().lastModified();
+    final CachedConfiguration cachedConfig = configurations.get(lang);
+    if (cachedConfig != null && cachedConfig.lastModified == lastModified) {
+      return cachedConfig.config;
+    }
+    final Configuration config = new Configuration(lang);
+    configurations.put(lang, new CachedConfiguration(config, lastModified));
+    return config;
+  }
+
+  /**
+   * Create a JLanguageTool instance for a specific language, mother tongue, and rule configuration.
    *
    * @param lang the language to be used.
    * @param motherTongue the user's mother tongue or {@code null}
+   * @param guiConfig the GUI configuration to use or {@code null}
    */
-  private JLanguageTool getLanguageToolInstance(Language lang, Language motherTongue, QueryParams params) throws Exception {
+  private JLanguageTool createLanguageToolInstance(Language lang, Language motherTongue, QueryParams params,
+                                                   Configuration guiConfig) throws Exception {
     final JLanguageTool newLanguageTool = new JLanguageTool(lang, motherTongue);
     newLanguageTool.activateDefaultPatternRules();
     newLanguageTool.activateDefaultFalseFriendRules();
-    final Configuration config = new Configuration(lang);
-    if (!params.useQuerySettings && internalServer && config.getUseGUIConfig()) { // use the GUI config values
-      configureGUI(newLanguageTool, config);
+    if (guiConfig != null) { // use the GUI config values
+      configureGUI(newLanguageTool, guiConfig);
     }
     if (params.useQuerySettings) {
       Tools.selectRules(newLanguageTool, params.disabledRules, params.enabledRules, params.useEnabledOnly);
@@ -305,6 +517,25 @@ class LanguageToolHttpHandler implements HttpHandler {
     return newLanguageTool;
   }
 
+  private static class CachedConfiguration {
+    private final Configuration config;
+    private final long lastModified;
+    CachedConfiguration(Configuration config, long lastModified) {
+      this.config = config;
+      this.lastModified = lastModified;
+    }
+  }
+
+  /**
+   * Thrown if a check takes longer than the maximum check time.
+   */
+  static class CheckTimeoutException extends RuntimeException {
+    CheckTimeoutException(int maxCheckTimeMillis, int textLength, Throwable cause) {
+      super("Text checking took longer than allowed maximum of " + maxCheckTimeMillis +
+              " milliseconds (text length: " + textLength + " characters)", cause);
+    }
+  }
+
   private void configureGUI(JLanguageTool langTool, Configuration config) {
     print("Using options configured in the GUI");
     //TODO: add a parameter to config to set language
@@ -357,7 +588,7 @@ class LanguageToolHttpHandler implements HttpHandler {
     return xmlBuffer.toString();
   }
 
-  private class QueryParams {
+  static class QueryParams {
     final List<String> enabledRules;
     final List<String> disabledRules;
     final boolean useEnabledOnly;
@@ -369,6 +600,28 @@ class LanguageToolHttpHandler implements HttpHandler {
       this.useEnabledOnly = useEnabledOnly;
       this.useQuerySettings = useQuerySettings;
     }
+
+    // the order of the rule ids doesn't matter, so we compare them as sets:
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      final QueryParams other = (QueryParams) o;
+      return useEnabledOnly == other.useEnabledOnly
+              && useQuerySettings == other.useQuerySettings
+              && new HashSet<>(enabledRules).equals(new HashSet<>(other.enabledRules))
+              && new HashSet<>(disabledRules).equals(new HashSet<>(other.disabledRules));
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(new HashSet<>(enabledRules), new HashSet<>(disabledRules), useEnabledOnly, useQuerySettings);
+    }
+
+    @Override
+    public String toString() {
+      return "enabled=" + enabledRules + ", disabled=" + disabledRules + ", enabledOnly=" + useEnabledOnly;
+    }
   }
 
 }
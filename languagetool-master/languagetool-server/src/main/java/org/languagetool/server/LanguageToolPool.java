@@ -0,0 +1,202 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A pool of ready-to-use {@link JLanguageTool} instances, so that the pattern rules
+ * and false friend rules don't need to be loaded from XML for every request.
+ * Instances are pooled per language, mother tongue, and rule selection. As a
+ * {@link JLanguageTool} is not thread-safe, an instance is used by only one request
+ * at a time: call {@link #borrowInstance(Key)} to get it and {@link #returnInstance(Key, JLanguageTool)}
+ * once the check is done. The number of idle instances is limited, the instances of the
+ * least recently used configurations are removed first.
+ * @since 2.4
+ */
+class LanguageToolPool {
+
+  private final Map<Key, Deque<JLanguageTool>> idleInstances = new LinkedHashMap<>(16, 0.75f, true);
+  private final InstanceFactory factory;
+  private final int maxIdleInstances;
+  private final int maxIdleInstancesPerKey;
+
+  private int idleCount;
+  private long createdCount;
+
+  /**
+   * @param factory creates and configures a new instance when no idle instance is available
+   * @param maxIdleInstances the maximum number of idle instances kept for all configurations together
+   * @param maxIdleInstancesPerKey the maximum number of idle instances kept for one configuration,
+   *                               i.e. usually the number of requests that can be handled in parallel
+   */
+  LanguageToolPool(InstanceFactory factory, int maxIdleInstances, int maxIdleInstancesPerKey) {
+    if (maxIdleInstances < 0 || maxIdleInstancesPerKey < 0) {
+      throw new IllegalArgumentException("Pool sizes must not be negative: " + maxIdleInstances + ", " + maxIdleInstancesPerKey);
+    }
+    this.factory = Objects.requireNonNull(factory);
+    this.maxIdleInstances = maxIdleInstances;
+    this.maxIdleInstancesPerKey = maxIdleInstancesPerKey;
+  }
+
+  /**
+   * Get an instance for exclusive use, creating a new one if no idle instance
+   * is available. The instance should be given back with {@link #returnInstance(Key, JLanguageTool)}.
+   */
+  JLanguageTool borrowInstance(Key key) throws Exception {
+    synchronized (this) {
+      final Deque<JLanguageTool> instances = idleInstances.get(key);
+      if (instances != null && !instances.isEmpty()) {
+        idleCount--;
+        return instances.pop();
+      }
+      createdCount++;
+    }
+    // creating an instance is slow, so we do it outside of the lock:
+    return factory.create(key);
+  }
+
+  /**
+   * Give back an instance that was taken with {@link #borrowInstance(Key)}. Do not
+   * use the instance anymore after calling this. If the pool is full, the instances of the
+   * least recently used configurations get dropped to make room.
+   */
+  synchronized void returnInstance(Key key, JLanguageTool instance) {
+    Deque<JLanguageTool> instances = idleInstances.get(key);
+    if (instances == null) {
+      instances = new ArrayDeque<>();
+      idleInstances.put(key, instances);
+    }
+    if (instances.size() >= maxIdleInstancesPerKey) {
+      return;
+    }
+    if (idleCount >= maxIdleInstances) {
+      evictLeastRecentlyUsed(key);
+    }
+    if (idleCount < maxIdleInstances) {
+      instances.push(instance);
+      idleCount++;
+    }
+  }
+
+  /**
+   * Create an instance for the given configuration and put it into the pool, so
+   * the first request for that configuration doesn't need to wait for rule loading.
+   */
+  void warmUp(Key key) throws Exception {
+    final JLanguageTool instance = borrowInstance(key);
+    // loads the dictionaries that are only initialized on first use:
+    instance.check("");
+    returnInstance(key, instance);
+  }
+
+  synchronized void clear() {
+    idleInstances.clear();
+    idleCount = 0;
+  }
+
+  synchronized int getIdleCount() {
+    return idleCount;
+  }
+
+  /**
+   * The number of instances that had to be created because no idle instance was available.
+   */
+  synchronized long getCreatedCount() {
+    return createdCount;
+  }
+
+  // iteration order of an access-ordered LinkedHashMap is from least to most recently used:
+  private void evictLeastRecentlyUsed(Key keyToKeep) {
+    final Iterator<Map.Entry<Key, Deque<JLanguageTool>>> iterator = idleInstances.entrySet().iterator();
+    while (iterator.hasNext() && idleCount >= maxIdleInstances) {
+      final Map.Entry<Key, Deque<JLanguageTool>> entry = iterator.next();
+      if (!entry.getKey().equals(keyToKeep)) {
+        idleCount -= entry.getValue().size();
+        iterator.remove();
+      }
+    }
+  }
+
+  interface InstanceFactory {
+    JLanguageTool create(Key key) throws Exception;
+  }
+
+  /**
+   * The configuration of a pooled instance. Instances are only shared between
+   * requests with the same language, mother tongue, and rule selection.
+   */
+  static class Key {
+
+    private final Language language;
+    private final Language motherTongue;
+    private final LanguageToolHttpHandler.QueryParams params;
+
+    Key(Language language, Language motherTongue, LanguageToolHttpHandler.QueryParams params) {
+      this.language = Objects.requireNonNull(language);
+      this.motherTongue = motherTongue;
+      this.params = Objects.requireNonNull(params);
+    }
+
+    Language getLanguage() {
+      return language;
+    }
+
+    Language getMotherTongue() {
+      return motherTongue;
+    }
+
+    LanguageToolHttpHandler.QueryParams getParams() {
+      return params;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      final Key other = (Key) o;
+      return language.getShortNameWithCountryAndVariant().equals(other.language.getShortNameWithCountryAndVariant())
+              && Objects.equals(getShortName(motherTongue), getShortName(other.motherTongue))
+              && params.equals(other.params);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(language.getShortNameWithCountryAndVariant(), getShortName(motherTongue), params);
+    }
+
+    private static String getShortName(Language lang) {
+      return lang != null ? lang.getShortNameWithCountryAndVariant() : null;
+    }
+
+    @Override
+    public String toString() {
+      return language.getShortNameWithCountryAndVariant() + "/" + getShortName(motherTongue) + "/" + params;
+    }
+  }
+
+}
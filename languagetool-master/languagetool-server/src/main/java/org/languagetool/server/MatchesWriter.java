@@ -0,0 +1,148 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.languagetool.Language;
+import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.patterns.PatternRule;
+import org.languagetool.tools.ContextTools;
+
+/**
+ * Writes the result of a check to the response stream, match by match, so the
+ * complete response never needs to be held in memory.
+ * @since 2.4
+ */
+abstract class MatchesWriter {
+
+  private static final String START_MARKER = "__languagetool_start_marker";
+  private static final Pattern SUGGESTION_TAG = Pattern.compile("</?suggestion>");
+
+  private final ContextTools contextTools;
+
+  /**
+   * @param contextSize the number of characters of context to print before and after each match,
+   *                    or a negative number to not print a context at all
+   */
+  MatchesWriter(int contextSize) {
+    if (contextSize >= 0) {
+      contextTools = new ContextTools();
+      contextTools.setEscapeHtml(false);
+      contextTools.setContextSize(contextSize);
+      contextTools.setErrorMarkerStart(START_MARKER);
+      contextTools.setErrorMarkerEnd("");
+    } else {
+      contextTools = null;
+    }
+  }
+
+  /**
+   * Get a writer for the given format.
+   * @param format {@code xml}, {@code json}, or {@code binary}, {@code null} means {@code xml}
+   * @param contextSize the number of characters of context to print before and after each match,
+   *                    or a negative number to not print a context at all (the XML format always has a context)
+   */
+  static MatchesWriter create(String format, OutputStream out, int contextSize) throws IOException {
+    if (format == null || format.equals("xml")) {
+      return new XmlMatchesWriter(out, contextSize);
+    } else if (format.equals("json")) {
+      return new JsonMatchesWriter(out, contextSize);
+    } else if (format.equals("binary")) {
+      return new BinaryMatchesWriter(out, contextSize);
+    }
+    throw new IllegalArgumentException("Unknown 'format': '" + format + "', use 'xml', 'json', or 'binary'");
+  }
+
+  /**
+   * The value for the {@code Content-Type} header of the response.
+   */
+  abstract String getContentType();
+
+  /**
+   * Write everything that comes before the first match.
+   * @param lang the language of the text (might be null)
+   * @param motherTongue the mother tongue of the user (might be null)
+   */
+  abstract void start(Language lang, Language motherTongue) throws IOException;
+
+  /**
+   * @param text the text that was checked, used to get the context of the match
+   */
+  abstract void write(RuleMatch match, String text) throws IOException;
+
+  /**
+   * Write everything that comes after the last match and flush the output, but don't close it.
+   */
+  abstract void end() throws IOException;
+
+  void write(List<RuleMatch> matches, String text, Language lang, Language motherTongue) throws IOException {
+    start(lang, motherTongue);
+    for (RuleMatch match : matches) {
+      write(match, text);
+    }
+    end();
+  }
+
+  /**
+   * Whether the mother tongue should be part of the output, like in the XML format.
+   */
+  static boolean isMotherTongueRelevant(Language lang, Language motherTongue) {
+    return motherTongue != null && (lang == null || !motherTongue.getShortName().equals(lang.getShortNameWithCountryAndVariant()));
+  }
+
+  static String getSubId(RuleMatch match) {
+    if (match.getRule() instanceof PatternRule) {
+      return ((PatternRule) match.getRule()).getSubId();
+    }
+    return null;
+  }
+
+  static String getMessage(RuleMatch match) {
+    return SUGGESTION_TAG.matcher(match.getMessage()).replaceAll("'");
+  }
+
+  /**
+   * @return the context of the match and the position of the match in it,
+   *   or {@code null} if no context is requested
+   */
+  Context getContext(RuleMatch match, String text) {
+    if (contextTools == null) {
+      return null;
+    }
+    final String context = contextTools.getContext(match.getFromPos(), match.getToPos(), text);
+    final int offset = context.indexOf(START_MARKER);
+    return new Context(context.replace(START_MARKER, "").replace('\r', ' ').replace('\n', ' '), offset);
+  }
+
+  static class Context {
+
+    final String text;
+    final int offset;
+
+    Context(String text, int offset) {
+      this.text = text;
+      this.offset = offset;
+    }
+  }
+
+}
@@ -0,0 +1,112 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the requests of the server with a fixed number of threads. Requests that
+ * cannot be queued because the queue is full, or that have been waiting in the queue
+ * for too long, are still run, but marked as rejected: the handler should then answer
+ * them immediately with an error (see {@link #isRequestRejected()}) instead of checking the text,
+ * so that clients don't need to wait for an unpredictable time when the server is overloaded.
+ * @since 2.4
+ */
+class RequestExecutor implements Executor {
+
+  private static final ThreadLocal<Boolean> requestRejected = new ThreadLocal<>();
+
+  private final ThreadPoolExecutor executor;
+  private final int maxQueueWaitMillis;
+
+  /**
+   * @param threads the number of requests handled at the same time
+   * @param maxQueueSize the maximum number of requests waiting to be handled, {@code 0} for no limit
+   * @param maxQueueWaitMillis the maximum time a request may wait to be handled, {@code 0} for no limit
+   */
+  RequestExecutor(int threads, int maxQueueSize, int maxQueueWaitMillis) {
+    if (maxQueueSize < 0 || maxQueueWaitMillis < 0) {
+      throw new IllegalArgumentException("Queue limits must not be negative: " + maxQueueSize + ", " + maxQueueWaitMillis);
+    }
+    final BlockingQueue<Runnable> queue;
+    if (maxQueueSize > 0) {
+      queue = new ArrayBlockingQueue<>(maxQueueSize);
+    } else {
+      queue = new LinkedBlockingQueue<>();
+    }
+    this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue);
+    this.maxQueueWaitMillis = maxQueueWaitMillis;
+  }
+
+  @Override
+  public void execute(final Runnable request) {
+    final long queuedAt = System.currentTimeMillis();
+    try {
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          final boolean waitedTooLong = maxQueueWaitMillis > 0 && System.currentTimeMillis() - queuedAt > maxQueueWaitMillis;
+          runRequest(request, waitedTooLong);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      if (executor.isShutdown()) {
+        throw e;
+      }
+      // the queue is full - this runs in the server's dispatcher thread, but a rejected
+      // request is answered without checking the text, so it doesn't block for long:
+      runRequest(request, true);
+    }
+  }
+
+  /**
+   * Whether the request being handled by the current thread has been rejected
+   * because the server is overloaded.
+   */
+  static boolean isRequestRejected() {
+    return Boolean.TRUE.equals(requestRejected.get());
+  }
+
+  /**
+   * The number of requests waiting to be handled.
+   */
+  int getQueueSize() {
+    return executor.getQueue().size();
+  }
+
+  void shutdownNow() {
+    executor.shutdownNow();
+  }
+
+  private static void runRequest(Runnable request, boolean rejected) {
+    requestRejected.set(rejected);
+    try {
+      request.run();
+    } finally {
+      requestRejected.remove();
+    }
+  }
+
+}
@@ -18,28 +18,52 @@
  */
 package org.languagetool.server;
 
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * Limit the maximum number of request per IP address for a given time range.
+ * Optionally, also limit the number of characters an IP address may send for
+ * checking in that time range. Can be used by several threads without locking.
  */
 class RequestLimiter {
 
-  private static final int API_REQUEST_QUEUE_SIZE = 1000;
+  // IP addresses not seen for this long are removed, if the time period is shorter:
+  private static final long MIN_EVICTION_INTERVAL_MILLIS = 60 * 1000;
 
-  private final List<RequestEvent> requestEvents = new ArrayList<>();
+  private final ConcurrentMap<String, IpState> ipStates = new ConcurrentHashMap<>();
+  private final AtomicLong lastEviction = new AtomicLong(System.currentTimeMillis());
+  private final AtomicLong acceptedCount = new AtomicLong();
+  private final AtomicLong rejectedCount = new AtomicLong();
   private final int requestLimit;
   private final int requestLimitPeriodInSeconds;
+  private final long requestLimitPeriodInMillis;
+  private final long characterLimit;
 
   /**
    * @param requestLimit the maximum number of request per <tt>requestLimitPeriodInSeconds</tt>
    * @param requestLimitPeriodInSeconds the time period over which requests are considered, in seconds
    */
   RequestLimiter(int requestLimit, int requestLimitPeriodInSeconds) {
+    this(requestLimit, requestLimitPeriodInSeconds, 0);
+  }
+
+  /**
+   * @param requestLimit the maximum number of request per <tt>requestLimitPeriodInSeconds</tt>
+   * @param requestLimitPeriodInSeconds the time period over which requests are considered, in seconds
+   * @param characterLimit the maximum number of characters to be checked per <tt>requestLimitPeriodInSeconds</tt>,
+   *                       or 0 for no limit
+   * @since 2.4
+   */
+  RequestLimiter(int requestLimit, int requestLimitPeriodInSeconds, long characterLimit) {
     this.requestLimit = requestLimit;
     this.requestLimitPeriodInSeconds = requestLimitPeriodInSeconds;
+    this.requestLimitPeriodInMillis = requestLimitPeriodInSeconds * 1000L;
+    this.characterLimit = characterLimit;
   }
 
   /**
@@ -56,41 +80,133 @@ class RequestLimiter {
     return requestLimitPeriodInSeconds;
   }
 
+  /**
+   * The maximum number of characters per {@link #getRequestLimitPeriodInSeconds()}, 0 means no limit.
+   * @since 2.4
+   */
+  long getCharacterLimit() {
+    return characterLimit;
+  }
+
+  /**
+   * The number of requests that have been allowed so far.
+   * @since 2.4
+   */
+  long getAcceptedCount() {
+    return acceptedCount.get();
+  }
+
+  /**
+   * The number of requests that have been denied so far.
+   * @since 2.4
+   */
+  long getRejectedCount() {
+    return rejectedCount.get();
+  }
+
+  /**
+   * The number of IP addresses currently tracked.
+   * @since 2.4
+   */
+  int getIpCount() {
+    return ipStates.size();
+  }
+
   /**
    * @param ipAddress the client's IP address
    * @return true if access is allowed because the request limit is not reached yet
    */
   boolean isAccessOkay(String ipAddress) {
-    while (requestEvents.size() > API_REQUEST_QUEUE_SIZE) {
-      requestEvents.remove(0);
-    }
-    requestEvents.add(new RequestEvent(ipAddress, new Date()));
-    return !limitReached(ipAddress);
+    return isAccessOkay(ipAddress, 0);
   }
-  
-  private boolean limitReached(String ipAddress) {
-    int requestsByIp = 0;
-    // all requests before this date are considered old:
-    final Date thresholdDate = new Date(System.currentTimeMillis() - requestLimitPeriodInSeconds * 1000);
-    for (RequestEvent requestEvent : requestEvents) {
-      if (requestEvent.ip.equals(ipAddress) && requestEvent.date.after(thresholdDate)) {
-        requestsByIp++;
-        if (requestsByIp > requestLimit) {
-          return true;
-        }
+
+  /**
+   * @param ipAddress the client's IP address
+   * @param textLength the number of characters the client wants to have checked
+   * @return true if access is allowed because neither the request limit nor the character limit is reached yet
+   * @since 2.4
+   */
+  boolean isAccessOkay(String ipAddress, int textLength) {
+    final long now = System.currentTimeMillis();
+    evictIdleIpsIfDue(now);
+    IpState state = ipStates.get(ipAddress);
+    if (state == null) {
+      final IpState newState = new IpState(Math.max(requestLimit, 0), now);
+      state = ipStates.putIfAbsent(ipAddress, newState);
+      if (state == null) {
+        state = newState;
       }
     }
+    // like before, denied requests count, so clients that keep on sending requests stay blocked:
+    final boolean requestOkay = state.addRequest(now);
+    // but the characters of a denied request are not counted:
+    if (requestOkay && (characterLimit <= 0 || state.addCharactersIfAllowed(now, textLength))) {
+      acceptedCount.incrementAndGet();
+      return true;
+    }
+    rejectedCount.incrementAndGet();
     return false;
   }
-  
-  class RequestEvent {
 
-    private final String ip;
-    private final Date date;
+  private void evictIdleIpsIfDue(long now) {
+    final long interval = Math.max(requestLimitPeriodInMillis, MIN_EVICTION_INTERVAL_MILLIS);
+    final long last = lastEviction.get();
+    if (now - last < interval || !lastEviction.compareAndSet(last, now)) {
+      return;
+    }
+    // a request that arrives while its IP is being removed may not be counted, which is okay:
+    final Iterator<IpState> iterator = ipStates.values().iterator();
+    while (iterator.hasNext()) {
+      if (now - iterator.next().lastAccess > interval) {
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * The times of the last <tt>requestLimit</tt> requests of an IP address in a ring buffer,
+   * so the time of the request <tt>requestLimit</tt> requests ago can be looked up in constant time.
+   * Characters are counted per time period.
+   */
+  private class IpState {
+
+    private final AtomicLongArray requestTimes;
+    private final AtomicInteger nextRequest = new AtomicInteger();
+    private final AtomicLong characterPeriodStart;
+    private final AtomicLong characterCount = new AtomicLong();
+    private volatile long lastAccess;
+
+    IpState(int size, long now) {
+      requestTimes = new AtomicLongArray(size);
+      characterPeriodStart = new AtomicLong(now);
+      lastAccess = now;
+    }
+
+    boolean addRequest(long now) {
+      lastAccess = now;
+      if (requestTimes.length() == 0) {
+        return false;
+      }
+      final int slot = (nextRequest.getAndIncrement() & Integer.MAX_VALUE) % requestTimes.length();
+      final long oldTime = requestTimes.getAndSet(slot, now);
+      // oldTime is 0 if there have not been requestLimit requests yet:
+      return oldTime == 0 || now - oldTime >= requestLimitPeriodInMillis;
+    }
 
-    RequestEvent(String ip, Date date) {
-      this.ip = ip;
-      this.date = date;
+    boolean addCharactersIfAllowed(long now, int textLength) {
+      final long periodStart = characterPeriodStart.get();
+      if (now - periodStart >= requestLimitPeriodInMillis && characterPeriodStart.compareAndSet(periodStart, now)) {
+        characterCount.set(0);
+      }
+      while (true) {
+        final long count = characterCount.get();
+        if (count + textLength > characterLimit) {
+          return false;
+        }
+        if (characterCount.compareAndSet(count, count + textLength)) {
+          return true;
+        }
+      }
     }
   }
 
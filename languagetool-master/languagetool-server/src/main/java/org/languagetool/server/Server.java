@@ -20,7 +20,13 @@ package org.languagetool.server;
 
 import com.sun.net.httpserver.HttpServer;
 import org.languagetool.JLanguageTool;
+import org.languagetool.tokenizers.de.CompoundSplitCache;
+import org.languagetool.tokenizers.de.GermanCompoundTokenizer;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
@@ -42,13 +48,82 @@ abstract class Server {
             "127.0.0.1"
     ));
   static final int THREAD_POOL_SIZE = 10;
+  /** Maximum number of idle JLanguageTool instances kept for re-use, for all languages together. */
+  static final int MAX_POOLED_INSTANCES = 50;
 
   protected int port;
   protected String host;
   protected HttpServer server;
+  protected LanguageToolHttpHandler httpHandler;
+  protected RequestExecutor executor;
 
   private boolean isRunning;
 
+  /**
+   * Load the rules of all languages if the configuration asks for it.
+   */
+  protected void warmUpIfConfigured(HTTPServerConfig config) {
+    if (config.isWarmUp()) {
+      System.out.println("Warming up, loading rules of all languages...");
+      try {
+        httpHandler.warmUp();
+      } catch (Exception e) {
+        throw new RuntimeException("Could not warm up server", e);
+      }
+    }
+    if (config.getCompoundFrequencyList() != null) {
+      warmUpCompoundCaches(config.getCompoundFrequencyList());
+    }
+  }
+
+  /**
+   * Put the splits of the most frequent German compounds into the caches of both splitting modes.
+   */
+  private void warmUpCompoundCaches(File frequencyList) {
+    System.out.println("Warming up the German compound caches with " + frequencyList + "...");
+    try {
+      for (boolean strictMode : new boolean[] {true, false}) {
+        final int maxWords = GermanCompoundTokenizer.getCache(strictMode).getMaxSize();
+        try (InputStream in = new FileInputStream(frequencyList)) {
+          new GermanCompoundTokenizer(strictMode).warmUpCache(in, maxWords);
+        }
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Could not warm up the German compound caches with " + frequencyList, e);
+    }
+    printCompoundCacheStatistics();
+  }
+
+  /**
+   * Print the size and the hit rate of the German compound caches, to help choosing their size.
+   */
+  protected void printCompoundCacheStatistics() {
+    for (boolean strictMode : new boolean[] {true, false}) {
+      final CompoundSplitCache cache = GermanCompoundTokenizer.getCache(strictMode);
+      System.out.println("German compound cache (" + (strictMode ? "strict" : "non-strict") + " mode): "
+              + cache.size() + " of max. " + cache.getMaxSize() + " words, "
+              + cache.getHits() + " hits, " + cache.getMisses() + " misses");
+    }
+  }
+
+  /**
+   * Create the handler and the executor for the requests and set them up
+   * with the server, according to the configuration.
+   * @param requestLimiter may be null
+   */
+  protected void initHandler(HTTPServerConfig config, boolean runInternally, Set<String> allowedIps, RequestLimiter requestLimiter) {
+    httpHandler = new LanguageToolHttpHandler(config.isVerbose(), allowedIps, runInternally, requestLimiter);
+    httpHandler.setAllowOriginUrl(config.getAllowOriginUrl());
+    httpHandler.setMaxCheckTimeMillis(config.getMaxCheckTimeMillis());
+    if (config.getCompoundCacheSize() > 0) {
+      GermanCompoundTokenizer.getCache(true).setMaxSize(config.getCompoundCacheSize());
+      GermanCompoundTokenizer.getCache(false).setMaxSize(config.getCompoundCacheSize());
+    }
+    server.createContext("/", httpHandler);
+    executor = new RequestExecutor(THREAD_POOL_SIZE, config.getMaxQueueSize(), config.getMaxQueueWaitMillis());
+    server.setExecutor(executor);
+  }
+
   /**
    * Start the server.
    */
@@ -68,6 +143,13 @@ abstract class Server {
     if (server != null) {
       System.out.println("Stopping server");
       server.stop(0);
+      if (httpHandler != null) {
+        httpHandler.shutdown();
+      }
+      if (executor != null) {
+        executor.shutdownNow();
+      }
+      printCompoundCacheStatistics();
       isRunning = false;
       System.out.println("Server stopped");
     }
@@ -92,6 +174,17 @@ abstract class Server {
     System.out.println("  --allow-origin ORIGIN  set the Access-Control-Allow-Origin header in the HTTP response,");
     System.out.println("                         used for direct (non-proxy) JavaScript-based access from browsers;");
     System.out.println("                         example: --allow-origin \"*\"");
+    System.out.println("  --warmup       load the rules of all languages on startup, so that the first requests");
+    System.out.println("                 don't need to wait for the rules to be loaded");
+    System.out.println("  --max-queue-size N  maximum number of requests waiting to be handled, further requests");
+    System.out.println("                      get an error (HTTP 503), defaults to " + HTTPServerConfig.DEFAULT_MAX_QUEUE_SIZE + ", 0 means no limit");
+    System.out.println("  --max-queue-wait MS maximum time in milliseconds a request may wait to be handled,");
+    System.out.println("                      longer waiting requests get an error (HTTP 503), defaults to 0 (no limit)");
+    System.out.println("  --max-check-time MS maximum time in milliseconds for checking a text, longer checks");
+    System.out.println("                      are stopped and get an error, defaults to 0 (no limit)");
+    System.out.println("  --compound-frequency-list FILE  UTF-8 file with one German word per line, most frequent first,");
+    System.out.println("                      whose compound splits are cached on startup");
+    System.out.println("  --compound-cache-size N  maximum number of words in each German compound cache");
   }
 
 }
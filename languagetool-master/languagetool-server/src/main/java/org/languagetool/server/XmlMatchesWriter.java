@@ -0,0 +1,74 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Collections;
+
+import org.languagetool.Language;
+import org.languagetool.rules.RuleMatch;
+import org.languagetool.tools.StringTools;
+
+/**
+ * Writes matches in the XML format that the server has always used.
+ * @since 2.4
+ */
+class XmlMatchesWriter extends MatchesWriter {
+
+  private static final int DEFAULT_CONTEXT_SIZE = 40;
+
+  private final Writer writer;
+  private final int contextSize;
+
+  XmlMatchesWriter(OutputStream out, int contextSize) throws IOException {
+    super(-1);
+    this.writer = new BufferedWriter(new OutputStreamWriter(out, "utf-8"));
+    // people rely on this format, so there's always a context:
+    this.contextSize = contextSize >= 0 ? contextSize : DEFAULT_CONTEXT_SIZE;
+  }
+
+  @Override
+  String getContentType() {
+    return "text/xml; charset=UTF-8";
+  }
+
+  @Override
+  void start(Language lang, Language motherTongue) throws IOException {
+    writer.write(StringTools.ruleMatchesToXML(Collections.<RuleMatch>emptyList(), "",
+            contextSize, StringTools.XmlPrintMode.START_XML, lang, motherTongue));
+  }
+
+  @Override
+  void write(RuleMatch match, String text) throws IOException {
+    writer.write(StringTools.ruleMatchesToXML(Collections.singletonList(match), text,
+            contextSize, StringTools.XmlPrintMode.CONTINUE_XML));
+  }
+
+  @Override
+  void end() throws IOException {
+    writer.write(StringTools.ruleMatchesToXML(Collections.<RuleMatch>emptyList(), "",
+            contextSize, StringTools.XmlPrintMode.END_XML));
+    writer.flush();
+  }
+
+}
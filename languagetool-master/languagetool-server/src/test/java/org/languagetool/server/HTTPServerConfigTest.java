@@ -20,7 +20,10 @@ package org.languagetool.server;
 
 import org.junit.Test;
 
+import java.io.File;
+
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.Assert.assertThat;
 
 public class HTTPServerConfigTest {
@@ -46,6 +49,25 @@ public class HTTPServerConfigTest {
     assertThat(config4.getPort(), is(80));
     assertThat(config4.isPublicAccess(), is(true));
     assertThat(config4.isVerbose(), is(false));
+    assertThat(config4.isWarmUp(), is(false));
+
+    final HTTPServerConfig config5 = new HTTPServerConfig("--warmup --port 80".split(" "));
+    assertThat(config5.getPort(), is(80));
+    assertThat(config5.isWarmUp(), is(true));
+    assertThat(config5.getMaxQueueSize(), is(HTTPServerConfig.DEFAULT_MAX_QUEUE_SIZE));
+    assertThat(config5.getMaxQueueWaitMillis(), is(0));
+    assertThat(config5.getMaxCheckTimeMillis(), is(0));
+
+    final HTTPServerConfig config6 = new HTTPServerConfig("--max-queue-size 5 --max-queue-wait 1000 --max-check-time 2000".split(" "));
+    assertThat(config6.getMaxQueueSize(), is(5));
+    assertThat(config6.getMaxQueueWaitMillis(), is(1000));
+    assertThat(config6.getMaxCheckTimeMillis(), is(2000));
+    assertThat(config6.getCompoundFrequencyList(), is(nullValue()));
+    assertThat(config6.getCompoundCacheSize(), is(0));
+
+    final HTTPServerConfig config7 = new HTTPServerConfig("--compound-frequency-list words.txt --compound-cache-size 1000".split(" "));
+    assertThat(config7.getCompoundFrequencyList(), is(new File("words.txt")));
+    assertThat(config7.getCompoundCacheSize(), is(1000));
   }
 
 }
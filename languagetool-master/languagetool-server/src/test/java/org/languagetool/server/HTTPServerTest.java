@@ -24,6 +24,7 @@ import org.junit.Test;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Language;
 import org.languagetool.XMLValidator;
+import org.languagetool.language.AmericanEnglish;
 import org.languagetool.language.English;
 import org.languagetool.language.German;
 import org.languagetool.language.Polish;
@@ -162,7 +163,16 @@ public class HTTPServerTest {
 
     assertTrue(resultEn.contains("EN_A_VS_AN"));
     assertTrue(!resultEn.contains("BERATE"));
-    
+
+    //suggestions only for some matches
+    assertTrue(checkWithMaxMatchesWithSuggestions(new AmericanEnglish(), "This is a tset.", 1).contains("replacements=\"test#"));
+    assertTrue(checkWithMaxMatchesWithSuggestions(new AmericanEnglish(), "This is a tset.", 0).contains("replacements=\"\""));
+
+    //other output formats
+    final String json = checkWithFormat(new AmericanEnglish(), "This is a tset.", "json");
+    assertTrue(json, json.startsWith("{\"software\":{\"name\":\"LanguageTool\""));
+    assertTrue(json, json.contains("\"replacements\":[\"test\","));
+    assertTrue(json, json.endsWith("]}"));
   }
 
   @Test
@@ -259,6 +269,20 @@ public class HTTPServerTest {
     return HTTPTools.checkAtUrl(url);
   }
   
+  private String checkWithMaxMatchesWithSuggestions(Language lang, String text, int maxMatchesWithSuggestions) throws IOException {
+    final String urlOptions = "/?language=" + lang.getShortNameWithCountryAndVariant() + "&text=" + URLEncoder.encode(text, "UTF-8")
+            + "&maxMatchesWithSuggestions=" + maxMatchesWithSuggestions;
+    final URL url = new URL("http://localhost:" + DEFAULT_PORT + urlOptions);
+    return HTTPTools.checkAtUrl(url);
+  }
+
+  private String checkWithFormat(Language lang, String text, String format) throws IOException {
+    final String urlOptions = "/?language=" + lang.getShortNameWithCountryAndVariant() + "&text=" + URLEncoder.encode(text, "UTF-8")
+            + "&format=" + format;
+    final URL url = new URL("http://localhost:" + DEFAULT_PORT + urlOptions);
+    return HTTPTools.checkAtUrl(url);
+  }
+
   /**
    * Same as {@link #check(Language, String)} but using HTTP POST method instead of GET
    */
@@ -0,0 +1,103 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.junit.Test;
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.language.English;
+import org.languagetool.language.German;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class LanguageToolPoolTest {
+
+  private final LanguageToolHttpHandler.QueryParams defaultParams =
+          new LanguageToolHttpHandler.QueryParams(Collections.<String>emptyList(), Collections.<String>emptyList(), false, false);
+
+  @Test
+  public void testBorrowAndReturn() throws Exception {
+    final LanguageToolPool pool = new LanguageToolPool(new DemoFactory(), 10, 2);
+    final LanguageToolPool.Key key = new LanguageToolPool.Key(Language.DEMO, null, defaultParams);
+    final JLanguageTool lt1 = pool.borrowInstance(key);
+    final JLanguageTool lt2 = pool.borrowInstance(key);
+    assertNotSame(lt1, lt2);
+    assertEquals(2, pool.getCreatedCount());
+    pool.returnInstance(key, lt1);
+    assertEquals(1, pool.getIdleCount());
+    assertSame(lt1, pool.borrowInstance(key));
+    assertEquals(2, pool.getCreatedCount());
+    pool.returnInstance(key, lt1);
+    pool.returnInstance(key, lt2);
+    final JLanguageTool lt3 = new JLanguageTool(Language.DEMO);
+    pool.returnInstance(key, lt3);
+    assertEquals(2, pool.getIdleCount());  // limit per key
+  }
+
+  @Test
+  public void testRuleSelectionIsPartOfKey() throws Exception {
+    final LanguageToolPool pool = new LanguageToolPool(new DemoFactory(), 10, 2);
+    final LanguageToolHttpHandler.QueryParams params1 =
+            new LanguageToolHttpHandler.QueryParams(Arrays.asList("FOO", "BAR"), Collections.<String>emptyList(), false, true);
+    final LanguageToolHttpHandler.QueryParams params2 =
+            new LanguageToolHttpHandler.QueryParams(Arrays.asList("BAR", "FOO"), Collections.<String>emptyList(), false, true);
+    final LanguageToolHttpHandler.QueryParams params3 =
+            new LanguageToolHttpHandler.QueryParams(Arrays.asList("FOO", "BAR"), Collections.<String>emptyList(), true, true);
+    final LanguageToolPool.Key key1 = new LanguageToolPool.Key(Language.DEMO, null, params1);
+    assertEquals(key1, new LanguageToolPool.Key(Language.DEMO, null, params2));
+    final LanguageToolPool.Key key3 = new LanguageToolPool.Key(Language.DEMO, null, params3);
+    assertFalse(key1.equals(key3));
+    final JLanguageTool lt = pool.borrowInstance(key1);
+    pool.returnInstance(key1, lt);
+    assertNotSame(lt, pool.borrowInstance(key3));
+    assertNotSame(lt, pool.borrowInstance(new LanguageToolPool.Key(Language.DEMO, new German(), params1)));
+    assertSame(lt, pool.borrowInstance(key1));
+  }
+
+  @Test
+  public void testLeastRecentlyUsedEviction() throws Exception {
+    final LanguageToolPool pool = new LanguageToolPool(new DemoFactory(), 2, 2);
+    final LanguageToolPool.Key key1 = new LanguageToolPool.Key(Language.DEMO, null, defaultParams);
+    final LanguageToolPool.Key key2 = new LanguageToolPool.Key(Language.DEMO, new German(), defaultParams);
+    final LanguageToolPool.Key key3 = new LanguageToolPool.Key(Language.DEMO, new English(), defaultParams);
+    final JLanguageTool lt1 = pool.borrowInstance(key1);
+    final JLanguageTool lt2 = pool.borrowInstance(key2);
+    final JLanguageTool lt3 = pool.borrowInstance(key3);
+    pool.returnInstance(key1, lt1);
+    pool.returnInstance(key2, lt2);
+    pool.returnInstance(key3, lt3);
+    assertEquals(2, pool.getIdleCount());
+    assertEquals(3, pool.getCreatedCount());
+    assertSame(lt3, pool.borrowInstance(key3));
+    assertSame(lt2, pool.borrowInstance(key2));
+    assertNotSame(lt1, pool.borrowInstance(key1));  // evicted
+    assertEquals(4, pool.getCreatedCount());
+  }
+
+  static class DemoFactory implements LanguageToolPool.InstanceFactory {
+    @Override
+    public JLanguageTool create(LanguageToolPool.Key key) throws Exception {
+      return new JLanguageTool(key.getLanguage(), key.getMotherTongue());
+    }
+  }
+
+}
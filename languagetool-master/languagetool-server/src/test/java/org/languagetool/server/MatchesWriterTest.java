@@ -0,0 +1,108 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Test;
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.language.AmericanEnglish;
+import org.languagetool.rules.RuleMatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MatchesWriterTest {
+
+  private static final String TEXT = "This is a \"tset\".";
+
+  @Test
+  public void testXml() throws IOException {
+    final String xml = write("xml", 40);
+    assertTrue(xml, xml.startsWith("<?xml"));
+    assertTrue(xml, xml.contains("<language shortname=\"en-US\""));
+    assertTrue(xml, xml.contains("replacements=\"test#"));
+    assertTrue(xml, xml.endsWith("</matches>\n"));
+    // the XML format always has a context:
+    assertTrue(write("xml", -1).contains("context=\"This is a &quot;tset&quot;.\""));
+  }
+
+  @Test
+  public void testJson() throws IOException {
+    final String json = write("json", 40);
+    assertTrue(json, json.startsWith("{\"software\":{\"name\":\"LanguageTool\",\"version\":\"" + JLanguageTool.VERSION + "\""));
+    assertTrue(json, json.contains(",\"language\":{\"code\":\"en-US\",\"name\":\"English (US)\"},\"matches\":[{"));
+    assertTrue(json, json.contains("\"replacements\":[\"test\","));
+    assertTrue(json, json.contains("\"offset\":11,\"length\":4,\"fromY\":"));
+    assertTrue(json, json.contains("\"context\":{\"text\":\"This is a \\\"tset\\\".\",\"offset\":11,\"length\":4}"));
+    assertTrue(json, json.endsWith("}]}"));
+    assertFalse(write("json", -1).contains("\"context\""));
+  }
+
+  @Test
+  public void testBinary() throws IOException {
+    final Language lang = new AmericanEnglish();
+    final List<RuleMatch> matches = new JLanguageTool(lang).check(TEXT);
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    MatchesWriter.create("binary", out, 40).write(matches, TEXT, lang, null);
+    final DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+    assertEquals('L', in.read());
+    assertEquals('T', in.read());
+    assertEquals('M', in.read());
+    assertEquals(1, in.read());
+    assertEquals(JLanguageTool.VERSION, readString(in));
+    readString(in);  // build date
+    assertEquals("en-US", readString(in));
+    assertEquals("English (US)", readString(in));
+    assertEquals(null, readString(in));
+    assertEquals(null, readString(in));
+    assertEquals(1, in.read());
+    assertEquals(matches.get(0).getRule().getId(), readString(in));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownFormat() throws IOException {
+    MatchesWriter.create("foo", new ByteArrayOutputStream(), 40);
+  }
+
+  private String write(String format, int contextSize) throws IOException {
+    final Language lang = new AmericanEnglish();
+    final List<RuleMatch> matches = new JLanguageTool(lang).check(TEXT);
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    MatchesWriter.create(format, out, contextSize).write(matches, TEXT, lang, null);
+    return out.toString("utf-8");
+  }
+
+  private String readString(DataInputStream in) throws IOException {
+    final int length = in.readInt();
+    if (length == -1) {
+      return null;
+    }
+    final byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, "utf-8");
+  }
+
+}
@@ -0,0 +1,116 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RequestExecutorTest {
+
+  @Test
+  public void testRejectWhenQueueIsFull() throws Exception {
+    final RequestExecutor executor = new RequestExecutor(1, 1, 0);
+    try {
+      final CountDownLatch blocker = new CountDownLatch(1);
+      final CountDownLatch done = new CountDownLatch(2);
+      final AtomicBoolean firstRejected = new AtomicBoolean(true);
+      final AtomicBoolean secondRejected = new AtomicBoolean(true);
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          firstRejected.set(RequestExecutor.isRequestRejected());
+          await(blocker);
+          done.countDown();
+        }
+      });
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          secondRejected.set(RequestExecutor.isRequestRejected());
+          done.countDown();
+        }
+      });
+      final AtomicBoolean thirdRejected = new AtomicBoolean(false);
+      final Thread caller = Thread.currentThread();
+      final AtomicBoolean thirdRunByCaller = new AtomicBoolean(false);
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          thirdRejected.set(RequestExecutor.isRequestRejected());
+          thirdRunByCaller.set(Thread.currentThread() == caller);
+        }
+      });
+      assertTrue(thirdRejected.get());
+      assertTrue(thirdRunByCaller.get());
+      assertFalse(RequestExecutor.isRequestRejected());
+      blocker.countDown();
+      assertTrue(done.await(10, TimeUnit.SECONDS));
+      assertFalse(firstRejected.get());
+      assertFalse(secondRejected.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testRejectWhenWaitingTooLong() throws Exception {
+    final RequestExecutor executor = new RequestExecutor(1, 0, 50);
+    try {
+      final CountDownLatch blocker = new CountDownLatch(1);
+      final CountDownLatch done = new CountDownLatch(1);
+      final AtomicBoolean rejected = new AtomicBoolean(false);
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          await(blocker);
+        }
+      });
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          rejected.set(RequestExecutor.isRequestRejected());
+          done.countDown();
+        }
+      });
+      assertEquals(1, executor.getQueueSize());
+      Thread.sleep(100);
+      blocker.countDown();
+      assertTrue(done.await(10, TimeUnit.SECONDS));
+      assertTrue(rejected.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+}
@@ -20,6 +20,14 @@ package org.languagetool.server;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -42,5 +50,61 @@ public class RequestLimiterTest {
     assertTrue(limiter.isAccessOkay(secondIp));
     assertFalse(limiter.isAccessOkay(secondIp));
   }
-  
+
+  @Test
+  public void testCharacterLimit() throws Exception {
+    final RequestLimiter limiter = new RequestLimiter(100, 2, 10);
+    final String ip = "192.168.10.1";
+    assertTrue(limiter.isAccessOkay(ip, 6));
+    assertTrue(limiter.isAccessOkay(ip, 4));
+    assertFalse(limiter.isAccessOkay(ip, 1));
+    assertTrue(limiter.isAccessOkay("192.168.10.2", 10));
+    Thread.sleep(2500);
+    assertTrue(limiter.isAccessOkay(ip, 10));
+    assertEquals(4, limiter.getAcceptedCount());
+    assertEquals(1, limiter.getRejectedCount());
+    assertEquals(2, limiter.getIpCount());
+  }
+
+  @Test
+  public void testDeniedRequestDoesNotCountCharacters() throws Exception {
+    final RequestLimiter limiter = new RequestLimiter(100, 60, 10);
+    final String ip = "192.168.10.1";
+    assertFalse(limiter.isAccessOkay(ip, 11));
+    assertTrue(limiter.isAccessOkay(ip, 10));
+    assertFalse(limiter.isAccessOkay(ip, 1));
+  }
+
+  @Test
+  public void testSeveralThreads() throws Exception {
+    final RequestLimiter limiter = new RequestLimiter(50, 60);
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<Integer>> futures = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        futures.add(executor.submit(new Callable<Integer>() {
+          @Override
+          public Integer call() {
+            int okay = 0;
+            for (int j = 0; j < 100; j++) {
+              if (limiter.isAccessOkay("192.168.10.1")) {
+                okay++;
+              }
+            }
+            return okay;
+          }
+        }));
+      }
+      int okay = 0;
+      for (Future<Integer> future : futures) {
+        okay += future.get();
+      }
+      assertEquals(50, okay);
+      assertEquals(50, limiter.getAcceptedCount());
+      assertEquals(350, limiter.getRejectedCount());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
 }
@@ -77,6 +77,7 @@ import javax.swing.text.Position;
 import javax.swing.text.View;
 
 import org.apache.tika.language.LanguageIdentifier;
+import org.languagetool.IncrementalChecker;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Language;
 import org.languagetool.MultiThreadedJLanguageTool;
@@ -101,6 +102,8 @@ class LanguageToolSupport {
   private final Map<Language, ConfigurationDialog> configDialogs = new HashMap<>();
 
   private JLanguageTool languageTool;
+  // re-uses the results for sentences that have not been edited since the last check:
+  private IncrementalChecker incrementalChecker;
   // a red color highlight painter for marking spelling errors
   private HighlightPainter redPainter;
   // a blue color highlight painter for marking grammar errors
@@ -222,6 +225,7 @@ class LanguageToolSupport {
           languageTool.enableRule(ruleName);
         }
       }
+      incrementalChecker = new IncrementalChecker(languageTool);
     } catch (Exception e) {
       throw new RuntimeException(e);
     }
@@ -602,7 +606,7 @@ class LanguageToolSupport {
         throw new RuntimeException(ex);
       }
     }
-    final List<RuleMatch> matches = this.languageTool.check(this.textComponent.getText());
+    final List<RuleMatch> matches = this.incrementalChecker.check(this.textComponent.getText());
     int v = check.get();
     if (v == 0) {
       if (!SwingUtilities.isEventDispatchThread()) {
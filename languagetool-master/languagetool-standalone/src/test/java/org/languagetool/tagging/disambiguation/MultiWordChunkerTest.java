@@ -35,4 +35,30 @@ public class MultiWordChunkerTest extends TestCase {
     assertTrue(tokens[4].getReadings().toString().contains("<ELLIPSIS>"));
     assertTrue(tokens[6].getReadings().toString().contains("</ELLIPSIS>"));
   }
+
+  public void testDisambiguateMultiwordWithSpaces() throws Exception {
+    final Disambiguator chunker = new MultiWordChunker("/pl/multiwords.txt");
+    final JLanguageTool lt = new JLanguageTool(new English());
+    final AnalyzedSentence analyzedSentence = lt.getAnalyzedSentence("w  związku z tym");
+    final AnalyzedSentence disambiguated = chunker.disambiguate(analyzedSentence);
+    final AnalyzedTokenReadings[] tokens = disambiguated.getTokens();
+    assertEquals("w", tokens[1].getToken());
+    assertTrue(tokens[1].getReadings().toString().contains("<PREP:INST>"));
+    assertEquals("z", tokens[6].getToken());
+    assertTrue(tokens[6].getReadings().toString().contains("</PREP:INST>"));
+    assertFalse(tokens[8].getReadings().toString().contains("PREP:INST"));
+  }
+
+  public void testInputIsNotModified() throws Exception {
+    final Disambiguator chunker = new MultiWordChunker("/pl/multiwords.txt");
+    final JLanguageTool lt = new JLanguageTool(new English());
+    final AnalyzedSentence analyzedSentence = lt.getAnalyzedSentence("A test... More.");
+    final String before = analyzedSentence.toString();
+    final AnalyzedSentence disambiguated = chunker.disambiguate(analyzedSentence);
+    assertEquals(before, analyzedSentence.toString());
+    assertFalse(before.equals(disambiguated.toString()));
+    // nothing to change, so no copy is needed:
+    final AnalyzedSentence noMultiwords = lt.getAnalyzedSentence("A test.");
+    assertSame(noMultiwords.getTokens(), chunker.disambiguate(noMultiwords).getTokens());
+  }
 }